@@ -1,3 +1,7 @@
+import groovy.json.JsonSlurper
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
+
 plugins {
     id("com.android.application")
 }
@@ -14,6 +18,13 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Ekspor skema Room untuk setiap versi database (dipakai untuk menguji migrasi)
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     signingConfigs {
@@ -47,10 +58,128 @@ android {
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
+        // java.time untuk minSdk 24 (format tanggal di daftar tugas)
+        isCoreLibraryDesugaringEnabled = true
+    }
+
+    sourceSets {
+        // Pembantu test (database in-memory, benchmark) dipakai test JVM dan instrumentasi
+        getByName("test").java.srcDir("src/sharedTest/java")
+        getByName("androidTest").java.srcDir("src/sharedTest/java")
+        // Skema terekspor dibaca MigrationTestHelper sebagai assets test instrumentasi
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+
+    testOptions {
+        // Test JVM yang membutuhkan Room berjalan di Robolectric
+        unitTests.isIncludeAndroidResources = true
+        // Test JVM biasa memanggil Log dan kelas Android kecil lainnya; kembalikan nilai default
+        unitTests.isReturnDefaultValues = true
+    }
+}
+
+
+/**
+ * Membangun file seed biner assets/seed/tasks.seed (format: AssetSeedProvider) dari
+ * template JSON di src/main/seed/tasks.json. Tanggal di template ditulis relatif terhadap
+ * waktu pemasangan (menit untuk created_at, hari untuk tenggat).
+ */
+abstract class GenerateTaskSeed : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val template: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        @Suppress("UNCHECKED_CAST")
+        val root = JsonSlurper().parse(template.get().asFile) as Map<String, Any?>
+        @Suppress("UNCHECKED_CAST")
+        val tasks = root["tasks"] as List<Map<String, Any?>>
+        val categories = LinkedHashMap<String, Int>()
+        for (task in tasks) {
+            val category = task["category"] as String?
+            if (!category.isNullOrEmpty() && category !in categories) {
+                categories[category] = categories.size
+            }
+        }
+
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { out ->
+            out.writeInt(0x54534544) // "TSED"
+            out.writeByte(1)
+            writeVarint(out, categories.size.toLong())
+            categories.keys.forEach { writeString(out, it) }
+            writeVarint(out, tasks.size.toLong())
+            for (task in tasks) {
+                val title = task["title"] as String?
+                    ?: throw GradleException("Tugas tanpa judul di template seed")
+                val category = (task["category"] as String?)?.takeIf { it.isNotEmpty() }
+                val dueOffsetDays = task["dueOffsetDays"] as Number?
+                var flags = 0
+                if (task["completed"] == true) flags = flags or 1
+                if (dueOffsetDays != null) flags = flags or 2
+                if (category != null) flags = flags or 4
+                out.writeByte(flags)
+                writeString(out, title)
+                writeString(out, task["description"] as String? ?: "")
+                writeVarint(out, priorityOf(task["priority"]).toLong())
+                val createdOffsetMinutes = (task["createdOffsetMinutes"] as Number?)?.toLong() ?: 0L
+                writeVarint(out, zigzag(createdOffsetMinutes * 60_000L))
+                if (dueOffsetDays != null) writeVarint(out, zigzag(dueOffsetDays.toLong() * 86_400_000L))
+                if (category != null) writeVarint(out, categories.getValue(category).toLong())
+            }
+        }
+
+        val file = outputDir.file("seed/tasks.seed").get().asFile
+        file.parentFile.mkdirs()
+        file.writeBytes(bytes.toByteArray())
+        logger.lifecycle("Seed: ${tasks.size} tugas, ${categories.size} kategori, ${file.length()} byte")
+    }
+
+    private fun priorityOf(value: Any?): Int = when (value) {
+        null, "LOW" -> 0
+        "MEDIUM" -> 1
+        "HIGH" -> 2
+        is Number -> value.toInt()
+        else -> throw GradleException("Prioritas tidak dikenal di template seed: $value")
+    }
+
+    private fun zigzag(value: Long): Long = (value shl 1) xor (value shr 63)
+
+    private fun writeVarint(out: DataOutputStream, value: Long) {
+        var remaining = value
+        while ((remaining and 0x7FL.inv()) != 0L) {
+            out.writeByte(((remaining and 0x7FL) or 0x80L).toInt())
+            remaining = remaining ushr 7
+        }
+        out.writeByte(remaining.toInt())
+    }
+
+    private fun writeString(out: DataOutputStream, value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        writeVarint(out, bytes.size.toLong())
+        out.write(bytes)
+    }
+}
+
+val generateTaskSeed = tasks.register<GenerateTaskSeed>("generateTaskSeed") {
+    template.set(layout.projectDirectory.file("src/main/seed/tasks.json"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        // Folder keluaran diatur AGP dan otomatis dibangun sebelum assets digabung
+        variant.sources.assets?.addGeneratedSourceDirectory(generateTaskSeed, GenerateTaskSeed::outputDir)
     }
 }
 
 dependencies {
+    coreLibraryDesugaring("com.android.tools:desugar_jdk_libs:2.0.4")
+
     // AndroidX Core
     implementation("androidx.appcompat:appcompat:1.6.1")
     implementation("androidx.core:core-ktx:1.12.0")
@@ -71,9 +200,23 @@ dependencies {
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")
     implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")
     implementation("androidx.lifecycle:lifecycle-common-java8:2.7.0")
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0")
+
+    // Paging
+    implementation("androidx.paging:paging-runtime:3.2.1")
+    implementation("androidx.room:room-paging:2.6.1")
+
+    // WorkManager (VACUUM sekali saat perangkat diam dan diisi daya)
+    implementation("androidx.work:work-runtime:2.9.0")
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("androidx.arch.core:core-testing:2.2.0")
+    testImplementation("androidx.test:core:1.5.0")
+    testImplementation("androidx.test.ext:junit:1.1.5")
+    testImplementation("org.robolectric:robolectric:4.11.1")
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
+    androidTestImplementation("androidx.test:runner:1.5.2")
+    androidTestImplementation("androidx.room:room-testing:2.6.1")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
 }
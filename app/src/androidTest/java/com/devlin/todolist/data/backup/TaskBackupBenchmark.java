@@ -0,0 +1,115 @@
+package com.devlin.todolist.data.backup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.transfer.TaskExporter;
+import com.devlin.todolist.data.transfer.TaskImporter;
+import com.devlin.todolist.data.transfer.TransferFormat;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cadangan biner dibandingkan dengan ekspor/impor JSON pada 100k tugas: ukuran berkas,
+ * waktu tulis, dan waktu pulih. Cadangan harus lebih kecil dan tidak lebih lambat.
+ * Hasil ditulis ke Logcat dengan tag "Benchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskBackupBenchmark {
+
+    private static final String TAG = "Benchmark";
+    private static final int ROWS = 100_000;
+
+    private AppDatabase source;
+    private AppDatabase target;
+    private ExecutorService writeExecutor;
+
+    @Before
+    public void setUp() {
+        source = TestDatabases.inMemory();
+        target = TestDatabases.inMemory();
+        TestDatabases.insertTasks(source, ROWS);
+        writeExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        writeExecutor.shutdownNow();
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void backupIsSmallerAndNotSlowerThanJsonExport() throws Exception {
+        byte[] json = exportJson();
+        byte[] plain = backup(false);
+        byte[] compressed = backup(true);
+        Log.i(TAG, "Ukuran " + ROWS + " tugas: JSON " + json.length / 1024 + " KB, cadangan "
+                + plain.length / 1024 + " KB, cadangan terkompresi " + compressed.length / 1024 + " KB");
+
+        long jsonNanos = Benchmarks.medianNanos("ekspor JSON " + ROWS, 1, 3, this::exportJson);
+        long plainNanos = Benchmarks.medianNanos("cadangan " + ROWS, 1, 3, () -> backup(false));
+        long compressedNanos = Benchmarks.medianNanos("cadangan terkompresi " + ROWS, 1, 3, () -> backup(true));
+
+        assertTrue("cadangan " + plain.length + " byte, JSON " + json.length, plain.length < json.length);
+        assertTrue("terkompresi " + compressed.length + " byte, biasa " + plain.length,
+                compressed.length < plain.length);
+        assertTrue("cadangan " + plainNanos / 1_000_000 + " ms, JSON " + jsonNanos / 1_000_000 + " ms",
+                plainNanos <= jsonNanos);
+        assertTrue("terkompresi " + compressedNanos / 1_000_000 + " ms, JSON " + jsonNanos / 1_000_000 + " ms",
+                compressedNanos <= jsonNanos);
+    }
+
+    @Test
+    public void restoreIsNotSlowerThanJsonImport() throws Exception {
+        byte[] json = exportJson();
+        byte[] compressed = backup(true);
+
+        long importNanos = Benchmarks.medianNanos("impor JSON " + ROWS, 1, 3,
+                this::clearTarget,
+                () -> assertEquals(ROWS, new TaskImporter(target, writeExecutor).importTasks(
+                        new ByteArrayInputStream(json), TransferFormat.JSON, null, null)));
+        long restoreNanos = Benchmarks.medianNanos("pulihkan cadangan " + ROWS, 1, 3,
+                this::clearTarget,
+                () -> assertEquals(ROWS, new TaskBackupRestorer(target).restore(
+                        Channels.newChannel(new ByteArrayInputStream(compressed)), null, null).getRowCount()));
+
+        assertTrue("pulihkan " + restoreNanos / 1_000_000 + " ms, impor " + importNanos / 1_000_000 + " ms",
+                restoreNanos <= importNanos);
+    }
+
+    private byte[] exportJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(ROWS, new TaskExporter(source).export(out, TransferFormat.JSON, null, null));
+        return out.toByteArray();
+    }
+
+    private byte[] backup(boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BackupInfo info = new TaskBackupWriter(source, writeExecutor)
+                .write(Channels.newChannel(out), false, compress, null, null);
+        assertEquals(ROWS, info.getRowCount());
+        return out.toByteArray();
+    }
+
+    private void clearTarget() {
+        target.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM tasks");
+    }
+}
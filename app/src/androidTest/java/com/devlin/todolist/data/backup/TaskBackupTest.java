@@ -0,0 +1,214 @@
+package com.devlin.todolist.data.backup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.database.ChangeSequence;
+import com.devlin.todolist.data.database.TaskInserter;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cadangan penuh dan inkremental dipulihkan ke database lain; isi tugas (termasuk id,
+ * version, dan change_seq) harus sama persis, indeks pencarian ikut terbarui, dan
+ * pemulihan yang gagal atau dibatalkan tidak mengubah apa pun.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskBackupTest {
+
+    private static final int ROWS = 3_000;
+    private static final String ROWS_SQL = "SELECT id, title, description, is_completed, created_at, "
+            + "due_date, priority, category, version, change_seq FROM tasks WHERE deleted_at = 0 ORDER BY id";
+
+    private AppDatabase source;
+    private AppDatabase target;
+    private ExecutorService writeExecutor;
+    // Isi cadangan terakhir yang ditulis backup()
+    private byte[] backupBytes;
+
+    @Before
+    public void setUp() throws IOException {
+        source = TestDatabases.inMemory();
+        target = TestDatabases.inMemory();
+        writeExecutor = Executors.newSingleThreadExecutor();
+        TestDatabases.insertTasks(source, ROWS);
+        try (TaskInserter inserter = new TaskInserter(writable(source))) {
+            inserter.insert("Tanpa deskripsi dan kategori", "", false, 1, 0, 0, null);
+            inserter.insert("Kategori kosong ☕", "Baris\nbaru", true, 2, 5, 2, "");
+        }
+        writable(source).execSQL("UPDATE tasks SET deleted_at = 1 WHERE id IN (3, 30, 300)");
+    }
+
+    @After
+    public void tearDown() {
+        writeExecutor.shutdownNow();
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void fullBackupRoundTrip() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            BackupInfo written = backup(false, compress);
+            BackupInfo restored = restore(target, written.getType(), backupBytes);
+
+            assertEquals(BackupInfo.Type.FULL, written.getType());
+            assertEquals(ROWS - 1, written.getRowCount());
+            assertEquals(written.getRowCount(), restored.getRowCount());
+            assertEquals(rows(source), rows(target));
+            assertEquals(written.getSeq(), ChangeSequence.current(writable(target)));
+        }
+    }
+
+    @Test
+    public void incrementalBackupCarriesUpdatesInsertsAndDeletes() throws IOException {
+        BackupInfo full = backup(true, true);
+        assertEquals(BackupInfo.Type.FULL, full.getType());
+        restore(target, full.getType(), backupBytes);
+
+        TaskDao dao = source.taskDao();
+        TaskEntity renamed = dao.getTaskByIdSync(10);
+        renamed.setTitle("Zebra unik");
+        dao.update(renamed);
+        dao.setCompletedByIds(new int[]{11, 12, 13}, true);
+        dao.deleteByIds(new int[]{20, 21}, System.currentTimeMillis());
+        dao.insert(new TaskEntity("Tugas baru", "", false, 7, 0, 1, "Kerja"));
+
+        BackupInfo incremental = backup(true, true);
+        assertEquals(BackupInfo.Type.INCREMENTAL, incremental.getType());
+        assertEquals(full.getSeq(), incremental.getBaseSeq());
+        // Hanya baris yang berubah dan masih hidup: satu judul, tiga centang, satu baru
+        assertEquals(5, incremental.getRowCount());
+
+        restore(target, incremental.getType(), backupBytes);
+        assertEquals(rows(source), rows(target));
+        assertEquals(List.of(10L), ftsMatches(target, "zebra"));
+        // Judul lama tidak boleh tertinggal di indeks pencarian
+        assertEquals(List.of(), ftsMatches(target, "\"tugas 10\""));
+    }
+
+    @Test
+    public void incrementalOnDifferentBaseIsRejected() throws IOException {
+        backup(true, false);
+        source.taskDao().setCompleted(1, true);
+        BackupInfo incremental = backup(true, false);
+        assertEquals(BackupInfo.Type.INCREMENTAL, incremental.getType());
+
+        TestDatabases.insertTasks(target, 10);
+        List<String> before = rows(target);
+        try {
+            restore(target, incremental.getType(), backupBytes);
+            fail("cadangan inkremental seharusnya ditolak");
+        } catch (IOException expected) {
+            // Nomor urut target tidak sama dengan nomor dasar cadangan
+        }
+        assertEquals(before, rows(target));
+    }
+
+    @Test
+    public void cancelledRestoreChangesNothing() throws IOException {
+        backup(false, true);
+        TestDatabases.insertTasks(target, 10);
+        List<String> before = rows(target);
+
+        CancellationSignal signal = new CancellationSignal();
+        try {
+            new TaskBackupRestorer(target).restore(
+                    Channels.newChannel(new ByteArrayInputStream(backupBytes)), (rows, total) -> signal.cancel(), signal);
+            fail("pemulihan seharusnya dibatalkan");
+        } catch (OperationCanceledException expected) {
+            // Dibatalkan setelah PROGRESS_INTERVAL baris
+        }
+        assertEquals(before, rows(target));
+    }
+
+    @Test
+    public void corruptBackupChangesNothing() throws IOException {
+        backup(false, false);
+        backupBytes[backupBytes.length - 2] ^= 0x10;
+        TestDatabases.insertTasks(target, 10);
+        List<String> before = rows(target);
+
+        try {
+            restore(target, BackupInfo.Type.FULL, backupBytes);
+            fail("cadangan rusak seharusnya ditolak");
+        } catch (IOException expected) {
+            // Checksum tidak cocok
+        }
+        assertEquals(before, rows(target));
+    }
+
+    private BackupInfo backup(boolean incremental, boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskBackupWriter writer = new TaskBackupWriter(source, writeExecutor);
+        BackupInfo info = writer.write(Channels.newChannel(out), incremental, compress, null, null);
+        writer.markWritten(info);
+        backupBytes = out.toByteArray();
+        assertEquals(backupBytes.length, info.getByteCount());
+        return info;
+    }
+
+    private static BackupInfo restore(AppDatabase database, BackupInfo.Type expectedType, byte[] bytes)
+            throws IOException {
+        BackupInfo info = new TaskBackupRestorer(database).restore(
+                Channels.newChannel(new ByteArrayInputStream(bytes)), null, null);
+        assertEquals(expectedType, info.getType());
+        return info;
+    }
+
+    private static SupportSQLiteDatabase writable(AppDatabase database) {
+        return database.getOpenHelper().getWritableDatabase();
+    }
+
+    private static List<Long> ftsMatches(AppDatabase database, String term) {
+        List<Long> ids = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT docid FROM tasks_fts WHERE tasks_fts MATCH ?",
+                new Object[]{term})) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getLong(0));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Baris hidup; deskripsi dan kategori kosong disamakan dengan null seperti di berkas cadangan
+     */
+    private static List<String> rows(AppDatabase database) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = database.query(ROWS_SQL, null)) {
+            while (cursor.moveToNext()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    String value = cursor.getString(i);
+                    row.append(value == null || value.isEmpty() ? null : value).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
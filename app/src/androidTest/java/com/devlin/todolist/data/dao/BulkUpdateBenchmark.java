@@ -0,0 +1,122 @@
+package com.devlin.todolist.data.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Operasi massal berbasis himpunan (UPDATE ... WHERE id IN, dipotong per
+ * MAX_IDS_PER_STATEMENT) dibandingkan dengan UPDATE per baris dalam satu transaksi,
+ * untuk 1k dan 10k id. Hasil akhirnya harus sama; jalur himpunan tidak boleh lebih lambat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BulkUpdateBenchmark {
+
+    private static final int ROWS = 20_000;
+    private static final int[] SELECTED = {1_000, 10_000};
+
+    private AppDatabase database;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        TestDatabases.insertTasks(database, ROWS);
+        dao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void bulkOperationsUpdateEveryChunk() {
+        int[] ids = ids(SELECTED[1]);
+        int step = ROWS / SELECTED[1];
+
+        dao.setCompletedByIds(ids, true);
+        assertEquals(SELECTED[1], count("is_completed = 1 AND (id - 1) % " + step + " = 0"));
+
+        dao.moveToCategory(ids, "Arsip");
+        assertEquals(SELECTED[1], count("category = 'Arsip'"));
+
+        dao.deleteByIds(ids, System.currentTimeMillis());
+        assertEquals(ROWS - SELECTED[1], count(TaskDao.NOT_DELETED));
+
+        dao.restoreByIds(ids);
+        assertEquals(ROWS, count(TaskDao.NOT_DELETED));
+    }
+
+    @Test
+    public void setCompletedIsNotSlowerThanPerRow() throws Exception {
+        for (int selected : SELECTED) {
+            int[] ids = ids(selected);
+            boolean[] completed = {false};
+            long perRow = Benchmarks.medianNanos("setCompleted per baris " + selected, 2, 5,
+                    () -> completed[0] = !completed[0],
+                    () -> database.runInTransaction(() -> {
+                        for (int id : ids) {
+                            dao.setCompleted(id, completed[0]);
+                        }
+                    }));
+            long setBased = Benchmarks.medianNanos("setCompletedByIds " + selected, 2, 5,
+                    () -> completed[0] = !completed[0],
+                    () -> dao.setCompletedByIds(ids, completed[0]));
+
+            assertTrue(selected + " id: per baris " + perRow / 1_000_000 + " ms, himpunan "
+                    + setBased / 1_000_000 + " ms", setBased <= perRow);
+        }
+    }
+
+    @Test
+    public void deleteByIdsIsNotSlowerThanPerRow() throws Exception {
+        for (int selected : SELECTED) {
+            int[] ids = ids(selected);
+            long perRow = Benchmarks.medianNanos("deleteById per baris " + selected, 2, 5,
+                    () -> dao.restoreByIds(ids),
+                    () -> database.runInTransaction(() -> {
+                        long now = System.currentTimeMillis();
+                        for (int id : ids) {
+                            dao.deleteById(id, now);
+                        }
+                    }));
+            long setBased = Benchmarks.medianNanos("deleteByIds " + selected, 2, 5,
+                    () -> dao.restoreByIds(ids),
+                    () -> dao.deleteByIds(ids, System.currentTimeMillis()));
+
+            assertTrue(selected + " id: per baris " + perRow / 1_000_000 + " ms, himpunan "
+                    + setBased / 1_000_000 + " ms", setBased <= perRow);
+        }
+    }
+
+    /**
+     * Id berselang agar setiap potongan menyentuh halaman B-tree yang berbeda
+     */
+    private static int[] ids(int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1 + i * (ROWS / count);
+        }
+        return ids;
+    }
+
+    private long count(String where) {
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM tasks WHERE " + where, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.devlin.todolist.data.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.AbstractWindowedCursor;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Proyeksi daftar (LIST_COLUMNS) dibandingkan dengan SELECT * untuk 10k tugas berdeskripsi
+ * beberapa KB: berapa kali CursorWindow diisi ulang saat membaca semua baris, heap yang
+ * ditahan hasil pemetaannya, dan waktu bacanya. Hasil ditulis ke Logcat dengan tag "Benchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskListProjectionBenchmark {
+
+    private static final String TAG = "Benchmark";
+    private static final int ROWS = 10_000;
+    private static final int DESCRIPTION_CHARS = 4_096;
+
+    private static final String PROJECTION_SQL = "SELECT " + TaskDao.LIST_COLUMNS
+            + " FROM tasks WHERE " + TaskDao.NOT_DELETED + " ORDER BY id";
+    private static final String SELECT_ALL_SQL = "SELECT * FROM tasks WHERE "
+            + TaskDao.NOT_DELETED + " ORDER BY id";
+
+    private AppDatabase database;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        TestDatabases.insertTasks(database, ROWS);
+        char[] note = new char[DESCRIPTION_CHARS];
+        Arrays.fill(note, 'x');
+        database.getOpenHelper().getWritableDatabase().execSQL(
+                "UPDATE tasks SET description = ? || id", new Object[]{new String(note)});
+        dao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void projectionFillsFewerCursorWindows() {
+        int projection = windowFills(PROJECTION_SQL);
+        int selectAll = windowFills(SELECT_ALL_SQL);
+        Log.i(TAG, "CursorWindow per " + ROWS + " baris: proyeksi " + projection
+                + " kali, SELECT * " + selectAll + " kali");
+
+        assertTrue("proyeksi " + projection + ", SELECT * " + selectAll, projection < selectAll);
+    }
+
+    @Test
+    public void projectionRetainsLessHeap() {
+        long projection = retainedBytes(PROJECTION_SQL);
+        long selectAll = retainedBytes(SELECT_ALL_SQL);
+        Log.i(TAG, "Heap per " + ROWS + " baris: proyeksi " + projection / 1024 + " KB, SELECT * "
+                + selectAll / 1024 + " KB");
+
+        assertTrue("proyeksi " + projection + ", SELECT * " + selectAll, projection < selectAll);
+    }
+
+    @Test
+    public void readTime() throws Exception {
+        long projection = Benchmarks.medianNanos("Baca " + ROWS + " baris proyeksi", 2, 5,
+                () -> load(PROJECTION_SQL));
+        long selectAll = Benchmarks.medianNanos("Baca " + ROWS + " baris SELECT *", 2, 5,
+                () -> load(SELECT_ALL_SQL));
+
+        assertTrue("proyeksi " + projection + " ns, SELECT * " + selectAll + " ns",
+                projection <= selectAll);
+    }
+
+    /**
+     * Jumlah CursorWindow berbeda yang dipakai untuk membaca semua baris dari awal sampai akhir
+     */
+    private int windowFills(String sql) {
+        int fills = 0;
+        int windowStart = -1;
+        try (Cursor cursor = database.query(new SimpleSQLiteQuery(sql))) {
+            AbstractWindowedCursor windowed = (AbstractWindowedCursor) cursor;
+            while (cursor.moveToNext()) {
+                cursor.getString(cursor.getColumnIndexOrThrow("description"));
+                int start = windowed.getWindow().getStartPosition();
+                if (start != windowStart) {
+                    windowStart = start;
+                    fills++;
+                }
+            }
+            assertEquals(ROWS, cursor.getCount());
+        }
+        return fills;
+    }
+
+    /**
+     * Heap yang ditahan daftar hasil pemetaan, diukur setelah GC
+     */
+    private long retainedBytes(String sql) {
+        long baseline = usedAfterGc();
+        List<TaskListItem> items = load(sql);
+        long retained = usedAfterGc() - baseline;
+        assertEquals(ROWS, items.size());
+        return retained;
+    }
+
+    private List<TaskListItem> load(String sql) {
+        return dao.getTaskListSync(new SimpleSQLiteQuery(sql));
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        runtime.runFinalization();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,93 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertTrue;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Biaya pencatatan change_seq pada jalur tulis: sisip massal lewat TaskInserter dan UPDATE
+ * satu baris lewat TaskDao, dibandingkan dengan database yang trigger ChangeSequence-nya
+ * dilepas. Karena change_seq diisi di statement yang sama, trigger hanya menaikkan
+ * penghitung dan throughput tidak boleh turun jauh.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChangeSequenceBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int UPDATES = 2_000;
+    // Batas longgar untuk perbedaan perangkat; biaya tambahan yang terukur biasanya di bawah 10%
+    private static final double MAX_SLOWDOWN = 1.3;
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        db = database.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void insertThroughput() throws Exception {
+        long untracked = measureInserts(false);
+        long tracked = measureInserts(true);
+        assertTrue("sisip " + ROWS + " baris: " + tracked / 1_000_000 + " ms dengan change_seq, "
+                        + untracked / 1_000_000 + " ms tanpa",
+                tracked <= untracked * MAX_SLOWDOWN);
+    }
+
+    @Test
+    public void updateThroughput() throws Exception {
+        TestDatabases.insertTasks(database, ROWS);
+        long untracked = measureUpdates(false);
+        long tracked = measureUpdates(true);
+        assertTrue("update " + UPDATES + " baris: " + tracked / 1_000_000 + " ms dengan change_seq, "
+                        + untracked / 1_000_000 + " ms tanpa",
+                tracked <= untracked * MAX_SLOWDOWN);
+    }
+
+    private long measureInserts(boolean tracked) throws Exception {
+        setTracking(tracked);
+        return Benchmarks.medianNanos("sisip " + ROWS + (tracked ? " dengan" : " tanpa") + " change_seq",
+                2, 5,
+                () -> db.execSQL("DELETE FROM tasks"),
+                () -> TestDatabases.insertTasks(database, ROWS));
+    }
+
+    private long measureUpdates(boolean tracked) throws Exception {
+        setTracking(tracked);
+        TaskDao dao = database.taskDao();
+        boolean[] completed = {false};
+        return Benchmarks.medianNanos("update " + UPDATES + (tracked ? " dengan" : " tanpa") + " change_seq",
+                2, 5,
+                () -> completed[0] = !completed[0],
+                () -> database.runInTransaction(() -> {
+                    for (int id = 1; id <= UPDATES; id++) {
+                        dao.setCompleted(id, completed[0]);
+                    }
+                }));
+    }
+
+    private void setTracking(boolean tracked) {
+        if (tracked) {
+            ChangeSequence.installTriggers(db);
+        } else {
+            ChangeSequence.dropTriggers(db);
+        }
+    }
+}
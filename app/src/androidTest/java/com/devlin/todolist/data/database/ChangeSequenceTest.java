@@ -0,0 +1,126 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@RunWith(AndroidJUnit4.class)
+public class ChangeSequenceTest {
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        db = database.getOpenHelper().getWritableDatabase();
+        dao = database.taskDao();
+        // Hitung setiap UPDATE yang benar-benar menulis baris tasks
+        db.execSQL("CREATE TEMP TABLE row_updates (n INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO row_updates VALUES (0)");
+        db.execSQL("CREATE TEMP TRIGGER count_row_updates AFTER UPDATE ON main.tasks "
+                + "BEGIN UPDATE row_updates SET n = n + 1; END");
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void inserterSetsChangeSeqWithoutSecondUpdate() throws Exception {
+        TestDatabases.insertTasks(database, 10);
+
+        assertEquals(0, rowUpdates());
+        assertEquals(10, ChangeSequence.current(db));
+        assertEquals(10, queryLong("SELECT COUNT(DISTINCT change_seq) FROM tasks"));
+        assertEquals(10, queryLong("SELECT MAX(change_seq) FROM tasks"));
+    }
+
+    @Test
+    public void daoInsertSetsChangeSeqWithoutSecondUpdate() {
+        TestDatabases.insertTasks(database, 3);
+        long id = dao.insert(new TaskEntity("Baru", "", false, 1, 0, 0, null));
+        dao.insertAll(Arrays.asList(
+                new TaskEntity("A", "", false, 1, 0, 0, null),
+                new TaskEntity("B", "", false, 1, 0, 0, null)));
+
+        assertEquals(0, rowUpdates());
+        assertEquals(4, changeSeqOf(id));
+        assertEquals(6, ChangeSequence.current(db));
+        assertEquals(6, queryLong("SELECT MAX(change_seq) FROM tasks"));
+    }
+
+    @Test
+    public void daoUpdateWritesRowOnce() {
+        TestDatabases.insertTasks(database, 5);
+        long before = ChangeSequence.current(db);
+
+        dao.setCompleted(2, true);
+        assertEquals(1, rowUpdates());
+        assertEquals(before + 1, changeSeqOf(2));
+
+        dao.moveToCategory(new int[]{1, 3, 5}, "Lain");
+        assertEquals(4, rowUpdates());
+        assertTrue(changeSeqOf(3) > before + 1);
+        assertEquals(ChangeSequence.current(db), before + 4);
+    }
+
+    @Test
+    public void updateThatSkipsChangeSeqIsStillTracked() {
+        TestDatabases.insertTasks(database, 5);
+        long before = ChangeSequence.current(db);
+
+        db.execSQL("UPDATE tasks SET title = 'Diubah' WHERE id = 4");
+
+        // Satu UPDATE dari statement, satu lagi dari trigger cadangan
+        assertEquals(2, rowUpdates());
+        assertEquals(before + 1, changeSeqOf(4));
+        assertEquals(before + 1, ChangeSequence.current(db));
+    }
+
+    @Test
+    public void overwriteOfCopiedRowGetsNewChangeSeq() {
+        TestDatabases.insertTasks(database, 5);
+        TaskEntity copy = dao.getTaskByIdSync(1);
+        long before = ChangeSequence.current(db);
+
+        // Salinan lama membawa change_seq lama; penimpaan harus tetap tercatat sebagai perubahan
+        copy.setTitle("Dipulihkan");
+        dao.overwriteAll(Collections.singletonList(copy));
+
+        assertEquals(before + 1, changeSeqOf(1));
+    }
+
+    private long rowUpdates() {
+        return queryLong("SELECT n FROM row_updates");
+    }
+
+    private long changeSeqOf(long id) {
+        return queryLong("SELECT change_seq FROM tasks WHERE id = " + id);
+    }
+
+    private long queryLong(String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
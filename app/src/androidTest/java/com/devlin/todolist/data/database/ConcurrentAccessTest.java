@@ -0,0 +1,116 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pembaca di pool baca dan penulis di thread penulis pada file database WAL sungguhan,
+ * dengan konfigurasi builder yang sama seperti aplikasi.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ConcurrentAccessTest {
+
+    private static final String DB_NAME = "concurrency-test";
+    private static final String CATEGORY = "stress";
+    private static final int BATCHES = 500;
+    private static final int ROWS_PER_BATCH = 10;
+    private static final int READERS = 4;
+
+    private Context context;
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DB_NAME);
+        database = AppDatabase.builder(context, DB_NAME).build();
+        database.getOpenHelper().getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void transactionsRunOnWriteThreadAndQueriesOnReadPool() throws Exception {
+        assertTrue(threadNameOf(database.getTransactionExecutor()).startsWith("db-write"));
+        assertTrue(threadNameOf(database.getQueryExecutor()).startsWith("db-read"));
+    }
+
+    @Test
+    public void readersNeverSeePartialBatches() throws Exception {
+        TaskDao dao = database.taskDao();
+        Future<?> writer = AppDatabase.databaseWriteExecutor.submit(() -> {
+            for (int batch = 0; batch < BATCHES; batch++) {
+                int number = batch;
+                database.runInTransaction(() -> {
+                    for (int row = 0; row < ROWS_PER_BATCH; row++) {
+                        dao.insert(new TaskEntity("Batch " + number + " baris " + row, "", false,
+                                System.currentTimeMillis(), 0, row % 3, CATEGORY));
+                    }
+                });
+            }
+        });
+
+        List<Future<Integer>> readers = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            readers.add(AppDatabase.databaseReadExecutor.submit(() -> {
+                int reads = 0;
+                do {
+                    long count = countStressRows();
+                    assertEquals("batch terlihat sebagian: " + count, 0, count % ROWS_PER_BATCH);
+                    reads++;
+                } while (!writer.isDone());
+                return reads;
+            }));
+        }
+
+        writer.get(2, TimeUnit.MINUTES);
+        for (Future<Integer> reader : readers) {
+            assertTrue(reader.get(1, TimeUnit.MINUTES) > 0);
+        }
+        assertEquals(BATCHES * ROWS_PER_BATCH, countStressRows());
+    }
+
+    private long countStressRows() {
+        try (Cursor cursor = database.query("SELECT COUNT(*) FROM tasks WHERE category = ?",
+                new Object[]{CATEGORY})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private static String threadNameOf(Executor executor) throws InterruptedException {
+        AtomicReference<String> name = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return name.get();
+    }
+}
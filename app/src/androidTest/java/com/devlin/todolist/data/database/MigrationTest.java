@@ -0,0 +1,100 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+/**
+ * Setiap migrasi dijalankan dari skema terekspor di app/schemas lalu divalidasi terhadap
+ * skema versi tujuannya. Versi 1 dan 2 tidak punya skema dan memang dibuat ulang.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+    private static final int FIRST_EXPORTED_VERSION = 3;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @After
+    public void tearDown() {
+        ApplicationProvider.getApplicationContext().deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void everyVersionHasMigration() {
+        assertEquals(AppDatabase.VERSION - FIRST_EXPORTED_VERSION, Migrations.ALL.length);
+        for (int i = 0; i < Migrations.ALL.length; i++) {
+            assertEquals(FIRST_EXPORTED_VERSION + i, Migrations.ALL[i].startVersion);
+            assertEquals(FIRST_EXPORTED_VERSION + i + 1, Migrations.ALL[i].endVersion);
+        }
+    }
+
+    @Test
+    public void eachStepMatchesExportedSchema() throws IOException {
+        for (int version = FIRST_EXPORTED_VERSION; version < AppDatabase.VERSION; version++) {
+            helper.createDatabase(TEST_DB, version).close();
+            helper.runMigrationsAndValidate(TEST_DB, version + 1, true,
+                    Migrations.ALL[version - FIRST_EXPORTED_VERSION]).close();
+            ApplicationProvider.getApplicationContext().deleteDatabase(TEST_DB);
+        }
+    }
+
+    @Test
+    public void version3MigratesToLatestKeepingTasks() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, FIRST_EXPORTED_VERSION)) {
+            db.execSQL("INSERT INTO tasks (id, title, description, is_completed, created_at, due_date, "
+                    + "priority, category) VALUES (1, 'Beli susu', 'Dua liter', 0, 1000, 0, 1, 'Belanja')");
+            db.execSQL("INSERT INTO tasks (id, title, description, is_completed, created_at, due_date, "
+                    + "priority, category) VALUES (2, 'Laporan bulanan', '', 1, 2000, 5000, 2, NULL)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                TEST_DB, AppDatabase.VERSION, true, Migrations.ALL)) {
+            assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM tasks WHERE deleted_at = 0"));
+            assertEquals(0, queryLong(db, "SELECT SUM(version) + SUM(change_seq) FROM tasks"));
+            assertEquals(2, queryLong(db, "SELECT priority FROM tasks WHERE id = 2"));
+            // Indeks pencarian dibangun ulang dari baris lama oleh migrasi 3 -> 4
+            assertEquals(1, queryLong(db, "SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH 'susu'"));
+        }
+    }
+
+    @Test
+    public void migratedDatabaseOpensWithRoom() throws IOException {
+        helper.createDatabase(TEST_DB, FIRST_EXPORTED_VERSION).close();
+
+        AppDatabase database = Room.databaseBuilder(ApplicationProvider.getApplicationContext(),
+                        AppDatabase.class, TEST_DB)
+                .addMigrations(Migrations.ALL)
+                .allowMainThreadQueries()
+                .build();
+        helper.closeWhenFinished(database);
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        ChangeSequence.install(db);
+
+        assertEquals(AppDatabase.VERSION, db.getVersion());
+        assertEquals(0, ChangeSequence.current(db));
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+}
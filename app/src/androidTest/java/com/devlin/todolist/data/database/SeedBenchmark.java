@@ -0,0 +1,138 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+import com.devlin.todolist.util.Varints;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Waktu pengisian data awal saat aplikasi pertama kali dibuka, untuk 1.000 tugas: file seed
+ * biner (format AssetSeedProvider) dalam satu transaksi dibandingkan dengan menyisipkan
+ * tugas satu per satu lewat DAO. Setiap ulangan memakai database in-memory baru.
+ * Hasil ditulis ke Logcat dengan tag "Benchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class SeedBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long ONE_DAY = 86_400_000L;
+
+    private byte[] seedFile;
+    private AppDatabase database;
+
+    @Before
+    public void setUp() throws IOException {
+        seedFile = writeSeedFile(ROWS);
+    }
+
+    @After
+    public void tearDown() {
+        closeDatabase();
+    }
+
+    @Test
+    public void binarySeedIsFasterThanPerRowInserts() throws Exception {
+        long binary = Benchmarks.medianNanos("Seed biner " + ROWS + " baris", 2, 7, this::openDatabase, () -> {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            // Seperti DatabaseCallback.onCreate: seluruh seed dalam satu transaksi
+            db.beginTransaction();
+            try {
+                AssetSeedProvider.seed(new ByteArrayInputStream(seedFile), "benchmark", db, NOW);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+        assertEquals(ROWS, database.taskDao().getTaskCount());
+
+        long perRow = Benchmarks.medianNanos("Insert per baris " + ROWS + " baris", 2, 7, this::openDatabase, () -> {
+            TaskDao dao = database.taskDao();
+            for (int i = 0; i < ROWS; i++) {
+                dao.insert(task(i));
+            }
+        });
+        assertEquals(ROWS, database.taskDao().getTaskCount());
+
+        assertTrue("biner " + binary / 1000 + " us, per baris " + perRow / 1000 + " us", binary < perRow);
+    }
+
+    private void openDatabase() {
+        closeDatabase();
+        database = TestDatabases.inMemory();
+        database.getOpenHelper().getWritableDatabase();
+    }
+
+    private void closeDatabase() {
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+    }
+
+    private static TaskEntity task(int i) {
+        return new TaskEntity("Tugas " + i, "Deskripsi tugas nomor " + i, i % 3 == 0,
+                NOW - i * 60_000L, i % 2 == 0 ? NOW + (i % 14) * ONE_DAY : 0,
+                i % 3, TestDatabases.CATEGORIES[i % TestDatabases.CATEGORIES.length]);
+    }
+
+    /**
+     * File seed berisi tugas yang sama dengan task(i), ditulis seperti task Gradle generateTaskSeed
+     */
+    private static byte[] writeSeedFile(int count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(AssetSeedProvider.MAGIC);
+        out.writeByte(AssetSeedProvider.FORMAT_VERSION);
+        Varints.writeUnsigned(out, TestDatabases.CATEGORIES.length);
+        for (String category : TestDatabases.CATEGORIES) {
+            writeString(out, category);
+        }
+        Varints.writeUnsigned(out, count);
+        for (int i = 0; i < count; i++) {
+            TaskEntity task = task(i);
+            int flags = AssetSeedProvider.FLAG_HAS_CATEGORY;
+            if (task.isCompleted()) {
+                flags |= AssetSeedProvider.FLAG_COMPLETED;
+            }
+            if (task.getDueDate() != 0) {
+                flags |= AssetSeedProvider.FLAG_HAS_DUE_DATE;
+            }
+            out.writeByte(flags);
+            writeString(out, task.getTitle());
+            writeString(out, task.getDescription());
+            Varints.writeUnsigned(out, task.getPriority());
+            Varints.writeSigned(out, task.getCreatedAt() - NOW);
+            if (task.getDueDate() != 0) {
+                Varints.writeSigned(out, task.getDueDate() - NOW);
+            }
+            Varints.writeUnsigned(out, i % TestDatabases.CATEGORIES.length);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        Varints.writeUnsigned(out, utf8.length);
+        out.write(utf8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.res.AssetManager;
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File seed di assets dibuat dari template yang isinya sama dengan SampleSeedProvider,
+ * jadi kedua provider harus menghasilkan baris yang persis sama untuk waktu pasang yang sama.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SeedProviderTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final String ROWS_SQL = "SELECT title, description, is_completed, created_at, "
+            + "due_date, priority, category FROM tasks ORDER BY id";
+
+    private final AssetManager assets = ApplicationProvider.getApplicationContext().getAssets();
+    private AppDatabase assetDatabase;
+    private AppDatabase sampleDatabase;
+
+    @Before
+    public void setUp() {
+        assetDatabase = TestDatabases.inMemory();
+        sampleDatabase = TestDatabases.inMemory();
+    }
+
+    @After
+    public void tearDown() {
+        assetDatabase.close();
+        sampleDatabase.close();
+    }
+
+    @Test
+    public void generatedAssetIsPackaged() {
+        assertTrue(AssetSeedProvider.isAvailable(assets, AssetSeedProvider.DEFAULT_ASSET_PATH));
+        assertFalse(AssetSeedProvider.isAvailable(assets, "seed/tidak-ada.seed"));
+    }
+
+    @Test
+    public void assetSeedMatchesSampleSeed() throws IOException {
+        int fromAsset = new AssetSeedProvider(assets, AssetSeedProvider.DEFAULT_ASSET_PATH)
+                .seed(writable(assetDatabase), NOW);
+        int fromSample = new SampleSeedProvider().seed(writable(sampleDatabase), NOW);
+
+        assertEquals(fromSample, fromAsset);
+        List<String> sampleRows = rows(sampleDatabase);
+        assertEquals(fromSample, sampleRows.size());
+        assertEquals(sampleRows, rows(assetDatabase));
+    }
+
+    @Test
+    public void seededRowsGetChangeSequence() throws IOException {
+        int count = new AssetSeedProvider(assets, AssetSeedProvider.DEFAULT_ASSET_PATH)
+                .seed(writable(assetDatabase), NOW);
+
+        assertEquals(count, ChangeSequence.current(writable(assetDatabase)));
+    }
+
+    @Test(expected = IOException.class)
+    public void missingAssetFails() throws IOException {
+        new AssetSeedProvider(assets, "seed/tidak-ada.seed").seed(writable(assetDatabase), NOW);
+    }
+
+    private static SupportSQLiteDatabase writable(AppDatabase database) {
+        return database.getOpenHelper().getWritableDatabase();
+    }
+
+    private static List<String> rows(AppDatabase database) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = database.query(ROWS_SQL, null)) {
+            while (cursor.moveToNext()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    row.append(cursor.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
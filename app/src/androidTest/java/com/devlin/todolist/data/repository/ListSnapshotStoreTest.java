@@ -0,0 +1,141 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.ListSnapshot;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.data.model.TaskStats;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip ListSnapshotStore: snapshot diambil setelah jeda, dibaca kembali persis sama
+ * dengan halaman pertama daftar, dan ditolak jika ChangeSequence sudah berubah atau file rusak.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListSnapshotStoreTest {
+
+    // Sedikit lebih lama dari CAPTURE_DELAY_MS
+    private static final long CAPTURE_WAIT_MS = 1_500;
+
+    private final Context context = ApplicationProvider.getApplicationContext();
+    private AppDatabase database;
+    private File file;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        TestDatabases.insertTasks(database, 100);
+        file = new File(context.getCacheDir(), "list_snapshot_test.bin");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        file.delete();
+    }
+
+    @Test
+    public void capturedSnapshotMatchesFirstPage() throws Exception {
+        ListSnapshotStore store = newStore();
+        assertNull(load(store));
+        Thread.sleep(CAPTURE_WAIT_MS);
+
+        ListSnapshot snapshot = load(store);
+        assertNotNull(snapshot);
+        List<TaskListItem> expected = database.taskDao().getTaskListSync(
+                TaskRepository.buildListQuery(TaskQuery.DEFAULT, ListSnapshotStore.MAX_ITEMS));
+        assertEquals(describe(expected), describe(snapshot.getItems()));
+        TaskStats stats = database.taskDao().getTaskStatsSync(snapshot.getCapturedAt());
+        assertEquals(stats.getActiveCount(), snapshot.getStats().getActiveCount());
+        assertEquals(stats.getCompletedCount(), snapshot.getStats().getCompletedCount());
+
+        // Store baru (proses berikutnya) membaca file yang sama
+        assertNotNull(load(newStore()));
+    }
+
+    @Test
+    public void invalidateDiscardsSnapshot() throws Exception {
+        ListSnapshotStore store = newStore();
+        load(store);
+        Thread.sleep(CAPTURE_WAIT_MS);
+        assertNotNull(load(store));
+
+        store.invalidate();
+        assertNull(load(store));
+    }
+
+    @Test
+    public void changeAfterCaptureRejectsSnapshot() throws Exception {
+        load(newStore());
+        Thread.sleep(CAPTURE_WAIT_MS);
+        assertNotNull(load(newStore()));
+
+        // Store baru tidak mengamati tabel, seperti proses yang mati sebelum sempat mengambil ulang
+        database.taskDao().setCompleted(1, true);
+        assertNull(load(newStore()));
+    }
+
+    @Test
+    public void failedCaptureWritesNothing() throws Exception {
+        ListSnapshotStore store = newStore();
+        // Setiap pengambilan snapshot gagal dengan SQLiteException
+        database.getOpenHelper().getWritableDatabase().execSQL("DROP TABLE change_sequence");
+        assertNull(load(store));
+        Thread.sleep(CAPTURE_WAIT_MS);
+
+        // Query yang gagal hanya dicatat; thread store tetap melayani permintaan berikutnya
+        assertFalse(file.exists());
+        assertNull(load(store));
+    }
+
+    @Test
+    public void corruptFileIsIgnored() throws Exception {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[]{0, 0, 0, 1, 0, 0});
+        }
+        assertNull(load(newStore()));
+    }
+
+    private ListSnapshotStore newStore() {
+        return new ListSnapshotStore(database, file);
+    }
+
+    private static ListSnapshot load(ListSnapshotStore store) throws Exception {
+        CompletableFuture<ListSnapshot> result = new CompletableFuture<>();
+        store.load(result::complete);
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    private static List<String> describe(List<TaskListItem> items) {
+        List<String> rows = new ArrayList<>(items.size());
+        for (TaskListItem item : items) {
+            rows.add(item.getId() + "|" + item.getTitle() + "|" + item.getDescription() + "|"
+                    + item.isCompleted() + "|" + item.getCreatedAt() + "|" + item.getDueDate() + "|"
+                    + item.getPriority() + "|" + item.getCategory() + "|" + item.getVersion());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,119 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteProgram;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query di jalur panas harus dilayani indeks komposit di TaskEntity tanpa sort sementara.
+ * Nama indeks dicocokkan langsung; format EXPLAIN QUERY PLAN berbeda antar versi SQLite.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        TestDatabases.insertTasks(database, 1_000);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void allTasksListUsesPriorityIndex() {
+        assertPlan(TaskRepository.buildListQuery(TaskQuery.DEFAULT),
+                "index_tasks_deleted_at_priority_created_at");
+    }
+
+    @Test
+    public void activeListUsesCompletedPriorityIndex() {
+        assertPlan(TaskRepository.buildListQuery(TaskQuery.DEFAULT.withStatus(TaskQuery.Status.ACTIVE)),
+                "index_tasks_deleted_at_is_completed_priority_created_at");
+    }
+
+    @Test
+    public void completedListUsesCompletedCreatedAtIndex() {
+        assertPlan(TaskRepository.buildListQuery(TaskQuery.DEFAULT.withStatus(TaskQuery.Status.COMPLETED)),
+                "index_tasks_deleted_at_is_completed_created_at");
+    }
+
+    @Test
+    public void categoriesUseCategoryIndex() {
+        assertPlan(new SimpleSQLiteQuery("SELECT DISTINCT category FROM tasks WHERE deleted_at = 0 "
+                        + "AND category IS NOT NULL AND category != '' ORDER BY category"),
+                "index_tasks_deleted_at_category_priority_created_at");
+    }
+
+    @Test
+    public void statsAndNextDueDateUseDueDateIndex() {
+        assertPlan(new SimpleSQLiteQuery("SELECT " + TaskDao.STATS_COLUMNS + " FROM tasks WHERE deleted_at = 0",
+                        new Object[]{System.currentTimeMillis()}),
+                "index_tasks_deleted_at_is_completed_due_date");
+        assertPlan(new SimpleSQLiteQuery("SELECT MIN(due_date) FROM tasks WHERE deleted_at = 0 "
+                        + "AND is_completed = 0 AND due_date > ?", new Object[]{System.currentTimeMillis()}),
+                "index_tasks_deleted_at_is_completed_due_date");
+    }
+
+    @Test
+    public void tombstonePurgeSearchesDeletedAtRange() {
+        List<String> plan = plan(new SimpleSQLiteQuery("DELETE FROM tasks WHERE id IN "
+                + "(SELECT id FROM tasks WHERE deleted_at > 0 AND deleted_at < ? LIMIT ?)", new Object[]{1L, 500}));
+        assertTrue(plan.toString(), plan.toString().contains("index_tasks_deleted_at_"));
+    }
+
+    private void assertPlan(SupportSQLiteQuery query, String index) {
+        List<String> plan = plan(query);
+        assertTrue(plan.toString(), plan.toString().contains(index));
+        assertFalse(plan.toString(), plan.toString().contains("TEMP B-TREE"));
+    }
+
+    private List<String> plan(SupportSQLiteQuery query) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = database.query(new SupportSQLiteQuery() {
+            @Override
+            public String getSql() {
+                return "EXPLAIN QUERY PLAN " + query.getSql();
+            }
+
+            @Override
+            public void bindTo(SupportSQLiteProgram statement) {
+                query.bindTo(statement);
+            }
+
+            @Override
+            public int getArgCount() {
+                return query.getArgCount();
+            }
+        })) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detail));
+            }
+        }
+        return details;
+    }
+}
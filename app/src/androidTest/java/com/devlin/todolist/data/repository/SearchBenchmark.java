@@ -0,0 +1,95 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pencarian lewat indeks FTS4 dibandingkan dengan LIKE '%kata%' yang memindai seluruh tabel.
+ * Hasil FTS harus sama dengan LIKE yang dibatasi ke awal kata (semantik prefix FTS).
+ */
+@RunWith(AndroidJUnit4.class)
+public class SearchBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final String TERM = "4242";
+    // Kueri LIKE berurutan sama dengan daftar agar yang dibandingkan hanya cara mencocokkan
+    private static final String LIKE_SQL = "SELECT " + TaskDao.LIST_COLUMNS + " FROM tasks "
+            + "WHERE tasks.deleted_at = 0 AND (tasks.title LIKE ?1 OR tasks.description LIKE ?1) "
+            + "ORDER BY tasks.priority DESC, tasks.created_at DESC";
+
+    private static AppDatabase database;
+
+    @BeforeClass
+    public static void setUpClass() {
+        database = TestDatabases.inMemory();
+        TestDatabases.insertTasks(database, ROWS);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        database.close();
+    }
+
+    @Test
+    public void matchQueryUsesWordPrefixes() {
+        assertEquals("belajar* and*", TaskRepository.toFtsMatchQuery("Belajar AND"));
+        assertEquals("a* b* c*", TaskRepository.toFtsMatchQuery("a\"b*(c)"));
+        assertNull(TaskRepository.toFtsMatchQuery("  -*  "));
+        assertNull(TaskRepository.toFtsMatchQuery(null));
+    }
+
+    @Test
+    public void ftsFindsSameTasksAsWordPrefixLike() {
+        Set<Integer> fts = ids(searchQuery());
+        Set<Integer> like = ids(new SimpleSQLiteQuery("SELECT id FROM tasks "
+                + "WHERE deleted_at = 0 AND (' ' || title || ' ' || description) LIKE ?", new Object[]{"% " + TERM + "%"}));
+        assertFalse(fts.isEmpty());
+        assertEquals(like, fts);
+    }
+
+    @Test
+    public void ftsIsFasterThanLikeScan() throws Exception {
+        long fts = Benchmarks.medianNanos("cari FTS '" + TERM + "' di " + ROWS, 3, 9,
+                () -> ids(searchQuery()));
+        long like = Benchmarks.medianNanos("cari LIKE '" + TERM + "' di " + ROWS, 3, 9,
+                () -> ids(new SimpleSQLiteQuery(LIKE_SQL, new Object[]{"%" + TERM + "%"})));
+        assertTrue("FTS " + fts / 1000 + " us, LIKE " + like / 1000 + " us", fts * 3 < like);
+    }
+
+    private static SupportSQLiteQuery searchQuery() {
+        return TaskRepository.buildListQuery(TaskQuery.DEFAULT.withSearch(TERM));
+    }
+
+    private static Set<Integer> ids(SupportSQLiteQuery query) {
+        Set<Integer> ids = new HashSet<>();
+        try (Cursor cursor = database.query(query)) {
+            int idColumn = cursor.getColumnIndexOrThrow("id");
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getInt(idColumn));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,258 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Antrean tulis di atas database in-memory. Jendela pengumpulan dibuat panjang agar semua
+ * operasi test masuk satu batch dan baru dijalankan saat flush().
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskWriteQueueTest {
+
+    private static final long LONG_FLUSH_DELAY_MS = 60_000;
+
+    private AppDatabase database;
+    private TaskDao dao;
+    private ExecutorService writeExecutor;
+    private TaskCache cache;
+    private TaskWriteQueue queue;
+
+    // Statement yang dijalankan thread penulis, dicatat lewat QueryCallback
+    private final List<String> writerStatements = new CopyOnWriteArrayList<>();
+    private Thread writerThread;
+
+    @Before
+    public void setUp() throws Exception {
+        database = TestDatabases.inMemory((sql, args) -> {
+            if (Thread.currentThread() == writerThread) {
+                writerStatements.add(sql);
+            }
+        });
+        TestDatabases.insertTasks(database, 10);
+        dao = database.taskDao();
+        writeExecutor = Executors.newSingleThreadExecutor();
+        cache = new TaskCache(TaskCache.DEFAULT_MAX_SIZE);
+        queue = new TaskWriteQueue(database, cache, writeExecutor, LONG_FLUSH_DELAY_MS);
+        writerThread = writeExecutor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        writeExecutor.shutdown();
+        writeExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        database.close();
+    }
+
+    @Test
+    public void nothingIsWrittenBeforeTheWindowCloses() throws Exception {
+        queue.setCompleted(2, true);
+        queue.deleteById(3);
+        awaitWriter();
+
+        assertFalse(dao.getTaskByIdSync(2).isCompleted());
+        assertNotNull(dao.getTaskByIdSync(3));
+
+        flushAndWait();
+        assertTrue(dao.getTaskByIdSync(2).isCompleted());
+        assertNull(dao.getTaskByIdSync(3));
+    }
+
+    @Test
+    public void repeatedTogglesKeepTheLastValue() throws Exception {
+        queue.setCompleted(2, true);
+        queue.setCompleted(2, false);
+        queue.setCompleted(2, true);
+        queue.setCompleted(4, true);
+        queue.setCompleted(4, false);
+        flushAndWait();
+
+        assertTrue(dao.getTaskByIdSync(2).isCompleted());
+        assertFalse(dao.getTaskByIdSync(4).isCompleted());
+    }
+
+    @Test
+    public void undoOfDeleteKeepsEarlierUpdate() throws Exception {
+        TaskEntity task = dao.getTaskByIdSync(2);
+        task.setTitle("Judul baru");
+        queue.update(task);
+        long token = queue.delete(task);
+        queue.undo(token);
+        flushAndWait();
+
+        TaskEntity restored = dao.getTaskByIdSync(2);
+        assertNotNull(restored);
+        assertEquals("Judul baru", restored.getTitle());
+    }
+
+    @Test
+    public void operationsRunInEnqueueOrder() throws Exception {
+        TaskEntity task = dao.getTaskByIdSync(2);
+        queue.setCompleted(2, true);
+        task.setTitle("Sesudah centang");
+        task.setCompleted(false);
+        queue.update(task);
+        queue.setCompleted(2, true);
+        flushAndWait();
+
+        TaskEntity result = dao.getTaskByIdSync(2);
+        assertEquals("Sesudah centang", result.getTitle());
+        assertTrue(result.isCompleted());
+
+        // Undo hanya membatalkan centang terakhir; update tetap berlaku
+        queue.undo();
+        flushAndWait();
+        result = dao.getTaskByIdSync(2);
+        assertEquals("Sesudah centang", result.getTitle());
+        assertFalse(result.isCompleted());
+    }
+
+    @Test
+    public void undoAndRedoOfBulkDelete() throws Exception {
+        queue.deleteByIds(new int[]{4, 5, 6});
+        flushAndWait();
+        assertNull(dao.getTaskByIdSync(5));
+
+        queue.undo();
+        flushAndWait();
+        assertNotNull(dao.getTaskByIdSync(4));
+        assertNotNull(dao.getTaskByIdSync(5));
+        assertNotNull(dao.getTaskByIdSync(6));
+
+        queue.redo();
+        flushAndWait();
+        assertNull(dao.getTaskByIdSync(4));
+        assertNull(dao.getTaskByIdSync(6));
+    }
+
+    @Test
+    public void undoOfLargeBulkDeleteRunsInOneTransaction() throws Exception {
+        TestDatabases.insertTasks(database, 5_000);
+        int[] ids = new int[5_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 11 + i;
+        }
+        queue.deleteByIds(ids);
+        flushAndWait();
+        assertEquals(10, dao.getTaskCount());
+
+        writerStatements.clear();
+        queue.undo();
+        flushAndWait();
+
+        assertEquals(5_010, dao.getTaskCount());
+        assertEquals(1, topLevelTransactions(writerStatements));
+    }
+
+    @Test
+    public void undoAndRedoOfOverwritingInsertKeepSearchIndexInSync() throws Exception {
+        TaskEntity task = dao.getTaskByIdSync(2);
+        task.setTitle("Zebra");
+        queue.insert(task);
+        flushAndWait();
+        assertEquals(List.of(2L), ftsMatches("zebra"));
+        assertEquals(List.of(), ftsMatches("\"tugas 2\""));
+
+        queue.undo();
+        flushAndWait();
+        assertEquals("Tugas 2", dao.getTaskByIdSync(2).getTitle());
+        assertEquals(List.of(), ftsMatches("zebra"));
+        assertEquals(List.of(2L), ftsMatches("\"tugas 2\""));
+
+        queue.redo();
+        flushAndWait();
+        assertEquals(List.of(2L), ftsMatches("zebra"));
+        assertEquals(List.of(), ftsMatches("\"tugas 2\""));
+    }
+
+    @Test
+    public void flushedWritesAreVisibleToOtherQueues() throws Exception {
+        queue.deleteById(4);
+        queue.deleteById(5);
+        flushAndWait();
+
+        // Antrean baru di database yang sama melihat hasil yang sudah di-commit
+        TaskWriteQueue other = new TaskWriteQueue(database, cache, writeExecutor, 0);
+        other.setCompleted(4, true);
+        other.setCompleted(8, true);
+        awaitWriter();
+
+        assertNull(dao.getTaskByIdSync(4));
+        assertNull(dao.getTaskByIdSync(5));
+        assertTrue(dao.getTaskByIdSync(8).isCompleted());
+    }
+
+    @Test
+    public void writtenTasksAreEvictedFromCache() throws Exception {
+        cache.putIfUnchanged(dao.getTaskByIdSync(2), cache.generation());
+        queue.setCompleted(2, true);
+        flushAndWait();
+
+        assertNull(cache.get(2));
+    }
+
+    /**
+     * Jumlah transaksi terluar; BEGIN di dalam transaksi lain hanya menambah kedalaman
+     */
+    private static int topLevelTransactions(List<String> statements) {
+        int depth = 0;
+        int transactions = 0;
+        for (String sql : statements) {
+            if (sql.startsWith("BEGIN")) {
+                if (depth++ == 0) {
+                    transactions++;
+                }
+            } else if (sql.startsWith("END TRANSACTION")) {
+                depth--;
+            }
+        }
+        return transactions;
+    }
+
+    private List<Long> ftsMatches(String term) {
+        List<Long> ids = new ArrayList<>();
+        try (Cursor cursor = database.query("SELECT docid FROM tasks_fts WHERE tasks_fts MATCH ?",
+                new Object[]{term})) {
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getLong(0));
+            }
+        }
+        return ids;
+    }
+
+    private void flushAndWait() throws Exception {
+        queue.flush();
+        awaitWriter();
+    }
+
+    /**
+     * Tunggu semua pekerjaan yang sudah ada di thread penulis selesai
+     */
+    private void awaitWriter() throws Exception {
+        writeExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
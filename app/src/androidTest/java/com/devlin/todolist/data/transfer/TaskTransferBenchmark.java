@@ -0,0 +1,136 @@
+package com.devlin.todolist.data.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Throughput ekspor/impor 100k tugas (baris per detik) dan heap puncak selama prosesnya.
+ * Heap diukur setelah GC di setiap laporan kemajuan, jadi yang terlihat adalah data yang
+ * benar-benar ditahan; karena streaming, angkanya tidak boleh ikut naik dengan jumlah baris.
+ * Hasil ditulis ke Logcat dengan tag "Benchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskTransferBenchmark {
+
+    private static final String TAG = "Benchmark";
+    private static final int ROWS = 100_000;
+    // Jauh di bawah ukuran 100k TaskEntity (puluhan MB), cukup longgar untuk satu potongan
+    private static final long MAX_RETAINED_BYTES = 8L * 1024 * 1024;
+
+    private AppDatabase source;
+    private AppDatabase target;
+    private ExecutorService writeExecutor;
+    private File file;
+
+    @Before
+    public void setUp() {
+        source = TestDatabases.inMemory();
+        target = TestDatabases.inMemory();
+        TestDatabases.insertTasks(source, ROWS);
+        writeExecutor = Executors.newSingleThreadExecutor();
+        file = new File(ApplicationProvider.getApplicationContext().getCacheDir(), "transfer_benchmark");
+    }
+
+    @After
+    public void tearDown() {
+        writeExecutor.shutdownNow();
+        source.close();
+        target.close();
+        file.delete();
+    }
+
+    @Test
+    public void jsonThroughputAndHeap() throws IOException {
+        measure(TransferFormat.JSON);
+    }
+
+    @Test
+    public void csvThroughputAndHeap() throws IOException {
+        measure(TransferFormat.CSV);
+    }
+
+    private void measure(TransferFormat format) throws IOException {
+        long start = System.nanoTime();
+        long exported;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            exported = new TaskExporter(source).export(out, format, null, null);
+        }
+        long exportNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long imported;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            imported = new TaskImporter(target, writeExecutor).importTasks(in, format, null, null);
+        }
+        long importNanos = System.nanoTime() - start;
+
+        assertEquals(ROWS, exported);
+        assertEquals(ROWS, imported);
+        Log.i(TAG, format + ": ekspor " + rowsPerSecond(exportNanos) + " baris/dtk, impor "
+                + rowsPerSecond(importNanos) + " baris/dtk, berkas " + file.length() / 1024 + " KB");
+
+        target.getOpenHelper().getWritableDatabase().execSQL("DELETE FROM tasks");
+        HeapSampler exportHeap = new HeapSampler();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            new TaskExporter(source).export(out, format, exportHeap, null);
+        }
+        HeapSampler importHeap = new HeapSampler();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            new TaskImporter(target, writeExecutor).importTasks(in, format, importHeap, null);
+        }
+        Log.i(TAG, format + ": heap ditahan paling banyak " + exportHeap.peak / 1024 + " KB saat ekspor, "
+                + importHeap.peak / 1024 + " KB saat impor");
+
+        assertTrue("ekspor menahan " + exportHeap.peak + " byte", exportHeap.peak < MAX_RETAINED_BYTES);
+        assertTrue("impor menahan " + importHeap.peak + " byte", importHeap.peak < MAX_RETAINED_BYTES);
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        runtime.runFinalization();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Heap terpakai setelah GC di setiap laporan kemajuan, relatif terhadap sebelum mulai
+     */
+    private static final class HeapSampler implements TransferProgressListener {
+        private final long baseline = usedAfterGc();
+        long peak;
+
+        @Override
+        public void onProgress(long rows, long total) {
+            peak = Math.max(peak, usedAfterGc() - baseline);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.devlin.todolist.data.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.database.TaskInserter;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ekspor lalu impor ke database kosong harus menghasilkan isi yang sama (kecuali id),
+ * termasuk teks dengan koma, kutip, baris baru, dan karakter non-ASCII.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskTransferTest {
+
+    private static final String ROWS_SQL = "SELECT title, description, is_completed, created_at, "
+            + "due_date, priority, category FROM tasks WHERE deleted_at = 0 ORDER BY id";
+
+    private AppDatabase source;
+    private AppDatabase target;
+    private ExecutorService writeExecutor;
+
+    @Before
+    public void setUp() throws IOException {
+        source = TestDatabases.inMemory();
+        target = TestDatabases.inMemory();
+        writeExecutor = Executors.newSingleThreadExecutor();
+
+        TestDatabases.insertTasks(source, 2_500);
+        SupportSQLiteDatabase db = source.getOpenHelper().getWritableDatabase();
+        try (TaskInserter inserter = new TaskInserter(db)) {
+            inserter.insert("Koma, \"kutip\" dan\r\nbaris baru", "", false, 1, 0, 0, null);
+            inserter.insert("Rapat ☕ pukul 09.00", "Catatan:\n- satu\n- dua", true, 2, 3, 2, "Kerja, kantor");
+            inserter.insert("Tanpa deskripsi", "", false, 4, 0, 1, "");
+        }
+        // Tombstone tidak ikut diekspor
+        db.execSQL("UPDATE tasks SET deleted_at = 1 WHERE id = 5");
+    }
+
+    @After
+    public void tearDown() {
+        writeExecutor.shutdownNow();
+        source.close();
+        target.close();
+    }
+
+    @Test
+    public void jsonRoundTrip() throws IOException {
+        assertRoundTrip(TransferFormat.JSON);
+    }
+
+    @Test
+    public void csvRoundTrip() throws IOException {
+        assertRoundTrip(TransferFormat.CSV);
+    }
+
+    @Test
+    public void formatIsDetectedFromContent() throws IOException {
+        byte[] json = export(TransferFormat.JSON);
+        TaskImporter importer = new TaskImporter(target, writeExecutor);
+
+        assertEquals(rows(source).size(), importer.importTasks(new ByteArrayInputStream(json), null, null, null));
+        assertEquals(rows(source), rows(target));
+    }
+
+    @Test
+    public void csvWithBomAndReorderedColumns() throws IOException {
+        String csv = "\uFEFFpriority,title,category,created_at\r\n"
+                + "2,Belanja,Pribadi,10\r\n"
+                + ",,Kosong,\r\n"
+                + "0,Olahraga,,20\r\n";
+        TaskImporter importer = new TaskImporter(target, writeExecutor);
+
+        long inserted = importer.importTasks(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), null, null, null);
+
+        assertEquals(2, inserted);
+        assertEquals(1, importer.getSkippedCount());
+        List<String> rows = rows(target);
+        assertEquals("Belanja||0|10|0|2|Pribadi", rows.get(0));
+        assertEquals("Olahraga||0|20|0|0|null", rows.get(1));
+    }
+
+    @Test
+    public void cancelKeepsCommittedChunks() throws IOException {
+        byte[] json = export(TransferFormat.JSON);
+        CancellationSignal signal = new CancellationSignal();
+        TaskImporter importer = new TaskImporter(target, writeExecutor);
+        try {
+            importer.importTasks(new ByteArrayInputStream(json), TransferFormat.JSON,
+                    (rows, total) -> signal.cancel(), signal);
+            fail("impor seharusnya dibatalkan");
+        } catch (OperationCanceledException expected) {
+            // Dibatalkan setelah potongan pertama
+        }
+        assertEquals(TaskImporter.CHUNK_SIZE, rows(target).size());
+    }
+
+    @Test
+    public void exportReportsProgressPerChunk() throws IOException {
+        List<Long> progress = new ArrayList<>();
+        long total = rows(source).size();
+        long written = new TaskExporter(source).export(new ByteArrayOutputStream(), TransferFormat.CSV,
+                (rows, all) -> {
+                    assertEquals(total, all);
+                    progress.add(rows);
+                }, null);
+
+        assertEquals(total, written);
+        assertEquals((Long) total, progress.get(progress.size() - 1));
+        assertTrue(progress.size() >= total / TaskExporter.CHUNK_SIZE);
+    }
+
+    private void assertRoundTrip(TransferFormat format) throws IOException {
+        byte[] data = export(format);
+        long imported = new TaskImporter(target, writeExecutor)
+                .importTasks(new ByteArrayInputStream(data), format, null, null);
+
+        List<String> expected = rows(source);
+        assertEquals(expected.size(), imported);
+        assertEquals(expected, rows(target));
+    }
+
+    private byte[] export(TransferFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TaskExporter(source).export(out, format, null, null);
+        return out.toByteArray();
+    }
+
+    /**
+     * Baris tanpa id; kategori kosong dianggap sama dengan tanpa kategori
+     */
+    private static List<String> rows(AppDatabase database) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = database.query(ROWS_SQL, null)) {
+            while (cursor.moveToNext()) {
+                String category = cursor.getString(6);
+                rows.add(cursor.getString(0) + "|" + cursor.getString(1) + "|" + cursor.getInt(2) + "|"
+                        + cursor.getLong(3) + "|" + cursor.getLong(4) + "|" + cursor.getInt(5) + "|"
+                        + (category == null || category.isEmpty() ? null : category));
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,177 @@
+package com.devlin.todolist.ui.adapter;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.os.Debug;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.CheckBox;
+import android.widget.TextView;
+
+import androidx.cardview.widget.CardView;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.devlin.todolist.R;
+import com.devlin.todolist.ui.model.TaskUiModel;
+import com.devlin.todolist.ui.model.TestUiModels;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Bind berulang tidak boleh mengalokasikan objek di kode aplikasi. View framework sendiri
+ * tetap mengalokasikan (layout teks, drawable state), jadi jumlah alokasi bind dibandingkan
+ * dengan bind acuan yang memanggil setter view yang sama dengan nilai yang sudah jadi.
+ * Alokasi dihitung per thread dengan Debug.startAllocCounting di main thread.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskBindAllocationTest {
+
+    private static final String TAG = "Benchmark";
+    private static final int BINDS = 1_000;
+    // Selisih yang masih diterima: kurang dari satu alokasi per sepuluh bind
+    private static final long MAX_EXTRA_ALLOCATIONS = BINDS / 10;
+    private static final long DUE = System.currentTimeMillis() + 86_400_000L;
+
+    private final TaskUiModel active = TestUiModels.of(1, 1, "Belanja", false, DUE, 1, "Pribadi");
+    private final TaskUiModel completed = TestUiModels.of(1, 2, "Belanja", true, DUE, 1, "Pribadi");
+
+    private Context context;
+    private TaskAdapter.TaskViewHolder holder;
+    private ReferenceBinder reference;
+
+    @Before
+    public void setUp() {
+        onMainThread(() -> {
+            context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.Theme_TodoList);
+            RecyclerView parent = new RecyclerView(context);
+            parent.setLayoutManager(new LinearLayoutManager(context));
+            TaskAdapter adapter = new TaskAdapter(Runnable::run);
+            holder = adapter.onCreateViewHolder(parent, 0);
+            TaskAdapter.TaskViewHolder referenceHolder = adapter.onCreateViewHolder(parent, 0);
+            holder.bind(active);
+            referenceHolder.bind(active);
+            reference = new ReferenceBinder(referenceHolder.itemView);
+        });
+    }
+
+    @Test
+    public void fullBindAllocatesNothingBeyondFramework() {
+        long floor = countAllocations(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                reference.bind(i % 2 == 0 ? completed : active);
+            }
+        });
+        long bind = countAllocations(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                holder.bind(i % 2 == 0 ? completed : active);
+            }
+        });
+        Log.i(TAG, "Alokasi per " + BINDS + " bind penuh: " + bind + ", acuan framework " + floor);
+
+        assertTrue("bind " + bind + ", acuan " + floor, bind - floor < MAX_EXTRA_ALLOCATIONS);
+    }
+
+    @Test
+    public void payloadBindAllocatesNoMoreThanFullBind() {
+        long full = countAllocations(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                holder.bind(i % 2 == 0 ? completed : active);
+            }
+        });
+        long partial = countAllocations(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                holder.bindChanges(i % 2 == 0 ? completed : active, TaskAdapter.PAYLOAD_COMPLETED);
+            }
+        });
+        Log.i(TAG, "Alokasi per " + BINDS + " bind payload selesai: " + partial + ", bind penuh " + full);
+
+        assertTrue("payload " + partial + ", penuh " + full, partial <= full);
+    }
+
+    /**
+     * Jumlah objek yang dialokasikan main thread selama runnable, setelah satu putaran pemanasan
+     */
+    @SuppressWarnings("deprecation")
+    private static long countAllocations(Runnable runnable) {
+        long[] count = new long[1];
+        onMainThread(() -> {
+            runnable.run();
+            Debug.resetThreadAllocCount();
+            Debug.startAllocCounting();
+            runnable.run();
+            Debug.stopAllocCounting();
+            count[0] = Debug.getThreadAllocCount();
+        });
+        return count[0];
+    }
+
+    private static void onMainThread(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+
+    /**
+     * Memanggil setter view yang sama dengan TaskViewHolder.bind, tanpa logika aplikasi apa pun
+     */
+    private final class ReferenceBinder {
+        private final CardView cardView;
+        private final CheckBox checkBoxComplete;
+        private final TextView textViewTitle;
+        private final TextView textViewDescription;
+        private final TextView textViewDate;
+        private final TextView textViewDueDate;
+        private final TextView textViewPriority;
+        private final TextView textViewCategory;
+        private final View priorityIndicator;
+        private final int colorDue;
+        private final int colorCardBackground;
+
+        ReferenceBinder(View itemView) {
+            cardView = itemView.findViewById(R.id.card_view_task);
+            checkBoxComplete = itemView.findViewById(R.id.checkbox_complete);
+            textViewTitle = itemView.findViewById(R.id.text_view_title);
+            textViewDescription = itemView.findViewById(R.id.text_view_description);
+            textViewDate = itemView.findViewById(R.id.text_view_date);
+            textViewDueDate = itemView.findViewById(R.id.text_view_due_date);
+            textViewPriority = itemView.findViewById(R.id.text_view_priority);
+            textViewCategory = itemView.findViewById(R.id.text_view_category);
+            priorityIndicator = itemView.findViewById(R.id.priority_indicator);
+            colorDue = context.getColor(R.color.primary);
+            colorCardBackground = context.getColor(R.color.card_background);
+        }
+
+        void bind(TaskUiModel task) {
+            textViewTitle.setText(task.getTitle());
+            textViewDescription.setText(task.getDescription());
+            textViewDate.setText(task.getCreatedAtText());
+
+            checkBoxComplete.setChecked(task.isCompleted());
+            int strike = task.isCompleted() ? Paint.STRIKE_THRU_TEXT_FLAG : 0;
+            textViewTitle.setPaintFlags((textViewTitle.getPaintFlags() & ~Paint.STRIKE_THRU_TEXT_FLAG) | strike);
+            textViewDescription.setPaintFlags(
+                    (textViewDescription.getPaintFlags() & ~Paint.STRIKE_THRU_TEXT_FLAG) | strike);
+            cardView.setAlpha(task.isCompleted() ? 0.7f : 1.0f);
+
+            textViewDueDate.setVisibility(View.VISIBLE);
+            textViewDueDate.setText(task.getDueText(false));
+            textViewDueDate.setTextColor(colorDue);
+
+            textViewPriority.setText(task.getPriorityText());
+            textViewPriority.setTextColor(task.getPriorityColor());
+            priorityIndicator.setBackgroundColor(task.getPriorityColor());
+
+            textViewCategory.setVisibility(View.VISIBLE);
+            textViewCategory.setText(task.getCategory());
+
+            cardView.setCardBackgroundColor(colorCardBackground);
+        }
+    }
+}
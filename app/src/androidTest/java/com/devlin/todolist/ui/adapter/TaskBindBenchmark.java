@@ -0,0 +1,71 @@
+package com.devlin.todolist.ui.adapter;
+
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.devlin.todolist.R;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.ui.model.TaskUiModel;
+import com.devlin.todolist.ui.model.TestUiModels;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Waktu bind penuh dibandingkan dengan bind sebagian lewat payload, untuk perubahan yang
+ * paling sering terjadi (centang selesai). Setiap ulangan mengikat 1.000 kali secara
+ * bergantian ke dua versi tugas agar view benar-benar berubah.
+ * Hasil ditulis ke Logcat dengan tag "Benchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskBindBenchmark {
+
+    private static final int BINDS = 1_000;
+    private static final long DUE = System.currentTimeMillis() + 86_400_000L;
+
+    private final TaskUiModel active = TestUiModels.of(1, 1, "Belanja", false, DUE, 1, "Pribadi");
+    private final TaskUiModel completed = TestUiModels.of(1, 2, "Belanja", true, DUE, 1, "Pribadi");
+
+    private TaskAdapter.TaskViewHolder holder;
+
+    @Before
+    public void setUp() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            Context context = new ContextThemeWrapper(
+                    ApplicationProvider.getApplicationContext(), R.style.Theme_TodoList);
+            RecyclerView parent = new RecyclerView(context);
+            parent.setLayoutManager(new LinearLayoutManager(context));
+            holder = new TaskAdapter(Runnable::run).onCreateViewHolder(parent, 0);
+            holder.bind(active);
+        });
+    }
+
+    @Test
+    public void payloadBindIsFasterThanFullBind() throws Exception {
+        long full = Benchmarks.medianNanos("Bind penuh x" + BINDS, 3, 9, () -> onMainThread(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                holder.bind(i % 2 == 0 ? completed : active);
+            }
+        }));
+        long partial = Benchmarks.medianNanos("Bind payload selesai x" + BINDS, 3, 9, () -> onMainThread(() -> {
+            for (int i = 0; i < BINDS; i++) {
+                holder.bindChanges(i % 2 == 0 ? completed : active, TaskAdapter.PAYLOAD_COMPLETED);
+            }
+        }));
+
+        assertTrue("payload " + partial / 1000 + " us, penuh " + full / 1000 + " us", partial < full);
+    }
+
+    private static void onMainThread(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+}
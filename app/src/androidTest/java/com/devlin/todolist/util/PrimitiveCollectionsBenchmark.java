@@ -0,0 +1,93 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.testing.Benchmarks;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Koleksi int tanpa boxing dibandingkan dengan koleksi Integer di ART, untuk dua pola
+ * yang dipakai aplikasi: cek pilihan di setiap bind dan mengumpulkan id dari cursor.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PrimitiveCollectionsBenchmark {
+
+    private static final int SELECTED = 2_000;
+    // Jumlah bind yang disimulasikan, masing-masing satu cek pilihan
+    private static final int LOOKUPS = 200_000;
+    private static final int IDS = 100_000;
+
+    @Test
+    public void selectionLookup() throws Exception {
+        IntHashSet primitive = new IntHashSet();
+        Set<Integer> boxed = new HashSet<>();
+        for (int i = 0; i < SELECTED; i++) {
+            // Id di atas cache Integer (-128..127), seperti id tugas sungguhan
+            primitive.add(1_000 + i * 3);
+            boxed.add(1_000 + i * 3);
+        }
+        int[] hits = new int[2];
+
+        long boxedNanos = Benchmarks.medianNanos("HashSet<Integer>.contains x" + LOOKUPS, 3, 9,
+                () -> hits[0] = 0,
+                () -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        if (boxed.contains(1_000 + i % (SELECTED * 3))) {
+                            hits[0]++;
+                        }
+                    }
+                });
+        long primitiveNanos = Benchmarks.medianNanos("IntHashSet.contains x" + LOOKUPS, 3, 9,
+                () -> hits[1] = 0,
+                () -> {
+                    for (int i = 0; i < LOOKUPS; i++) {
+                        if (primitive.contains(1_000 + i % (SELECTED * 3))) {
+                            hits[1]++;
+                        }
+                    }
+                });
+
+        assertEquals(hits[0], hits[1]);
+        assertTrue("IntHashSet " + primitiveNanos / 1000 + " us, HashSet " + boxedNanos / 1000 + " us",
+                primitiveNanos <= boxedNanos);
+    }
+
+    @Test
+    public void collectIds() throws Exception {
+        long[] sums = new long[2];
+
+        long boxedNanos = Benchmarks.medianNanos("ArrayList<Integer> " + IDS + " id", 3, 9, () -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < IDS; i++) {
+                ids.add(1_000 + i);
+            }
+            int[] array = new int[ids.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = ids.get(i);
+            }
+            sums[0] = array[array.length - 1];
+        });
+        long primitiveNanos = Benchmarks.medianNanos("IntArrayList " + IDS + " id", 3, 9, () -> {
+            IntArrayList ids = new IntArrayList();
+            for (int i = 0; i < IDS; i++) {
+                ids.add(1_000 + i);
+            }
+            int[] array = ids.toArray();
+            sums[1] = array[array.length - 1];
+        });
+
+        assertEquals(sums[0], sums[1]);
+        assertTrue("IntArrayList " + primitiveNanos / 1000 + " us, ArrayList " + boxedNanos / 1000 + " us",
+                primitiveNanos <= boxedNanos);
+    }
+}
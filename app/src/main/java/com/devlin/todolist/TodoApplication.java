@@ -0,0 +1,21 @@
+package com.devlin.todolist;
+
+import android.app.Application;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.util.StartupTracer;
+
+/**
+ * TodoApplication memulai pembukaan database di thread penulis sejak proses dibuat,
+ * sehingga migrasi, pengisian data contoh, dan pembukaan file SQLite berjalan paralel
+ * dengan inflate layout MainActivity, bukan saat query daftar pertama.
+ */
+public class TodoApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupTracer.getInstance().mark(StartupTracer.Phase.APPLICATION_CREATE);
+        AppDatabase.warmUp(this);
+    }
+}
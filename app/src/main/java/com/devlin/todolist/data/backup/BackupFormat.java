@@ -0,0 +1,71 @@
+package com.devlin.todolist.data.backup;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Konstanta format berkas cadangan biner tugas (versi 1).
+ *
+ * <pre>
+ * header (30 byte, tidak dikompresi, big-endian):
+ *   magic "TBAK" (4), versi (1), flags (1: terkompresi, inkremental),
+ *   waktu dibuat (8), nomor urut dasar (8, 0 untuk cadangan penuh), nomor urut cadangan (8)
+ * body (Deflate jika terkompresi):
+ *   setiap baris, urut id naik:
+ *     varint selisih id dengan baris sebelumnya (selalu >= 1)
+ *     flags (1 byte: selesai, punya deskripsi, punya tenggat, punya kategori)
+ *     judul, [deskripsi] (string)
+ *     varint prioritas
+ *     zigzag varint created_at relatif terhadap baris sebelumnya
+ *     [zigzag varint due_date relatif terhadap created_at]
+ *     [varint indeks kategori; indeks baru (= jumlah kategori sejauh ini) diikuti string-nya]
+ *     varint version
+ *     zigzag varint change_seq relatif terhadap baris sebelumnya
+ *   varint 0 (akhir baris), varint jumlah baris
+ *   [inkremental: varint jumlah id hidup, lalu selisih id berurutan]
+ *   CRC32 body sampai titik ini (4 byte)
+ * string = varint panjang + byte UTF-8
+ * </pre>
+ *
+ * Cadangan inkremental hanya berisi baris dengan change_seq di atas nomor urut dasar,
+ * ditambah daftar id yang masih hidup agar penghapusan ikut terbawa.
+ */
+final class BackupFormat {
+
+    static final int MAGIC = 0x5442414B; // "TBAK"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 1 + 1 + 8 + 8 + 8;
+
+    static final int FLAG_COMPRESSED = 1;
+    static final int FLAG_INCREMENTAL = 1 << 1;
+
+    static final int ROW_COMPLETED = 1;
+    static final int ROW_HAS_DESCRIPTION = 1 << 1;
+    static final int ROW_HAS_DUE_DATE = 1 << 2;
+    static final int ROW_HAS_CATEGORY = 1 << 3;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    // Batas panjang string agar berkas rusak tidak memicu alokasi raksasa
+    static final int MAX_STRING_BYTES = 1 << 20;
+
+    private BackupFormat() {
+    }
+
+    static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Berkas cadangan terpotong");
+            }
+        }
+    }
+}
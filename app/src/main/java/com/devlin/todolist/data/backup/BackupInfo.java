@@ -0,0 +1,64 @@
+package com.devlin.todolist.data.backup;
+
+/**
+ * BackupInfo adalah ringkasan satu berkas cadangan yang ditulis atau dipulihkan
+ */
+public final class BackupInfo {
+
+    public enum Type {
+        FULL,
+        INCREMENTAL
+    }
+
+    private final Type type;
+    private final long createdAt;
+    private final long baseSeq;
+    private final long seq;
+    private final long rowCount;
+    private final long byteCount;
+
+    BackupInfo(Type type, long createdAt, long baseSeq, long seq, long rowCount, long byteCount) {
+        this.type = type;
+        this.createdAt = createdAt;
+        this.baseSeq = baseSeq;
+        this.seq = seq;
+        this.rowCount = rowCount;
+        this.byteCount = byteCount;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Nomor urut yang menjadi dasar cadangan inkremental; 0 untuk cadangan penuh
+     */
+    public long getBaseSeq() {
+        return baseSeq;
+    }
+
+    /**
+     * Nomor urut perubahan saat cadangan dibuat
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    /**
+     * Jumlah baris tugas di dalam berkas
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Ukuran berkas dalam byte, atau -1 jika tidak diketahui
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+}
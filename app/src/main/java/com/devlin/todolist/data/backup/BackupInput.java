@@ -0,0 +1,162 @@
+package com.devlin.todolist.data.backup;
+
+import com.devlin.todolist.util.Varints;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * BackupInput membaca body cadangan dari channel ke ByteBuffer (melewati Inflater jika
+ * terkompresi) dan mendekodekannya langsung dari buffer. CRC32 dihitung atas byte yang
+ * sudah dibaca, sampai {@link #readChecksum()} dipanggil.
+ */
+final class BackupInput {
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Inflater inflater;
+    private final ByteBuffer raw;
+    // Posisi di buffer yang sudah masuk CRC
+    private int crcPosition;
+
+    BackupInput(ReadableByteChannel channel, boolean compressed) {
+        this.channel = channel;
+        buffer.limit(0);
+        if (compressed) {
+            inflater = new Inflater();
+            raw = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+        } else {
+            inflater = null;
+            raw = null;
+        }
+    }
+
+    int readByte() throws IOException {
+        ensure(1);
+        if (!buffer.hasRemaining()) {
+            throw new EOFException("Berkas cadangan terpotong");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    long readUnsigned() throws IOException {
+        ensure(Varints.MAX_BYTES);
+        try {
+            return Varints.readUnsigned(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Berkas cadangan terpotong");
+        }
+    }
+
+    long readSigned() throws IOException {
+        ensure(Varints.MAX_BYTES);
+        try {
+            return Varints.readSigned(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Berkas cadangan terpotong");
+        }
+    }
+
+    String readString() throws IOException {
+        long length = readUnsigned();
+        if (length > BackupFormat.MAX_STRING_BYTES) {
+            throw new IOException("String cadangan terlalu panjang: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Berkas cadangan terpotong");
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Baca CRC32 yang tersimpan dan bandingkan dengan CRC byte yang sudah dibaca
+     */
+    void readChecksum() throws IOException {
+        updateCrc();
+        long actual = crc.getValue();
+        ensure(4);
+        if (buffer.remaining() < 4) {
+            throw new EOFException("Berkas cadangan terpotong");
+        }
+        long expected = buffer.getInt() & 0xFFFFFFFFL;
+        if (inflater != null) {
+            inflater.end();
+        }
+        if (expected != actual) {
+            throw new IOException("Checksum cadangan tidak cocok");
+        }
+    }
+
+    private void updateCrc() {
+        crc.update(buffer.array(), crcPosition, buffer.position() - crcPosition);
+        crcPosition = buffer.position();
+    }
+
+    /**
+     * Pastikan minimal bytes byte tersedia, kecuali data sudah habis
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        updateCrc();
+        buffer.compact();
+        crcPosition = 0;
+        while (buffer.position() < bytes && fill()) {
+            // Isi sampai cukup
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Tambah byte ke buffer (mode tulis)
+     *
+     * @return false jika data sudah habis
+     */
+    private boolean fill() throws IOException {
+        if (inflater == null) {
+            return channel.read(buffer) >= 0;
+        }
+        while (true) {
+            if (inflater.finished()) {
+                return false;
+            }
+            if (inflater.needsInput()) {
+                raw.clear();
+                int read = channel.read(raw);
+                if (read < 0) {
+                    throw new EOFException("Berkas cadangan terpotong");
+                }
+                inflater.setInput(raw.array(), 0, read);
+            }
+            try {
+                int produced = inflater.inflate(buffer.array(), buffer.position(), buffer.remaining());
+                if (produced > 0) {
+                    buffer.position(buffer.position() + produced);
+                    return true;
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Data cadangan rusak", e);
+            }
+            if (inflater.needsDictionary()) {
+                throw new IOException("Data cadangan rusak");
+            }
+        }
+    }
+}
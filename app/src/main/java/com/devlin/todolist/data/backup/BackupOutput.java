@@ -0,0 +1,118 @@
+package com.devlin.todolist.data.backup;
+
+import com.devlin.todolist.util.Varints;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * BackupOutput mengodekan body cadangan langsung ke ByteBuffer lalu menulisnya ke channel
+ * per BUFFER_SIZE byte, melewati Deflater jika kompresi aktif. CRC32 dihitung per buffer
+ * penuh, bukan per byte.
+ */
+final class BackupOutput {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final Deflater deflater;
+    private final ByteBuffer compressed;
+    private long bytesWritten;
+
+    BackupOutput(WritableByteChannel channel, boolean compress) {
+        this.channel = channel;
+        if (compress) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            compressed = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+        } else {
+            deflater = null;
+            compressed = null;
+        }
+    }
+
+    void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeUnsigned(long value) throws IOException {
+        ensure(Varints.MAX_BYTES);
+        Varints.writeUnsigned(buffer, value);
+    }
+
+    void writeSigned(long value) throws IOException {
+        ensure(Varints.MAX_BYTES);
+        Varints.writeSigned(buffer, value);
+    }
+
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Tulis CRC32 body dan selesaikan kompresi. Channel tidak ditutup.
+     *
+     * @return jumlah byte body yang ditulis ke channel
+     */
+    long finish() throws IOException {
+        drain();
+        ByteBuffer trailer = ByteBuffer.allocate(4);
+        trailer.putInt((int) crc.getValue());
+        trailer.flip();
+        if (deflater == null) {
+            write(trailer);
+            return bytesWritten;
+        }
+        deflater.setInput(trailer.array(), 0, trailer.limit());
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflateOnce();
+        }
+        deflater.end();
+        return bytesWritten;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        crc.update(buffer.array(), 0, buffer.limit());
+        if (deflater == null) {
+            write(buffer);
+        } else {
+            deflater.setInput(buffer.array(), 0, buffer.limit());
+            while (!deflater.needsInput()) {
+                deflateOnce();
+            }
+        }
+        buffer.clear();
+    }
+
+    private void deflateOnce() throws IOException {
+        int length = deflater.deflate(compressed.array(), 0, compressed.capacity());
+        compressed.position(0);
+        compressed.limit(length);
+        write(compressed);
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        bytesWritten += source.remaining();
+        BackupFormat.writeFully(channel, source);
+    }
+}
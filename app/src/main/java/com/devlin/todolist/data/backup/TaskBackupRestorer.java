@@ -0,0 +1,233 @@
+package com.devlin.todolist.data.backup;
+
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.devlin.todolist.data.database.ChangeSequence;
+import com.devlin.todolist.data.database.TaskIndexes;
+import com.devlin.todolist.data.transfer.TransferProgressListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TaskBackupRestorer memuat berkas cadangan biner ke tabel tasks.
+ *
+ * Seluruh pemulihan berjalan dalam satu transaksi, jadi berkas rusak atau pembatalan tidak
+ * pernah meninggalkan data setengah terisi. Di dalam transaksi itu indeks tasks dan trigger
+ * change_seq dilepas selama pemuatan lalu dibangun ulang sekali di akhir; change_seq diisi
+ * langsung dari berkas.
+ *
+ * Cadangan penuh mengganti semua tugas. Cadangan inkremental hanya bisa dipulihkan di atas
+ * data yang nomor urutnya sama dengan nomor dasar cadangan itu (hasil pemulihan cadangan
+ * sebelumnya tanpa perubahan lain); baris di dalamnya ditimpa berdasarkan id dan tugas yang
+ * tidak ada di daftar id hidupnya dihapus.
+ *
+ * Baris yang sudah ada diperbarui dengan UPDATE, bukan INSERT OR REPLACE: penghapusan implisit
+ * REPLACE tidak menjalankan trigger tasks_fts (recursive_triggers mati), sehingga token lama
+ * akan tertinggal di indeks pencarian.
+ */
+public final class TaskBackupRestorer {
+
+    private static final String TAG = "TaskBackupRestorer";
+
+    static final int PROGRESS_INTERVAL = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO tasks "
+            + "(id, title, description, is_completed, created_at, due_date, priority, category, "
+            + "version, deleted_at, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    // Parameter sama urutannya dengan INSERT_SQL, id di posisi terakhir
+    private static final String UPDATE_SQL = "UPDATE tasks SET title = ?2, description = ?3, "
+            + "is_completed = ?4, created_at = ?5, due_date = ?6, priority = ?7, category = ?8, "
+            + "version = ?9, deleted_at = 0, change_seq = ?10 WHERE id = ?1";
+
+    private final RoomDatabase database;
+
+    public TaskBackupRestorer(@NonNull RoomDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Pulihkan cadangan dari channel. Harus dipanggil di thread penulis database, setelah
+     * penulisan lain yang tertunda dijalankan; channel tidak ditutup.
+     *
+     * @throws android.os.OperationCanceledException jika dibatalkan lewat signal (tidak ada yang berubah)
+     */
+    public BackupInfo restore(@NonNull ReadableByteChannel channel,
+                              @Nullable TransferProgressListener listener,
+                              @Nullable CancellationSignal signal) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        ByteBuffer header = ByteBuffer.allocate(BackupFormat.HEADER_SIZE);
+        BackupFormat.readFully(channel, header);
+        header.flip();
+        if (header.getInt() != BackupFormat.MAGIC) {
+            throw new IOException("Bukan berkas cadangan tugas");
+        }
+        int version = header.get() & 0xFF;
+        if (version != BackupFormat.FORMAT_VERSION) {
+            throw new IOException("Versi berkas cadangan tidak didukung: " + version);
+        }
+        int flags = header.get() & 0xFF;
+        long createdAt = header.getLong();
+        long baseSeq = header.getLong();
+        long seq = header.getLong();
+        BackupInfo.Type type = (flags & BackupFormat.FLAG_INCREMENTAL) != 0
+                ? BackupInfo.Type.INCREMENTAL : BackupInfo.Type.FULL;
+        BackupInput in = new BackupInput(channel, (flags & BackupFormat.FLAG_COMPRESSED) != 0);
+
+        long rows;
+        try {
+            rows = database.runInTransaction(() -> {
+                try {
+                    return load(in, type, baseSeq, seq, listener, signal);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Log.i(TAG, "Pemulihan " + type + ": " + rows + " tugas dalam "
+                + (SystemClock.elapsedRealtime() - start) + " ms");
+        return new BackupInfo(type, createdAt, baseSeq, seq, rows, -1);
+    }
+
+    private long load(BackupInput in, BackupInfo.Type type, long baseSeq, long seq,
+                      TransferProgressListener listener, CancellationSignal signal) throws IOException {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        if (type == BackupInfo.Type.INCREMENTAL) {
+            long current = ChangeSequence.current(db);
+            if (current != baseSeq) {
+                throw new IOException("Cadangan inkremental membutuhkan data pada nomor urut "
+                        + baseSeq + ", data saat ini pada " + current);
+            }
+        }
+
+        ChangeSequence.dropTriggers(db);
+        TaskIndexes.drop(db);
+        if (type == BackupInfo.Type.FULL) {
+            db.execSQL("DELETE FROM tasks");
+        }
+
+        // Tabel kosong setelah DELETE, jadi cadangan penuh cukup INSERT tanpa mencoba UPDATE
+        long rows = loadRows(db, in, type == BackupInfo.Type.INCREMENTAL, listener, signal);
+        long expectedRows = in.readUnsigned();
+        if (expectedRows != rows) {
+            throw new IOException("Jumlah baris cadangan tidak cocok: " + rows + " dari " + expectedRows);
+        }
+        if (type == BackupInfo.Type.INCREMENTAL) {
+            deleteMissing(db, in);
+        }
+        in.readChecksum();
+
+        TaskIndexes.create(db);
+        ChangeSequence.installTriggers(db);
+        ChangeSequence.reset(db, seq);
+        return rows;
+    }
+
+    private long loadRows(SupportSQLiteDatabase db, BackupInput in, boolean overwrite,
+                          TransferProgressListener listener, CancellationSignal signal) throws IOException {
+        List<String> categories = new ArrayList<>();
+        long rows = 0;
+        long id = 0;
+        long createdAt = 0;
+        long changeSeq = 0;
+        try (SupportSQLiteStatement insert = db.compileStatement(INSERT_SQL);
+             SupportSQLiteStatement update = overwrite ? db.compileStatement(UPDATE_SQL) : null) {
+            long idDelta;
+            while ((idDelta = in.readUnsigned()) != 0) {
+                id += idDelta;
+                int flags = in.readByte();
+                String title = in.readString();
+                String description = (flags & BackupFormat.ROW_HAS_DESCRIPTION) != 0 ? in.readString() : "";
+                long priority = in.readUnsigned();
+                createdAt += in.readSigned();
+                long dueDate = (flags & BackupFormat.ROW_HAS_DUE_DATE) != 0 ? createdAt + in.readSigned() : 0;
+                String category = null;
+                if ((flags & BackupFormat.ROW_HAS_CATEGORY) != 0) {
+                    int index = (int) in.readUnsigned();
+                    if (index == categories.size()) {
+                        categories.add(in.readString());
+                    } else if (index < 0 || index > categories.size()) {
+                        throw new IOException("Indeks kategori cadangan tidak valid: " + index);
+                    }
+                    category = categories.get(index);
+                }
+                long version = in.readUnsigned();
+                changeSeq += in.readSigned();
+
+                if (update == null || bindRow(update, id, title, description, flags, createdAt, dueDate,
+                        priority, category, version, changeSeq).executeUpdateDelete() == 0) {
+                    bindRow(insert, id, title, description, flags, createdAt, dueDate,
+                            priority, category, version, changeSeq).executeInsert();
+                }
+
+                rows++;
+                if (rows % PROGRESS_INTERVAL == 0) {
+                    if (signal != null) {
+                        signal.throwIfCanceled();
+                    }
+                    if (listener != null) {
+                        listener.onProgress(rows, -1);
+                    }
+                }
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(rows, rows);
+        }
+        return rows;
+    }
+
+    private static SupportSQLiteStatement bindRow(SupportSQLiteStatement statement, long id, String title,
+                                                  String description, int flags, long createdAt, long dueDate,
+                                                  long priority, String category, long version, long changeSeq) {
+        statement.bindLong(1, id);
+        statement.bindString(2, title);
+        statement.bindString(3, description);
+        statement.bindLong(4, (flags & BackupFormat.ROW_COMPLETED) != 0 ? 1 : 0);
+        statement.bindLong(5, createdAt);
+        statement.bindLong(6, dueDate);
+        statement.bindLong(7, priority);
+        if (category == null) {
+            statement.bindNull(8);
+        } else {
+            statement.bindString(8, category);
+        }
+        statement.bindLong(9, version);
+        statement.bindLong(10, changeSeq);
+        return statement;
+    }
+
+    /**
+     * Hapus tugas yang tidak ada di daftar id hidup cadangan inkremental (dihapus di sumbernya)
+     */
+    private static void deleteMissing(SupportSQLiteDatabase db, BackupInput in) throws IOException {
+        db.execSQL("CREATE TEMP TABLE IF NOT EXISTS restore_live_ids (id INTEGER PRIMARY KEY NOT NULL)");
+        db.execSQL("DELETE FROM restore_live_ids");
+        long count = in.readUnsigned();
+        long id = 0;
+        try (SupportSQLiteStatement insert = db.compileStatement("INSERT INTO restore_live_ids (id) VALUES (?)")) {
+            for (long i = 0; i < count; i++) {
+                id += in.readUnsigned();
+                insert.bindLong(1, id);
+                insert.executeInsert();
+            }
+        }
+        db.execSQL("DELETE FROM tasks WHERE id NOT IN (SELECT id FROM restore_live_ids)");
+        db.execSQL("DROP TABLE restore_live_ids");
+    }
+}
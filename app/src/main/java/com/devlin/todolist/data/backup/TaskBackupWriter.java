@@ -0,0 +1,230 @@
+package com.devlin.todolist.data.backup;
+
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.devlin.todolist.data.database.ChangeSequence;
+import com.devlin.todolist.data.transfer.TransferProgressListener;
+import com.devlin.todolist.util.IntArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * TaskBackupWriter menulis tugas yang belum dihapus ke berkas cadangan biner (lihat BackupFormat).
+ *
+ * Cadangan penuh berisi semua tugas; cadangan inkremental hanya tugas yang berubah sejak
+ * cadangan terakhir (change_seq), ditambah daftar id hidup. Seperti TaskExporter, baris dibaca
+ * per potongan keyset tanpa transaksi baca panjang. Perubahan yang terjadi selama penulisan
+ * mendapat change_seq di atas nomor cadangan ini, jadi pasti ikut di cadangan berikutnya.
+ */
+public final class TaskBackupWriter {
+
+    private static final String TAG = "TaskBackupWriter";
+
+    static final int CHUNK_SIZE = 1000;
+    static final int ID_CHUNK_SIZE = 10_000;
+
+    private static final String CHUNK_SQL = "SELECT id, title, description, is_completed, created_at, "
+            + "due_date, priority, category, version, change_seq FROM tasks "
+            + "WHERE deleted_at = 0 AND change_seq > ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String LIVE_IDS_SQL =
+            "SELECT id FROM tasks WHERE deleted_at = 0 AND id > ? ORDER BY id LIMIT ?";
+
+    private final RoomDatabase database;
+    private final ExecutorService writeExecutor;
+
+    public TaskBackupWriter(@NonNull RoomDatabase database, @NonNull ExecutorService writeExecutor) {
+        this.database = database;
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Tulis cadangan ke channel. Harus dipanggil di thread latar; channel tidak ditutup.
+     * Setelah channel berhasil ditutup, panggil {@link #markWritten} agar cadangan inkremental
+     * berikutnya berpijak pada cadangan ini.
+     *
+     * @param incremental true untuk hanya menulis perubahan sejak cadangan terakhir; jika belum
+     *                    pernah ada cadangan, yang ditulis tetap cadangan penuh
+     * @throws android.os.OperationCanceledException jika dibatalkan lewat signal
+     */
+    public BackupInfo write(@NonNull WritableByteChannel channel, boolean incremental, boolean compress,
+                            @Nullable TransferProgressListener listener,
+                            @Nullable CancellationSignal signal) throws IOException {
+        long start = SystemClock.elapsedRealtime();
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        long baseSeq = incremental ? ChangeSequence.lastBackup(db) : 0;
+        // Nomor dibaca sebelum baris; perubahan sesudahnya masuk cadangan berikutnya
+        long seq = ChangeSequence.current(db);
+        if (baseSeq > seq) {
+            // Penghitung lebih kecil dari cadangan terakhir (database dibuat ulang): mulai dari penuh
+            baseSeq = 0;
+        }
+        BackupInfo.Type type = baseSeq > 0 ? BackupInfo.Type.INCREMENTAL : BackupInfo.Type.FULL;
+        long createdAt = System.currentTimeMillis();
+
+        ByteBuffer header = ByteBuffer.allocate(BackupFormat.HEADER_SIZE);
+        header.putInt(BackupFormat.MAGIC);
+        header.put((byte) BackupFormat.FORMAT_VERSION);
+        header.put((byte) ((compress ? BackupFormat.FLAG_COMPRESSED : 0)
+                | (type == BackupInfo.Type.INCREMENTAL ? BackupFormat.FLAG_INCREMENTAL : 0)));
+        header.putLong(createdAt);
+        header.putLong(baseSeq);
+        header.putLong(seq);
+        header.flip();
+        BackupFormat.writeFully(channel, header);
+
+        BackupOutput out = new BackupOutput(channel, compress);
+        long total = countRows(baseSeq);
+        long rows = writeRows(out, baseSeq, total, listener, signal);
+        out.writeUnsigned(0);
+        out.writeUnsigned(rows);
+        if (type == BackupInfo.Type.INCREMENTAL) {
+            writeLiveIds(out, signal);
+        }
+        long bytes = BackupFormat.HEADER_SIZE + out.finish();
+
+        Log.i(TAG, "Cadangan " + type + ": " + rows + " tugas, " + bytes + " byte dalam "
+                + (SystemClock.elapsedRealtime() - start) + " ms");
+        return new BackupInfo(type, createdAt, baseSeq, seq, rows, bytes);
+    }
+
+    /**
+     * Catat info sebagai cadangan terakhir. Menunggu thread penulis database.
+     */
+    public void markWritten(@NonNull BackupInfo info) throws IOException {
+        Future<?> commit = writeExecutor.submit(() ->
+                ChangeSequence.setLastBackup(database.getOpenHelper().getWritableDatabase(), info.getSeq()));
+        try {
+            commit.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Gagal mencatat cadangan terakhir", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Pencatatan cadangan terputus", e);
+        }
+    }
+
+    private long writeRows(BackupOutput out, long baseSeq, long total,
+                           TransferProgressListener listener, CancellationSignal signal) throws IOException {
+        Map<String, Integer> categories = new HashMap<>();
+        long written = 0;
+        long lastId = 0;
+        long lastCreatedAt = 0;
+        long lastChangeSeq = 0;
+        while (true) {
+            if (signal != null) {
+                signal.throwIfCanceled();
+            }
+            int rowsInChunk = 0;
+            try (Cursor cursor = database.query(new SimpleSQLiteQuery(CHUNK_SQL,
+                    new Object[]{baseSeq, lastId, CHUNK_SIZE}))) {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String description = cursor.getString(2);
+                    long createdAt = cursor.getLong(4);
+                    long dueDate = cursor.getLong(5);
+                    String category = cursor.getString(7);
+                    long changeSeq = cursor.getLong(9);
+                    boolean hasDescription = description != null && !description.isEmpty();
+                    boolean hasCategory = category != null && !category.isEmpty();
+
+                    int flags = (cursor.getInt(3) != 0 ? BackupFormat.ROW_COMPLETED : 0)
+                            | (hasDescription ? BackupFormat.ROW_HAS_DESCRIPTION : 0)
+                            | (dueDate > 0 ? BackupFormat.ROW_HAS_DUE_DATE : 0)
+                            | (hasCategory ? BackupFormat.ROW_HAS_CATEGORY : 0);
+                    out.writeUnsigned(id - lastId);
+                    out.writeByte(flags);
+                    out.writeString(orEmpty(cursor.getString(1)));
+                    if (hasDescription) {
+                        out.writeString(description);
+                    }
+                    out.writeUnsigned(cursor.getInt(6));
+                    out.writeSigned(createdAt - lastCreatedAt);
+                    if (dueDate > 0) {
+                        out.writeSigned(dueDate - createdAt);
+                    }
+                    if (hasCategory) {
+                        Integer index = categories.get(category);
+                        if (index != null) {
+                            out.writeUnsigned(index);
+                        } else {
+                            // Kategori baru: indeksnya sama dengan jumlah kategori sejauh ini
+                            out.writeUnsigned(categories.size());
+                            out.writeString(category);
+                            categories.put(category, categories.size());
+                        }
+                    }
+                    out.writeUnsigned(cursor.getInt(8));
+                    out.writeSigned(changeSeq - lastChangeSeq);
+
+                    lastId = id;
+                    lastCreatedAt = createdAt;
+                    lastChangeSeq = changeSeq;
+                    rowsInChunk++;
+                }
+            }
+            written += rowsInChunk;
+            if (listener != null) {
+                listener.onProgress(written, total);
+            }
+            if (rowsInChunk < CHUNK_SIZE) {
+                return written;
+            }
+        }
+    }
+
+    private void writeLiveIds(BackupOutput out, CancellationSignal signal) throws IOException {
+        // Jumlah ditulis di depan, jadi id dikumpulkan dulu (4 byte per tugas)
+        IntArrayList ids = new IntArrayList();
+        int lastId = 0;
+        while (true) {
+            if (signal != null) {
+                signal.throwIfCanceled();
+            }
+            int idsInChunk = 0;
+            try (Cursor cursor = database.query(new SimpleSQLiteQuery(LIVE_IDS_SQL,
+                    new Object[]{lastId, ID_CHUNK_SIZE}))) {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getInt(0);
+                    ids.add(lastId);
+                    idsInChunk++;
+                }
+            }
+            if (idsInChunk < ID_CHUNK_SIZE) {
+                break;
+            }
+        }
+        out.writeUnsigned(ids.size());
+        int previous = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            out.writeUnsigned(ids.get(i) - previous);
+            previous = ids.get(i);
+        }
+    }
+
+    private long countRows(long baseSeq) {
+        try (Cursor cursor = database.query(new SimpleSQLiteQuery(
+                "SELECT COUNT(*) FROM tasks WHERE deleted_at = 0 AND change_seq > ?", new Object[]{baseSeq}))) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
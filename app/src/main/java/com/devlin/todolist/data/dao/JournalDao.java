@@ -0,0 +1,36 @@
+package com.devlin.todolist.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.devlin.todolist.data.entity.JournalEntryEntity;
+
+/**
+ * JournalDao menyimpan langkah undo lama yang tidak lagi muat di memori.
+ * Hanya dipakai oleh OperationJournal di thread penulis.
+ */
+@Dao
+public interface JournalDao {
+
+    @Insert
+    long insert(JournalEntryEntity entry);
+
+    /**
+     * Langkah terbaru yang tersimpan di disk
+     */
+    @Query("SELECT * FROM journal ORDER BY id DESC LIMIT 1")
+    JournalEntryEntity getNewest();
+
+    @Query("DELETE FROM journal WHERE id = :id")
+    void deleteById(long id);
+
+    /**
+     * Buang langkah tertua agar jurnal tidak tumbuh tanpa batas
+     */
+    @Query("DELETE FROM journal WHERE id IN (SELECT id FROM journal ORDER BY id ASC LIMIT :count)")
+    void deleteOldest(int count);
+
+    @Query("DELETE FROM journal")
+    void deleteAll();
+}
@@ -1,15 +1,20 @@
 package com.devlin.todolist.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
-import androidx.room.Delete;
 import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
-import androidx.room.Update;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskStats;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,110 +25,289 @@ import java.util.List;
 public interface TaskDao {
 
     /**
-     * Ambil semua tugas diurutkan berdasarkan prioritas (tertinggi dulu), lalu tanggal
+     * Batas jumlah id per statement. SQLite lama membatasi 999 variabel per query,
+     * jadi operasi massal dipecah per potongan dan dijalankan dalam satu transaksi.
      */
-    @Query("SELECT * FROM tasks ORDER BY priority DESC, created_at DESC")
-    LiveData<List<TaskEntity>> getAllTasks();
+    int MAX_IDS_PER_STATEMENT = 900;
 
     /**
-     * Ambil tugas aktif (belum selesai) saja
+     * Kolom untuk proyeksi daftar (TaskListItem). Deskripsi dipotong di SQLite sehingga
+     * teks panjang tidak pernah disalin ke CursorWindow saat menggulir.
      */
-    @Query("SELECT * FROM tasks WHERE is_completed = 0 ORDER BY priority DESC, created_at DESC")
-    LiveData<List<TaskEntity>> getActiveTasks();
+    String LIST_COLUMNS = "tasks.id, tasks.title, substr(tasks.description, 1, 200) AS description, "
+            + "tasks.is_completed, tasks.created_at, tasks.due_date, tasks.priority, tasks.category, tasks.version";
 
     /**
-     * Ambil tugas yang sudah selesai saja
+     * Kondisi baris yang belum dihapus. Tugas yang dihapus hanya diberi tanda deleted_at
+     * (tombstone) dan dibuang permanen belakangan oleh TombstonePurger; semua query baca
+     * wajib menyertakan kondisi ini. Setiap indeks tasks diawali deleted_at agar kondisi
+     * ini tidak menambah biaya.
      */
-    @Query("SELECT * FROM tasks WHERE is_completed = 1 ORDER BY created_at DESC")
-    LiveData<List<TaskEntity>> getCompletedTasks();
+    String NOT_DELETED = "deleted_at = 0";
 
     /**
-     * Cari tugas berdasarkan judul atau deskripsi
+     * Nomor urut perubahan berikutnya dari penghitung ChangeSequence. Setiap statement yang
+     * menulis baris tasks mengisi change_seq dengan ekspresi ini, sehingga trigger penghitung
+     * tidak perlu menulis ulang baris (dan indeks FTS-nya) untuk kedua kalinya.
      */
-    @Query("SELECT * FROM tasks WHERE title LIKE '%' || :query || '%' OR description LIKE '%' || :query || '%' ORDER BY priority DESC, created_at DESC")
-    LiveData<List<TaskEntity>> searchTasks(String query);
+    String NEXT_CHANGE_SEQ = "((SELECT value FROM change_sequence WHERE id = 1) + 1)";
 
     /**
-     * Ambil tugas berdasarkan kategori
+     * Kolom agregat statistik aktif, selesai, dan terlambat (parameter :currentTime)
      */
-    @Query("SELECT * FROM tasks WHERE category = :category ORDER BY priority DESC, created_at DESC")
-    LiveData<List<TaskEntity>> getTasksByCategory(String category);
+    String STATS_COLUMNS = "COUNT(CASE WHEN is_completed = 0 THEN 1 END) AS active_count, "
+            + "COUNT(CASE WHEN is_completed = 1 THEN 1 END) AS completed_count, "
+            + "COUNT(CASE WHEN is_completed = 0 AND due_date > 0 AND due_date < :currentTime THEN 1 END) AS overdue_count";
 
     /**
-     * Ambil semua kategori unik
+     * Daftar tugas berhalaman untuk kombinasi filter/pencarian apa pun.
+     * SQL dibangun oleh TaskRepository dari TaskQuery dengan kolom LIST_COLUMNS.
      */
-    @Query("SELECT DISTINCT category FROM tasks WHERE category IS NOT NULL AND category != '' ORDER BY category")
-    LiveData<List<String>> getAllCategories();
+    @RawQuery(observedEntities = TaskEntity.class)
+    PagingSource<Integer, TaskListItem> getTasksPaged(SupportSQLiteQuery query);
 
     /**
-     * Ambil satu tugas berdasarkan ID
+     * Daftar tugas sekali baca (sinkron) dari SQL yang sama, misalnya untuk snapshot daftar
      */
-    @Query("SELECT * FROM tasks WHERE id = :taskId")
-    LiveData<TaskEntity> getTaskById(int taskId);
+    @RawQuery
+    List<TaskListItem> getTaskListSync(SupportSQLiteQuery query);
+
+    /**
+     * Ambil semua kategori unik
+     */
+    @Query("SELECT DISTINCT category FROM tasks WHERE deleted_at = 0 AND category IS NOT NULL AND category != '' ORDER BY category")
+    LiveData<List<String>> getAllCategories();
 
     /**
      * Ambil satu tugas berdasarkan ID (sinkron untuk operasi edit)
      */
-    @Query("SELECT * FROM tasks WHERE id = :taskId")
+    @Query("SELECT * FROM tasks WHERE id = :taskId AND deleted_at = 0")
     TaskEntity getTaskByIdSync(int taskId);
 
     /**
-     * Sisipkan tugas baru
+     * Ambil beberapa tugas lengkap berdasarkan ID (sinkron, maksimal MAX_IDS_PER_STATEMENT id)
+     */
+    @Query("SELECT * FROM tasks WHERE id IN (:taskIds) AND deleted_at = 0")
+    List<TaskEntity> getTasksByIdsSync(int[] taskIds);
+
+    /**
+     * Dari id yang diberikan, ambil yang belum dihapus (sinkron, maksimal MAX_IDS_PER_STATEMENT id)
+     */
+    @Query("SELECT id FROM tasks WHERE id IN (:taskIds) AND deleted_at = 0")
+    List<Integer> getLiveIdsSync(int[] taskIds);
+
+    /**
+     * Id semua tugas yang belum dihapus (sinkron, untuk jurnal undo sebelum hapus semua)
+     */
+    @Query("SELECT id FROM tasks WHERE deleted_at = 0")
+    List<Integer> getAllLiveIdsSync();
+
+    /**
+     * Dari id yang diberikan, ambil yang status selesainya berbeda dari nilai tertentu
+     * (sinkron, maksimal MAX_IDS_PER_STATEMENT id)
+     */
+    @Query("SELECT id FROM tasks WHERE id IN (:taskIds) AND deleted_at = 0 AND is_completed != :completed")
+    List<Integer> getIdsNotInCompletedStateSync(int[] taskIds, boolean completed);
+
+    /**
+     * Sisipkan tugas baru. change_seq objek diisi nomor urut berikutnya.
+     */
+    @Transaction
+    default long insert(TaskEntity task) {
+        task.setChangeSeq(getNextChangeSeq());
+        return insertEntity(task);
+    }
+
+    /**
+     * Sisipkan beberapa tugas. Setiap baris mendapat nomor urut sendiri yang naik, sama
+     * seperti penghitung yang dinaikkan trigger per baris.
+     */
+    @Transaction
+    default void insertAll(List<TaskEntity> tasks) {
+        long changeSeq = getNextChangeSeq();
+        for (TaskEntity task : tasks) {
+            task.setChangeSeq(changeSeq++);
+        }
+        insertEntities(tasks);
+    }
+
+    @Query("SELECT " + NEXT_CHANGE_SEQ)
+    long getNextChangeSeq();
+
+    /**
+     * Tulis baris lengkap yang id-nya sudah ada (undo/redo, insert dengan id). Baris yang ada
+     * ditimpa dengan UPDATE, bukan INSERT OR REPLACE: penghapusan implisit REPLACE tidak
+     * menjalankan trigger tasks_fts (recursive_triggers mati), sehingga token lama tertinggal
+     * di indeks pencarian. Id yang belum ada disisipkan.
      */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    long insert(TaskEntity task);
+    @Transaction
+    default void overwriteAll(List<TaskEntity> tasks) {
+        List<TaskEntity> missing = new ArrayList<>();
+        for (TaskEntity task : tasks) {
+            if (!overwrite(task)) {
+                missing.add(task);
+            }
+        }
+        if (!missing.isEmpty()) {
+            insertAll(missing);
+        }
+    }
 
     /**
-     * Sisipkan beberapa tugas (untuk data contoh)
+     * Timpa semua kolom data baris dengan id yang sama, termasuk tanda hapusnya
+     *
+     * @return false jika id belum ada
      */
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insertAll(List<TaskEntity> tasks);
+    default boolean overwrite(TaskEntity task) {
+        return overwriteFields(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                task.getCreatedAt(), task.getDueDate(), task.getPriority(), task.getCategory(),
+                task.getDeletedAt()) > 0;
+    }
+
+    @Query("UPDATE tasks SET title = :title, description = :description, is_completed = :completed, "
+            + "created_at = :createdAt, due_date = :dueDate, priority = :priority, category = :category, "
+            + "deleted_at = :deletedAt, version = version + 1, change_seq = " + NEXT_CHANGE_SEQ
+            + " WHERE id = :taskId")
+    int overwriteFields(int taskId, String title, String description, boolean completed,
+                        long createdAt, long dueDate, int priority, String category, long deletedAt);
+
+    @Insert
+    long insertEntity(TaskEntity task);
+
+    @Insert
+    void insertEntities(List<TaskEntity> tasks);
+
+    /**
+     * Perbarui tugas yang ada. Versi baris dinaikkan di SQL, bukan diambil dari objek,
+     * sehingga salinan lama di UI tidak bisa menurunkan versi.
+     */
+    default void update(TaskEntity task) {
+        updateFields(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(),
+                task.getCreatedAt(), task.getDueDate(), task.getPriority(), task.getCategory());
+    }
+
+    @Query("UPDATE tasks SET title = :title, description = :description, is_completed = :completed, "
+            + "created_at = :createdAt, due_date = :dueDate, priority = :priority, category = :category, "
+            + "version = version + 1, change_seq = " + NEXT_CHANGE_SEQ + " WHERE id = :taskId")
+    void updateFields(int taskId, String title, String description, boolean completed,
+                      long createdAt, long dueDate, int priority, String category);
+
+    /**
+     * Set status selesai satu tugas tanpa menulis ulang kolom lainnya
+     */
+    @Query("UPDATE tasks SET is_completed = :completed, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id = :taskId")
+    void setCompleted(int taskId, boolean completed);
+
+    /**
+     * Hapus tugas berdasarkan ID (tombstone: hanya mengisi deleted_at)
+     */
+    @Query("UPDATE tasks SET deleted_at = :deletedAt, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id = :taskId AND deleted_at = 0")
+    void deleteById(int taskId, long deletedAt);
 
     /**
-     * Perbarui tugas yang ada
+     * Set status selesai banyak tugas sekaligus
      */
-    @Update
-    void update(TaskEntity task);
+    @Transaction
+    default void setCompletedByIds(int[] taskIds, boolean completed) {
+        for (int start = 0; start < taskIds.length; start += MAX_IDS_PER_STATEMENT) {
+            setCompletedByIdsChunk(chunk(taskIds, start), completed);
+        }
+    }
+
+    @Query("UPDATE tasks SET is_completed = :completed, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id IN (:taskIds)")
+    void setCompletedByIdsChunk(int[] taskIds, boolean completed);
+
+    /**
+     * Hapus banyak tugas sekaligus berdasarkan ID (tombstone)
+     */
+    @Transaction
+    default void deleteByIds(int[] taskIds, long deletedAt) {
+        for (int start = 0; start < taskIds.length; start += MAX_IDS_PER_STATEMENT) {
+            deleteByIdsChunk(chunk(taskIds, start), deletedAt);
+        }
+    }
+
+    @Query("UPDATE tasks SET deleted_at = :deletedAt, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id IN (:taskIds) AND deleted_at = 0")
+    void deleteByIdsChunk(int[] taskIds, long deletedAt);
+
+    /**
+     * Kembalikan tugas yang dihapus (undo): cukup mengosongkan deleted_at
+     */
+    @Transaction
+    default void restoreByIds(int[] taskIds) {
+        for (int start = 0; start < taskIds.length; start += MAX_IDS_PER_STATEMENT) {
+            restoreByIdsChunk(chunk(taskIds, start));
+        }
+    }
+
+    @Query("UPDATE tasks SET deleted_at = 0, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id IN (:taskIds) AND deleted_at != 0")
+    void restoreByIdsChunk(int[] taskIds);
+
+    /**
+     * Pindahkan banyak tugas ke kategori lain sekaligus
+     */
+    @Transaction
+    default void moveToCategory(int[] taskIds, String category) {
+        for (int start = 0; start < taskIds.length; start += MAX_IDS_PER_STATEMENT) {
+            moveToCategoryChunk(chunk(taskIds, start), category);
+        }
+    }
+
+    @Query("UPDATE tasks SET category = :category, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE id IN (:taskIds)")
+    void moveToCategoryChunk(int[] taskIds, String category);
 
     /**
-     * Hapus tugas
+     * Potongan id mulai dari start, paling banyak MAX_IDS_PER_STATEMENT
      */
-    @Delete
-    void delete(TaskEntity task);
+    private static int[] chunk(int[] taskIds, int start) {
+        int end = Math.min(start + MAX_IDS_PER_STATEMENT, taskIds.length);
+        return start == 0 && end == taskIds.length ? taskIds : Arrays.copyOfRange(taskIds, start, end);
+    }
 
     /**
-     * Hapus tugas berdasarkan ID
+     * Hapus semua tugas (tombstone)
      */
-    @Query("DELETE FROM tasks WHERE id = :taskId")
-    void deleteById(int taskId);
+    @Query("UPDATE tasks SET deleted_at = :deletedAt, version = version + 1, "
+            + "change_seq = " + NEXT_CHANGE_SEQ + " WHERE deleted_at = 0")
+    void deleteAll(long deletedAt);
 
     /**
-     * Hapus semua tugas
+     * Buang permanen paling banyak limit tombstone yang dihapus sebelum cutoff
+     *
+     * @return jumlah baris yang dibuang
      */
-    @Query("DELETE FROM tasks")
-    void deleteAll();
+    @Query("DELETE FROM tasks WHERE id IN "
+            + "(SELECT id FROM tasks WHERE deleted_at > 0 AND deleted_at < :cutoff LIMIT :limit)")
+    int purgeDeleted(long cutoff, int limit);
 
     /**
-     * Hitung jumlah semua tugas
+     * Hitung jumlah semua tugas yang belum dihapus
      */
-    @Query("SELECT COUNT(*) FROM tasks")
+    @Query("SELECT COUNT(*) FROM tasks WHERE deleted_at = 0")
     int getTaskCount();
 
     /**
-     * Hitung tugas aktif
+     * Hitung statistik aktif, selesai, dan terlambat dalam satu kali baca tabel
      */
-    @Query("SELECT COUNT(*) FROM tasks WHERE is_completed = 0")
-    LiveData<Integer> getActiveTaskCount();
+    @Query("SELECT " + STATS_COLUMNS + " FROM tasks WHERE deleted_at = 0")
+    LiveData<TaskStats> getTaskStats(long currentTime);
 
     /**
-     * Hitung tugas selesai
+     * Statistik yang sama, sinkron
      */
-    @Query("SELECT COUNT(*) FROM tasks WHERE is_completed = 1")
-    LiveData<Integer> getCompletedTaskCount();
+    @Query("SELECT " + STATS_COLUMNS + " FROM tasks WHERE deleted_at = 0")
+    TaskStats getTaskStatsSync(long currentTime);
 
     /**
-     * Hitung tugas terlambat (overdue)
+     * Tenggat terdekat setelah waktu tertentu dari tugas yang belum selesai.
+     * Memakai indeks (deleted_at, is_completed, due_date) sehingga tidak perlu membaca seluruh tabel.
      */
-    @Query("SELECT COUNT(*) FROM tasks WHERE is_completed = 0 AND due_date > 0 AND due_date < :currentTime")
-    LiveData<Integer> getOverdueTaskCount(long currentTime);
+    @Query("SELECT MIN(due_date) FROM tasks WHERE deleted_at = 0 AND is_completed = 0 AND due_date > :currentTime")
+    Long getNextDueDate(long currentTime);
 }
@@ -1,6 +1,9 @@
 package com.devlin.todolist.data.database;
 
 import android.content.Context;
+import android.content.res.AssetManager;
+import android.os.SystemClock;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.room.Database;
@@ -8,135 +11,196 @@ import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
+import com.devlin.todolist.data.dao.JournalDao;
 import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.ChangeSequenceEntity;
+import com.devlin.todolist.data.entity.JournalEntryEntity;
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.entity.TaskFtsEntity;
+import com.devlin.todolist.util.StartupTracer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AppDatabase adalah kelas utama Room database.
  * Menggunakan pola singleton untuk memastikan hanya ada satu instance.
  */
-@Database(entities = {TaskEntity.class}, version = 3, exportSchema = false)
+@Database(
+        entities = {TaskEntity.class, TaskFtsEntity.class, JournalEntryEntity.class, ChangeSequenceEntity.class},
+        version = AppDatabase.VERSION,
+        exportSchema = true
+)
 public abstract class AppDatabase extends RoomDatabase {
 
+    // Versi skema; naikkan bersama migrasi baru di Migrations
+    public static final int VERSION = 10;
+
     public abstract TaskDao taskDao();
 
+    public abstract JournalDao journalDao();
+
+    private static final String TAG = "AppDatabase";
+
     private static volatile AppDatabase INSTANCE;
-    private static final int NUMBER_OF_THREADS = 4;
+    private static volatile SeedProvider seedProvider;
+    private static final int NUMBER_OF_READ_THREADS = 4;
+
+    // Checkpoint WAL otomatis setiap ~1000 halaman (sekitar 4 MB dengan halaman 4 KB)
+    private static final int WAL_AUTOCHECKPOINT_PAGES = 1000;
+
+    // SQLite hanya mengizinkan satu penulis. Satu thread penulis menghindari perebutan lock
+    // dan menjamin operasi pada tugas yang sama dijalankan sesuai urutan pemanggilan.
     public static final ExecutorService databaseWriteExecutor =
-            Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+            Executors.newSingleThreadExecutor(namedThreadFactory("db-write"));
+
+    // Pool pembaca terbatas untuk query Room (LiveData, paging, invalidation tracker).
+    // Dengan WAL, pembaca tidak terblokir oleh penulis.
+    public static final ExecutorService databaseReadExecutor =
+            Executors.newFixedThreadPool(NUMBER_OF_READ_THREADS, namedThreadFactory("db-read"));
 
     public static AppDatabase getDatabase(final Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
-                            context.getApplicationContext(),
-                            AppDatabase.class,
-                            "todo_database"
-                    )
-                    .fallbackToDestructiveMigration()
-                    .addCallback(sRoomDatabaseCallback)
-                    .build();
+                    INSTANCE = builder(context, "todo_database").build();
+                    TombstonePurger.schedule(context.getApplicationContext(), INSTANCE);
                 }
             }
         }
         return INSTANCE;
     }
 
+    /**
+     * Builder dengan konfigurasi lengkap (executor, WAL, migrasi, callback). Dipakai juga oleh
+     * test instrumentasi untuk membuka file database terpisah dengan konfigurasi yang sama.
+     */
+    static RoomDatabase.Builder<AppDatabase> builder(Context context, String name) {
+        return Room.databaseBuilder(context.getApplicationContext(), AppDatabase.class, name)
+                .setQueryExecutor(databaseReadExecutor)
+                // Tanpa ini Room juga memakai pool baca untuk transaksinya (misalnya muatan
+                // awal paging). Transaksi selalu memakai satu-satunya koneksi tulis, jadi
+                // lebih baik antre di thread penulis daripada menahan thread baca.
+                .setTransactionExecutor(databaseWriteExecutor)
+                .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                .addMigrations(Migrations.ALL)
+                // Versi 1 dan 2 tidak memiliki skema terekspor, jadi hanya dari versi itu
+                // database boleh dibuat ulang; upgrade dari versi 3 ke atas selalu lewat migrasi
+                .fallbackToDestructiveMigrationFrom(1, 2)
+                .addCallback(new DatabaseCallback(context.getApplicationContext()));
+    }
+
+    /**
+     * Buka database di thread penulis tanpa menunggu query pertama. Migrasi dan pengisian
+     * data contoh ikut berjalan di sini, jadi saat daftar pertama di-query file sudah terbuka.
+     */
+    public static void warmUp(final Context context) {
+        Context appContext = context.getApplicationContext();
+        databaseWriteExecutor.execute(() -> getDatabase(appContext).getOpenHelper().getWritableDatabase());
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * Callback database untuk mengisi data contoh saat pertama kali dibuat
+     * dan mengatur parameter WAL setiap kali database dibuka
      */
-    private static final RoomDatabase.Callback sRoomDatabaseCallback = new RoomDatabase.Callback() {
+    private static final class DatabaseCallback extends RoomDatabase.Callback {
+
+        private final Context context;
+        // True jika database baru saja dibuat pada pembukaan ini
+        private boolean created;
+
+        DatabaseCallback(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public void onOpen(@NonNull SupportSQLiteDatabase db) {
+            super.onOpen(db);
+
+            // Dalam mode WAL, synchronous=NORMAL tetap aman dari korupsi dan menghindari
+            // fsync di setiap commit; checkpoint dijalankan otomatis sesuai batas halaman
+            db.execSQL("PRAGMA synchronous = NORMAL");
+            db.query("PRAGMA wal_autocheckpoint = " + WAL_AUTOCHECKPOINT_PAGES).close();
+
+            // Riwayat undo hanya berlaku per sesi; sisa langkah dari proses sebelumnya dibuang
+            db.execSQL("DELETE FROM journal");
+
+            // Idempoten; memasang penghitung perubahan pada database hasil migrasi
+            ChangeSequence.install(db);
+
+            if (created) {
+                // Mode WAL sudah menulis header sebelum onCreate, jadi auto_vacuum dari onCreate
+                // baru tersimpan lewat VACUUM. Database baru hanya berisi data awal: beberapa ms.
+                created = false;
+                db.execSQL("VACUUM");
+            }
+            StartupTracer.getInstance().mark(StartupTracer.Phase.DATABASE_OPEN);
+        }
+
         @Override
         public void onCreate(@NonNull SupportSQLiteDatabase db) {
             super.onCreate(db);
 
-            // Isi database dengan data contoh saat pertama kali dibuat
-            databaseWriteExecutor.execute(() -> {
-                TaskDao dao = INSTANCE.taskDao();
-                
-                // Cek apakah database kosong
-                if (dao.getTaskCount() == 0) {
-                    List<TaskEntity> dummyTasks = createDummyTasks();
-                    dao.insertAll(dummyTasks);
+            // Halaman kosong dikembalikan bertahap oleh TombstonePurger (incremental_vacuum)
+            db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            created = true;
+
+            // Isi data contoh di transaksi pembuatan skema: tabel pasti kosong, jadi tidak
+            // perlu COUNT, dan daftar pertama tidak pernah melihat database setengah terisi.
+            // Trigger FTS sudah dibuat Room sebelum callback ini sehingga indeks ikut terisi.
+            long start = SystemClock.elapsedRealtime();
+            long now = System.currentTimeMillis();
+            ChangeSequence.install(db);
+            SeedProvider provider = resolveSeedProvider(context);
+            int count;
+            try {
+                count = provider.seed(db, now);
+            } catch (IOException e) {
+                // Seed rusak tidak boleh menggagalkan pembuatan database; pakai contoh bawaan
+                Log.e(TAG, "Gagal mengisi data awal, memakai data contoh bawaan", e);
+                db.execSQL("DELETE FROM tasks");
+                try {
+                    count = new SampleSeedProvider().seed(db, now);
+                } catch (IOException fallbackError) {
+                    Log.e(TAG, "Gagal mengisi data contoh bawaan", fallbackError);
+                    db.execSQL("DELETE FROM tasks");
+                    count = 0;
                 }
-            });
+            }
+            StartupTracer.getInstance().mark(StartupTracer.Phase.DATABASE_SEED);
+            Log.i(TAG, count + " tugas awal diisi dalam " + (SystemClock.elapsedRealtime() - start) + " ms");
         }
-    };
+    }
 
     /**
-     * Membuat tugas contoh untuk mengisi database awal
+     * Pasang sumber data awal lain (misalnya template dari file seed sendiri).
+     * Harus dipanggil sebelum database pertama kali dibuat agar berpengaruh.
      */
-    private static List<TaskEntity> createDummyTasks() {
-        List<TaskEntity> tasks = new ArrayList<>();
-        long currentTime = System.currentTimeMillis();
-        long oneDay = 86400000L; // 24 jam dalam milidetik
-
-        tasks.add(new TaskEntity(
-            "Belajar Android MVVM",
-            "Pelajari pola arsitektur ViewModel dan LiveData untuk membangun aplikasi Android yang handal",
-            false,
-            currentTime,
-            currentTime + (oneDay * 3), // Tenggat 3 hari lagi
-            TaskEntity.PRIORITY_HIGH,
-            "Belajar"
-        ));
-
-        tasks.add(new TaskEntity(
-            "Setup Database Room",
-            "Konfigurasi entity, DAO, dan kelas database untuk penyimpanan data lokal",
-            true,
-            currentTime - 3600000, // 1 jam lalu
-            currentTime - oneDay, // Tenggat kemarin (sudah selesai)
-            TaskEntity.PRIORITY_HIGH,
-            "Belajar"
-        ));
-
-        tasks.add(new TaskEntity(
-            "Desain Layout UI",
-            "Buat layout Material Design menggunakan ConstraintLayout dan CardView",
-            false,
-            currentTime - 7200000, // 2 jam lalu
-            currentTime + oneDay, // Tenggat besok
-            TaskEntity.PRIORITY_MEDIUM,
-            "Desain"
-        ));
-
-        tasks.add(new TaskEntity(
-            "Tulis Unit Test",
-            "Test repository dan ViewModel dengan JUnit dan Espresso",
-            false,
-            currentTime - 10800000, // 3 jam lalu
-            currentTime + (oneDay * 7), // Tenggat 1 minggu lagi
-            TaskEntity.PRIORITY_LOW,
-            "Testing"
-        ));
-
-        tasks.add(new TaskEntity(
-            "Publikasi ke Play Store",
-            "Siapkan build release, buat signing key, dan upload ke Google Play Console",
-            false,
-            currentTime - 14400000, // 4 jam lalu
-            0, // Tanpa tenggat
-            TaskEntity.PRIORITY_MEDIUM,
-            "Deploy"
-        ));
-
-        tasks.add(new TaskEntity(
-            "Belanja Bulanan",
-            "Beli kebutuhan dapur: beras, minyak, gula, dan bumbu-bumbu",
-            false,
-            currentTime - 1800000, // 30 menit lalu
-            currentTime + (oneDay * 2), // Tenggat 2 hari lagi
-            TaskEntity.PRIORITY_LOW,
-            "Pribadi"
-        ));
-
-        return tasks;
+    public static void setSeedProvider(SeedProvider provider) {
+        seedProvider = provider;
+    }
+
+    private static SeedProvider resolveSeedProvider(Context context) {
+        SeedProvider provider = seedProvider;
+        if (provider != null) {
+            return provider;
+        }
+        AssetManager assets = context.getAssets();
+        if (AssetSeedProvider.isAvailable(assets, AssetSeedProvider.DEFAULT_ASSET_PATH)) {
+            return new AssetSeedProvider(assets, AssetSeedProvider.DEFAULT_ASSET_PATH);
+        }
+        return new SampleSeedProvider();
     }
 }
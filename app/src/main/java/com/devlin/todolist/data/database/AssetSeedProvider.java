@@ -0,0 +1,125 @@
+package com.devlin.todolist.data.database;
+
+import android.content.res.AssetManager;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.devlin.todolist.util.Varints;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * AssetSeedProvider mengisi data awal dari file seed biner di assets. File ini dibuat
+ * saat build oleh task Gradle generateTaskSeed dari template app/src/main/seed/tasks.json.
+ *
+ * Format (versi 1):
+ * <pre>
+ * magic "TSED" (4 byte), versi (1 byte)
+ * varint jumlah kategori, lalu setiap kategori sebagai string
+ * varint jumlah tugas, lalu setiap tugas:
+ *   flags (1 byte: selesai, punya tenggat, punya kategori)
+ *   judul, deskripsi (string)
+ *   varint prioritas
+ *   zigzag varint created_at relatif terhadap waktu pemasangan (ms)
+ *   [zigzag varint due_date relatif terhadap waktu pemasangan (ms)]
+ *   [varint indeks kategori]
+ * string = varint panjang + byte UTF-8
+ * </pre>
+ */
+public final class AssetSeedProvider implements SeedProvider {
+
+    public static final String DEFAULT_ASSET_PATH = "seed/tasks.seed";
+
+    static final int MAGIC = 0x54534544; // "TSED"
+    static final int FORMAT_VERSION = 1;
+
+    static final int FLAG_COMPLETED = 1;
+    static final int FLAG_HAS_DUE_DATE = 1 << 1;
+    static final int FLAG_HAS_CATEGORY = 1 << 2;
+
+    private final AssetManager assets;
+    private final String assetPath;
+
+    public AssetSeedProvider(@NonNull AssetManager assets, @NonNull String assetPath) {
+        this.assets = assets;
+        this.assetPath = assetPath;
+    }
+
+    /**
+     * True jika file seed ada di assets
+     */
+    public static boolean isAvailable(@NonNull AssetManager assets, @NonNull String assetPath) {
+        try (InputStream ignored = assets.open(assetPath)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public int seed(@NonNull SupportSQLiteDatabase db, long now) throws IOException {
+        return seed(assets.open(assetPath), assetPath, db, now);
+    }
+
+    /**
+     * Membaca seed dari stream mana pun (stream ditutup setelahnya); source hanya untuk pesan error
+     */
+    static int seed(@NonNull InputStream stream, @NonNull String source,
+                    @NonNull SupportSQLiteDatabase db, long now) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+             TaskInserter inserter = new TaskInserter(db)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Bukan file seed tugas: " + source);
+            }
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versi file seed tidak didukung: " + version);
+            }
+
+            String[] categories = new String[readCount(in)];
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] = readString(in);
+            }
+
+            int count = readCount(in);
+            for (int i = 0; i < count; i++) {
+                int flags = in.readUnsignedByte();
+                String title = readString(in);
+                String description = readString(in);
+                int priority = (int) Varints.readUnsigned(in);
+                long createdAt = now + Varints.readSigned(in);
+                long dueDate = (flags & FLAG_HAS_DUE_DATE) != 0 ? now + Varints.readSigned(in) : 0;
+                String category = null;
+                if ((flags & FLAG_HAS_CATEGORY) != 0) {
+                    int index = readCount(in);
+                    if (index >= categories.length) {
+                        throw new IOException("Indeks kategori di luar batas: " + index);
+                    }
+                    category = categories[index];
+                }
+                inserter.insert(title, description, (flags & FLAG_COMPLETED) != 0,
+                        createdAt, dueDate, priority, category);
+            }
+            return count;
+        }
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        long value = Varints.readUnsigned(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Jumlah tidak valid: " + value);
+        }
+        return (int) value;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readCount(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package com.devlin.todolist.data.database;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.devlin.todolist.data.dao.TaskDao;
+
+/**
+ * ChangeSequence memberi setiap perubahan baris tasks nomor urut yang selalu naik.
+ *
+ * Penghitungnya satu baris di tabel change_sequence (ChangeSequenceEntity). Statement tulis
+ * di TaskDao dan TaskInserter mengisi change_seq sendiri dengan TaskDao.NEXT_CHANGE_SEQ,
+ * dan trigger setelah INSERT maupun UPDATE kolom data hanya menaikkan penghitung, jadi
+ * baris tasks tidak ditulis (dan diindeks FTS) dua kali. Jalur tulis yang lupa mengisi
+ * change_seq tetap tertangkap: trigger mengisinya dengan UPDATE kedua, hanya untuk baris itu.
+ * Penghitung tidak pernah turun meskipun baris dihapus permanen, sehingga "berubah sejak
+ * cadangan terakhir" cukup berupa change_seq > nomor cadangan itu.
+ */
+public final class ChangeSequence {
+
+    private static final String TRIGGER_INSERT = "tasks_change_seq_after_insert";
+    private static final String TRIGGER_UPDATE = "tasks_change_seq_after_update";
+
+    private static final String CURRENT = "(SELECT value FROM change_sequence WHERE id = 1)";
+
+    // Nilai yang diisi statement sendiri selalu di atas penghitung; selain itu isi di sini
+    private static final String ON_INSERT = " BEGIN "
+            + "UPDATE tasks SET change_seq = " + TaskDao.NEXT_CHANGE_SEQ
+            + " WHERE id = NEW.id AND NEW.change_seq <= " + CURRENT + "; "
+            + "UPDATE change_sequence SET value = value + 1 WHERE id = 1; "
+            + "END";
+
+    // Statement yang tidak mengubah change_seq tidak mengisinya
+    private static final String ON_UPDATE = " BEGIN "
+            + "UPDATE tasks SET change_seq = " + TaskDao.NEXT_CHANGE_SEQ
+            + " WHERE id = NEW.id AND NEW.change_seq = OLD.change_seq; "
+            + "UPDATE change_sequence SET value = value + 1 WHERE id = 1; "
+            + "END";
+
+    // change_seq sendiri tidak ada di daftar kolom, jadi trigger tidak memicu dirinya lagi
+    private static final String DATA_COLUMNS =
+            "title, description, is_completed, created_at, due_date, priority, category, deleted_at";
+
+    private ChangeSequence() {
+    }
+
+    /**
+     * Isi baris penghitung dan pasang trigger jika belum ada (tabelnya dibuat Room)
+     */
+    public static void install(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("INSERT OR IGNORE INTO change_sequence (id, value, last_backup) VALUES (1, 0, 0)");
+        installTriggers(db);
+    }
+
+    /**
+     * Pasang kembali trigger setelah {@link #dropTriggers}
+     */
+    public static void installTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_INSERT + " AFTER INSERT ON tasks" + ON_INSERT);
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + TRIGGER_UPDATE + " AFTER UPDATE OF " + DATA_COLUMNS
+                + " ON tasks" + ON_UPDATE);
+    }
+
+    /**
+     * Lepas trigger untuk pemuatan massal yang mengisi change_seq sendiri (misalnya restore).
+     * Pemanggil wajib memanggil {@link #installTriggers} di transaksi yang sama.
+     */
+    public static void dropTriggers(@NonNull SupportSQLiteDatabase db) {
+        db.execSQL("DROP TRIGGER IF EXISTS " + TRIGGER_INSERT);
+        db.execSQL("DROP TRIGGER IF EXISTS " + TRIGGER_UPDATE);
+    }
+
+    /**
+     * Nomor urut perubahan terakhir
+     */
+    public static long current(@NonNull SupportSQLiteDatabase db) {
+        return queryLong(db, "SELECT " + CURRENT);
+    }
+
+    /**
+     * Nomor urut saat cadangan terakhir dibuat atau dipulihkan; 0 jika belum pernah
+     */
+    public static long lastBackup(@NonNull SupportSQLiteDatabase db) {
+        return queryLong(db, "SELECT last_backup FROM change_sequence WHERE id = 1");
+    }
+
+    public static void setLastBackup(@NonNull SupportSQLiteDatabase db, long seq) {
+        db.execSQL("UPDATE change_sequence SET last_backup = ? WHERE id = 1", new Object[]{seq});
+    }
+
+    /**
+     * Setel penghitung (dan nomor cadangan terakhir) ke seq, misalnya setelah restore
+     */
+    public static void reset(@NonNull SupportSQLiteDatabase db, long seq) {
+        db.execSQL("UPDATE change_sequence SET value = ?, last_backup = ? WHERE id = 1", new Object[]{seq, seq});
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.devlin.todolist.data.database;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Migrations berisi semua migrasi skema inkremental AppDatabase mulai dari versi 3.
+ * Setiap perubahan skema wajib menambah migrasi baru di sini (dan di ALL) agar data
+ * pengguna tidak pernah dihapus saat upgrade. Skema tiap versi diekspor ke app/schemas.
+ */
+public final class Migrations {
+
+    private static final String TAG = "Migrations";
+
+    private Migrations() {
+    }
+
+    /**
+     * Migrasi 3 -> 4: tambah tabel FTS4 tasks_fts untuk pencarian judul/deskripsi.
+     * Trigger sinkronisasi dibuat ulang oleh Room setelah migrasi; di sini cukup
+     * membuat tabel virtualnya lalu membangun ulang indeks dari isi tabel tasks.
+     */
+    static final Migration MIGRATION_3_4 = new TimedMigration(3, 4) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `tasks_fts` USING FTS4("
+                    + "`title` TEXT, `description` TEXT, content=`tasks`)");
+            db.execSQL("INSERT INTO tasks_fts(tasks_fts) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * Migrasi 4 -> 5: tambah indeks komposit yang sesuai dengan query di TaskDao.
+     * Nama dan urutan kolom harus sama persis dengan deklarasi @Index di TaskEntity.
+     */
+    static final Migration MIGRATION_4_5 = new TimedMigration(4, 5) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_priority_created_at` "
+                    + "ON `tasks` (`priority`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_is_completed_priority_created_at` "
+                    + "ON `tasks` (`is_completed`, `priority`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_is_completed_created_at` "
+                    + "ON `tasks` (`is_completed`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_is_completed_due_date` "
+                    + "ON `tasks` (`is_completed`, `due_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_category_priority_created_at` "
+                    + "ON `tasks` (`category`, `priority`, `created_at`)");
+        }
+    };
+
+    /**
+     * Migrasi 5 -> 6: tambah kolom version yang dinaikkan TaskDao pada setiap penulisan,
+     * sehingga diff daftar cukup membandingkan id dan versi.
+     */
+    static final Migration MIGRATION_5_6 = new TimedMigration(5, 6) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `version` INTEGER NOT NULL DEFAULT 0");
+        }
+    };
+
+    /**
+     * Migrasi 6 -> 7: tambah tabel journal untuk langkah undo/redo yang tidak muat di memori
+     */
+    static final Migration MIGRATION_6_7 = new TimedMigration(6, 7) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `journal` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`created_at` INTEGER NOT NULL, "
+                    + "`payload` BLOB NOT NULL)");
+        }
+    };
+
+    /**
+     * Migrasi 7 -> 8: tambah kolom tombstone deleted_at dan susun ulang indeks agar
+     * diawali deleted_at. Nama dan urutan kolom harus sama persis dengan @Index di TaskEntity.
+     */
+    static final Migration MIGRATION_7_8 = new TimedMigration(7, 8) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `deleted_at` INTEGER NOT NULL DEFAULT 0");
+
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_priority_created_at`");
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_is_completed_priority_created_at`");
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_is_completed_created_at`");
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_is_completed_due_date`");
+            db.execSQL("DROP INDEX IF EXISTS `index_tasks_category_priority_created_at`");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_deleted_at_priority_created_at` "
+                    + "ON `tasks` (`deleted_at`, `priority`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_deleted_at_is_completed_priority_created_at` "
+                    + "ON `tasks` (`deleted_at`, `is_completed`, `priority`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_deleted_at_is_completed_created_at` "
+                    + "ON `tasks` (`deleted_at`, `is_completed`, `created_at`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_deleted_at_is_completed_due_date` "
+                    + "ON `tasks` (`deleted_at`, `is_completed`, `due_date`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_tasks_deleted_at_category_priority_created_at` "
+                    + "ON `tasks` (`deleted_at`, `category`, `priority`, `created_at`)");
+        }
+    };
+
+    /**
+     * Migrasi 8 -> 9: tambah kolom change_seq untuk cadangan inkremental. Baris lama bernilai 0
+     * (sebelum cadangan mana pun). Tabel penghitung dibuat di sini; baris dan trigger-nya dipasang
+     * ChangeSequence saat database dibuka.
+     */
+    static final Migration MIGRATION_8_9 = new TimedMigration(8, 9) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `tasks` ADD COLUMN `change_seq` INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `change_sequence` (`id` INTEGER NOT NULL, "
+                    + "`value` INTEGER NOT NULL, `last_backup` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+        }
+    };
+
+    /**
+     * Migrasi 9 -> 10: aktifkan auto_vacuum=INCREMENTAL. Skema tidak berubah. Nilai baru baru
+     * tersimpan setelah VACUUM penuh, yang tidak boleh berjalan di dalam transaksi migrasi ini;
+     * konversinya dijadwalkan TombstonePurger lewat VacuumWorker saat perangkat diam.
+     */
+    static final Migration MIGRATION_9_10 = new TimedMigration(9, 10) {
+        @Override
+        protected void apply(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        }
+    };
+
+    /**
+     * Semua migrasi, berurutan. Didaftarkan sekaligus di AppDatabase.getDatabase.
+     */
+    static final Migration[] ALL = {
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+            MIGRATION_8_9,
+            MIGRATION_9_10
+    };
+
+    /**
+     * Migration yang mencatat durasi eksekusinya ke Logcat, supaya migrasi yang lambat
+     * pada database besar mudah terdeteksi.
+     */
+    private abstract static class TimedMigration extends Migration {
+
+        TimedMigration(int startVersion, int endVersion) {
+            super(startVersion, endVersion);
+        }
+
+        @Override
+        public final void migrate(@NonNull SupportSQLiteDatabase db) {
+            long start = SystemClock.elapsedRealtime();
+            apply(db);
+            long elapsed = SystemClock.elapsedRealtime() - start;
+            Log.i(TAG, "Migrasi " + startVersion + " -> " + endVersion + " selesai dalam " + elapsed + " ms");
+        }
+
+        protected abstract void apply(@NonNull SupportSQLiteDatabase db);
+    }
+}
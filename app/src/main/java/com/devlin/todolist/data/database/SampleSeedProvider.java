@@ -0,0 +1,99 @@
+package com.devlin.todolist.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SampleSeedProvider berisi beberapa tugas contoh yang ditulis langsung di Java.
+ * Dipakai bila file seed di assets tidak tersedia atau gagal dibaca.
+ */
+public final class SampleSeedProvider implements SeedProvider {
+
+    @Override
+    public int seed(@NonNull SupportSQLiteDatabase db, long now) throws IOException {
+        List<TaskEntity> tasks = createSampleTasks(now);
+        try (TaskInserter inserter = new TaskInserter(db)) {
+            for (TaskEntity task : tasks) {
+                inserter.insert(task.getTitle(), task.getDescription(), task.isCompleted(),
+                        task.getCreatedAt(), task.getDueDate(), task.getPriority(), task.getCategory());
+            }
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Membuat tugas contoh untuk mengisi database awal
+     */
+    private static List<TaskEntity> createSampleTasks(long now) {
+        List<TaskEntity> tasks = new ArrayList<>();
+        long oneDay = 86400000L; // 24 jam dalam milidetik
+
+        tasks.add(new TaskEntity(
+            "Belajar Android MVVM",
+            "Pelajari pola arsitektur ViewModel dan LiveData untuk membangun aplikasi Android yang handal",
+            false,
+            now,
+            now + (oneDay * 3), // Tenggat 3 hari lagi
+            TaskEntity.PRIORITY_HIGH,
+            "Belajar"
+        ));
+
+        tasks.add(new TaskEntity(
+            "Setup Database Room",
+            "Konfigurasi entity, DAO, dan kelas database untuk penyimpanan data lokal",
+            true,
+            now - 3600000, // 1 jam lalu
+            now - oneDay, // Tenggat kemarin (sudah selesai)
+            TaskEntity.PRIORITY_HIGH,
+            "Belajar"
+        ));
+
+        tasks.add(new TaskEntity(
+            "Desain Layout UI",
+            "Buat layout Material Design menggunakan ConstraintLayout dan CardView",
+            false,
+            now - 7200000, // 2 jam lalu
+            now + oneDay, // Tenggat besok
+            TaskEntity.PRIORITY_MEDIUM,
+            "Desain"
+        ));
+
+        tasks.add(new TaskEntity(
+            "Tulis Unit Test",
+            "Test repository dan ViewModel dengan JUnit dan Espresso",
+            false,
+            now - 10800000, // 3 jam lalu
+            now + (oneDay * 7), // Tenggat 1 minggu lagi
+            TaskEntity.PRIORITY_LOW,
+            "Testing"
+        ));
+
+        tasks.add(new TaskEntity(
+            "Publikasi ke Play Store",
+            "Siapkan build release, buat signing key, dan upload ke Google Play Console",
+            false,
+            now - 14400000, // 4 jam lalu
+            0, // Tanpa tenggat
+            TaskEntity.PRIORITY_MEDIUM,
+            "Deploy"
+        ));
+
+        tasks.add(new TaskEntity(
+            "Belanja Bulanan",
+            "Beli kebutuhan dapur: beras, minyak, gula, dan bumbu-bumbu",
+            false,
+            now - 1800000, // 30 menit lalu
+            now + (oneDay * 2), // Tenggat 2 hari lagi
+            TaskEntity.PRIORITY_LOW,
+            "Pribadi"
+        ));
+
+        return tasks;
+    }
+}
@@ -0,0 +1,22 @@
+package com.devlin.todolist.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.io.IOException;
+
+/**
+ * SeedProvider mengisi tabel tasks saat database pertama kali dibuat.
+ * Dipanggil di dalam transaksi pembuatan skema, jadi tabel pasti kosong dan
+ * isinya baru terlihat setelah semua baris selesai disisipkan.
+ *
+ * Pasang implementasi lain lewat AppDatabase.setSeedProvider sebelum database dibuka.
+ */
+public interface SeedProvider {
+
+    /**
+     * @param now waktu pemasangan; tanggal data contoh dihitung relatif terhadap nilai ini
+     * @return jumlah tugas yang disisipkan
+     */
+    int seed(@NonNull SupportSQLiteDatabase db, long now) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.devlin.todolist.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * TaskIndexes berisi DDL indeks tabel tasks, untuk pemuatan massal yang melepas indeks
+ * lalu membangunnya ulang sekali di akhir (lebih cepat daripada memperbarui indeks per baris).
+ * Nama dan urutan kolom harus sama persis dengan @Index di TaskEntity, karena Room
+ * memvalidasinya saat migrasi.
+ */
+public final class TaskIndexes {
+
+    private static final String[][] INDEXES = {
+            {"index_tasks_deleted_at_priority_created_at",
+                    "`deleted_at`, `priority`, `created_at`"},
+            {"index_tasks_deleted_at_is_completed_priority_created_at",
+                    "`deleted_at`, `is_completed`, `priority`, `created_at`"},
+            {"index_tasks_deleted_at_is_completed_created_at",
+                    "`deleted_at`, `is_completed`, `created_at`"},
+            {"index_tasks_deleted_at_is_completed_due_date",
+                    "`deleted_at`, `is_completed`, `due_date`"},
+            {"index_tasks_deleted_at_category_priority_created_at",
+                    "`deleted_at`, `category`, `priority`, `created_at`"}
+    };
+
+    private TaskIndexes() {
+    }
+
+    public static void drop(@NonNull SupportSQLiteDatabase db) {
+        for (String[] index : INDEXES) {
+            db.execSQL("DROP INDEX IF EXISTS `" + index[0] + "`");
+        }
+    }
+
+    public static void create(@NonNull SupportSQLiteDatabase db) {
+        for (String[] index : INDEXES) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `" + index[0] + "` ON `tasks` (" + index[1] + ")");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.devlin.todolist.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.devlin.todolist.data.dao.TaskDao;
+
+import java.io.IOException;
+
+/**
+ * TaskInserter menyisipkan baris tasks lewat satu statement yang dikompilasi sekali
+ * lalu dipakai ulang, untuk pengisian massal di luar DAO (misalnya SeedProvider).
+ * Kolom version dan deleted_at memakai nilai default tabel; change_seq diisi di statement yang
+ * sama dari penghitung ChangeSequence.
+ */
+public final class TaskInserter implements AutoCloseable {
+
+    private final SupportSQLiteStatement statement;
+
+    public TaskInserter(@NonNull SupportSQLiteDatabase db) {
+        statement = db.compileStatement("INSERT INTO tasks "
+                + "(title, description, is_completed, created_at, due_date, priority, category, change_seq) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, " + TaskDao.NEXT_CHANGE_SEQ + ")");
+    }
+
+    /**
+     * @return rowid baris baru
+     */
+    public long insert(@Nullable String title, @Nullable String description, boolean completed,
+                       long createdAt, long dueDate, int priority, @Nullable String category) {
+        bindString(1, title);
+        bindString(2, description);
+        statement.bindLong(3, completed ? 1 : 0);
+        statement.bindLong(4, createdAt);
+        statement.bindLong(5, dueDate);
+        statement.bindLong(6, priority);
+        bindString(7, category);
+        return statement.executeInsert();
+    }
+
+    private void bindString(int index, @Nullable String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        statement.close();
+    }
+}
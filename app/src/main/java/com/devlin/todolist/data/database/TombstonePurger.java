@@ -0,0 +1,109 @@
+package com.devlin.todolist.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TombstonePurger membuang permanen tugas yang sudah dihapus (tombstone) di latar belakang.
+ *
+ * Hanya tombstone dari sesi sebelumnya yang dibuang: riwayat undo berlaku per sesi, jadi
+ * tombstone itu tidak mungkin dikembalikan lagi. Pembuangan dijalankan per batch di thread
+ * penulis, sehingga penulisan dari UI bisa menyela di antara batch. Setelah itu halaman
+ * kosong dikembalikan ke sistem bertahap dengan incremental_vacuum. Database lama yang belum
+ * memakai auto_vacuum=INCREMENTAL diserahkan ke VacuumWorker; thread penulis tidak pernah
+ * menjalankan VACUUM penuh.
+ */
+public final class TombstonePurger {
+
+    private static final String TAG = "TombstonePurger";
+
+    // Jeda sebelum purge pertama agar tidak bersaing dengan startup dan muatan daftar awal
+    static final long INITIAL_DELAY_MS = 10_000;
+    static final int BATCH_SIZE = 500;
+    static final int VACUUM_PAGES_PER_STEP = 256;
+
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Context context;
+    private final AppDatabase database;
+    private final Executor writeExecutor;
+    private final long cutoff;
+    private int purgedCount;
+
+    /**
+     * Jadwalkan satu kali purge per proses. Tombstone yang dibuat sebelum titik ini ikut dibuang.
+     */
+    static void schedule(Context context, AppDatabase database) {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        TombstonePurger purger = new TombstonePurger(
+                context, database, AppDatabase.databaseWriteExecutor, System.currentTimeMillis());
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tombstone-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.schedule(purger::start, INITIAL_DELAY_MS, TimeUnit.MILLISECONDS);
+        // Tugas yang sudah dijadwalkan tetap berjalan; thread timer berhenti setelahnya
+        timer.shutdown();
+    }
+
+    TombstonePurger(Context context, AppDatabase database, Executor writeExecutor, long cutoff) {
+        this.context = context;
+        this.database = database;
+        this.writeExecutor = writeExecutor;
+        this.cutoff = cutoff;
+    }
+
+    void start() {
+        writeExecutor.execute(this::purgeBatch);
+    }
+
+    private void purgeBatch() {
+        int purged = database.taskDao().purgeDeleted(cutoff, BATCH_SIZE);
+        purgedCount += purged;
+        if (purged == BATCH_SIZE) {
+            // Masih ada sisa; batch berikutnya antre di belakang penulisan lain
+            writeExecutor.execute(this::purgeBatch);
+            return;
+        }
+        if (purgedCount > 0) {
+            Log.i(TAG, purgedCount + " tombstone dibuang");
+            writeExecutor.execute(this::vacuumStep);
+        }
+    }
+
+    private void vacuumStep() {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        if (!VacuumWorker.isIncremental(db)) {
+            // Halaman kosong dipakai ulang oleh penulisan berikutnya sampai konversi berjalan
+            VacuumWorker.enqueue(context);
+            return;
+        }
+        // incremental_vacuum baru bekerja saat hasilnya dibaca sampai habis
+        try (Cursor cursor = db.query("PRAGMA incremental_vacuum(" + VACUUM_PAGES_PER_STEP + ")")) {
+            while (cursor.moveToNext()) {
+                // Lewati hasil
+            }
+        }
+        if (queryInt(db, "PRAGMA freelist_count") > 0) {
+            writeExecutor.execute(this::vacuumStep);
+        }
+    }
+
+    private static int queryInt(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+}
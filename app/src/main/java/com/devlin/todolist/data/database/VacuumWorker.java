@@ -0,0 +1,69 @@
+package com.devlin.todolist.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+/**
+ * VacuumWorker mengubah database lama (dibuat sebelum auto_vacuum diaktifkan) ke
+ * auto_vacuum=INCREMENTAL. Perubahan itu butuh satu VACUUM penuh yang menyalin ulang seluruh
+ * file, jadi dijalankan WorkManager saat perangkat diam dan sedang diisi daya, bukan di thread
+ * penulis. Setelah itu TombstonePurger cukup memakai incremental_vacuum.
+ */
+public final class VacuumWorker extends Worker {
+
+    private static final String TAG = "VacuumWorker";
+    private static final String WORK_NAME = "database-auto-vacuum";
+
+    static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    public VacuumWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Jadwalkan konversi sekali; permintaan berikutnya diabaikan selama yang lama masih antre
+     */
+    static void enqueue(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(VacuumWorker.class)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        SupportSQLiteDatabase db = AppDatabase.getDatabase(getApplicationContext())
+                .getOpenHelper().getWritableDatabase();
+        if (isIncremental(db)) {
+            return Result.success();
+        }
+        long start = SystemClock.elapsedRealtime();
+        // Nilai auto_vacuum baru hanya tersimpan lewat VACUUM penuh
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        db.execSQL("VACUUM");
+        Log.i(TAG, "auto_vacuum diaktifkan dalam " + (SystemClock.elapsedRealtime() - start) + " ms");
+        return Result.success();
+    }
+
+    static boolean isIncremental(SupportSQLiteDatabase db) {
+        try (Cursor cursor = db.query("PRAGMA auto_vacuum")) {
+            return cursor.moveToFirst() && cursor.getInt(0) == AUTO_VACUUM_INCREMENTAL;
+        }
+    }
+}
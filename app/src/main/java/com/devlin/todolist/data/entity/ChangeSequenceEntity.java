@@ -0,0 +1,53 @@
+package com.devlin.todolist.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * ChangeSequenceEntity adalah penghitung perubahan tabel tasks (selalu satu baris, id = 1).
+ * Didaftarkan sebagai entity agar query TaskDao bisa membaca nilainya untuk mengisi
+ * change_seq di statement yang sama; isinya dikelola ChangeSequence.
+ */
+@Entity(tableName = "change_sequence")
+public class ChangeSequenceEntity {
+
+    @PrimaryKey
+    private int id;
+
+    @ColumnInfo(name = "value")
+    private long value; // Nomor urut perubahan terakhir
+
+    @ColumnInfo(name = "last_backup")
+    private long lastBackup; // Nomor urut saat cadangan terakhir; 0 jika belum pernah
+
+    public ChangeSequenceEntity(int id, long value, long lastBackup) {
+        this.id = id;
+        this.value = value;
+        this.lastBackup = lastBackup;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+
+    public long getLastBackup() {
+        return lastBackup;
+    }
+
+    public void setLastBackup(long lastBackup) {
+        this.lastBackup = lastBackup;
+    }
+}
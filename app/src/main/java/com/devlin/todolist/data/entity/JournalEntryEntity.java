@@ -0,0 +1,55 @@
+package com.devlin.todolist.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * JournalEntryEntity adalah satu langkah undo/redo yang dipindahkan dari memori ke disk
+ * karena jurnal melewati batas memorinya. Isinya dikodekan ringkas oleh JournalEntry.
+ * Tabel ini dikosongkan setiap kali database dibuka; riwayat undo hanya berlaku per sesi.
+ */
+@Entity(tableName = "journal")
+public class JournalEntryEntity {
+
+    @PrimaryKey(autoGenerate = true)
+    private long id;
+
+    @ColumnInfo(name = "created_at")
+    private long createdAt;
+
+    @NonNull
+    @ColumnInfo(name = "payload")
+    private byte[] payload;
+
+    public JournalEntryEntity(long createdAt, @NonNull byte[] payload) {
+        this.createdAt = createdAt;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @NonNull
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(@NonNull byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -2,13 +2,32 @@ package com.devlin.todolist.data.entity;
 
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * TaskEntity merepresentasikan tugas dalam daftar tugas.
  * Kelas ini dianotasi dengan Room annotations untuk mendefinisikan tabel database.
+ * Indeks disusun mengikuti pola akses di TaskDao (filter + urutan) agar query daftar
+ * tidak perlu full scan maupun sort sementara. Semua indeks diawali deleted_at karena
+ * setiap query baca memfilter deleted_at = 0; Room belum mendukung partial index, jadi
+ * kolom awalan ini yang memisahkan tombstone dari baris hidup di dalam indeks.
  */
-@Entity(tableName = "tasks")
+@Entity(
+        tableName = "tasks",
+        indices = {
+                // Semua tugas: ORDER BY priority DESC, created_at DESC; juga rentang purge tombstone
+                @Index(value = {"deleted_at", "priority", "created_at"}),
+                // Tugas aktif: WHERE is_completed = 0 ORDER BY priority DESC, created_at DESC
+                @Index(value = {"deleted_at", "is_completed", "priority", "created_at"}),
+                // Tugas selesai: WHERE is_completed = 1 ORDER BY created_at DESC
+                @Index(value = {"deleted_at", "is_completed", "created_at"}),
+                // Tugas terlambat / tenggat berikutnya: WHERE is_completed = 0 AND due_date ...
+                @Index(value = {"deleted_at", "is_completed", "due_date"}),
+                // Per kategori dan daftar kategori unik
+                @Index(value = {"deleted_at", "category", "priority", "created_at"})
+        }
+)
 public class TaskEntity {
 
     // Konstanta prioritas
@@ -40,6 +59,15 @@ public class TaskEntity {
     @ColumnInfo(name = "category")
     private String category; // Kategori tugas
 
+    @ColumnInfo(name = "version", defaultValue = "0")
+    private int version; // Dinaikkan oleh TaskDao pada setiap perubahan baris
+
+    @ColumnInfo(name = "deleted_at", defaultValue = "0")
+    private long deletedAt; // 0 berarti belum dihapus; selain itu waktu hapus (tombstone)
+
+    @ColumnInfo(name = "change_seq", defaultValue = "0")
+    private long changeSeq; // Nomor urut perubahan terakhir (TaskDao.NEXT_CHANGE_SEQ, lihat ChangeSequence)
+
     // Constructor
     public TaskEntity(String title, String description, boolean isCompleted, long createdAt, long dueDate, int priority, String category) {
         this.title = title;
@@ -116,7 +144,35 @@ public class TaskEntity {
         this.category = category;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public long getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(long deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public String getPriorityText() {
+        return getPriorityText(priority);
+    }
+
+    public static String getPriorityText(int priority) {
         switch (priority) {
             case PRIORITY_HIGH:
                 return "Tinggi";
@@ -139,6 +195,8 @@ public class TaskEntity {
                 ", dueDate=" + dueDate +
                 ", priority=" + priority +
                 ", category='" + category + '\'' +
+                ", version=" + version +
+                ", deletedAt=" + deletedAt +
                 '}';
     }
 }
@@ -0,0 +1,42 @@
+package com.devlin.todolist.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * TaskFtsEntity adalah tabel bayangan full-text search (FTS4) untuk judul dan deskripsi tugas.
+ * Tabel ini memakai tabel tasks sebagai content table, sehingga Room membuat trigger
+ * sinkronisasi otomatis dan teks tidak disimpan dua kali.
+ */
+@Fts4(contentEntity = TaskEntity.class)
+@Entity(tableName = "tasks_fts")
+public class TaskFtsEntity {
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    public TaskFtsEntity(String title, String description) {
+        this.title = title;
+        this.description = description;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,45 @@
+package com.devlin.todolist.data.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ListSnapshot adalah salinan halaman pertama daftar (urutan default) beserta statistiknya,
+ * disimpan ke disk agar frame pertama bisa langsung berisi sebelum query Room selesai.
+ * changeSeq adalah nomor ChangeSequence saat snapshot diambil (lihat ListSnapshotStore).
+ */
+public final class ListSnapshot {
+
+    private final long changeSeq;
+    private final long capturedAt;
+    private final List<TaskListItem> items;
+    private final TaskStats stats;
+
+    public ListSnapshot(long changeSeq, long capturedAt,
+                        @NonNull List<TaskListItem> items, @NonNull TaskStats stats) {
+        this.changeSeq = changeSeq;
+        this.capturedAt = capturedAt;
+        this.items = Collections.unmodifiableList(items);
+        this.stats = stats;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public long getCapturedAt() {
+        return capturedAt;
+    }
+
+    @NonNull
+    public List<TaskListItem> getItems() {
+        return items;
+    }
+
+    @NonNull
+    public TaskStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,110 @@
+package com.devlin.todolist.data.model;
+
+import androidx.room.ColumnInfo;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+
+/**
+ * TaskListItem adalah proyeksi ringan dari TaskEntity untuk ditampilkan di daftar.
+ * Deskripsi hanya berisi potongan awal (lihat TaskDao.LIST_COLUMNS), sehingga catatan
+ * panjang tidak ikut dimuat ke CursorWindow dan heap saat menggulir daftar.
+ * Baris lengkap hanya dimuat di layar edit.
+ */
+public class TaskListItem {
+
+    @ColumnInfo(name = "id")
+    private final int id;
+
+    @ColumnInfo(name = "title")
+    private final String title;
+
+    @ColumnInfo(name = "description")
+    private final String description; // Potongan deskripsi
+
+    @ColumnInfo(name = "is_completed")
+    private final boolean isCompleted;
+
+    @ColumnInfo(name = "created_at")
+    private final long createdAt;
+
+    @ColumnInfo(name = "due_date")
+    private final long dueDate;
+
+    @ColumnInfo(name = "priority")
+    private final int priority;
+
+    @ColumnInfo(name = "category")
+    private final String category;
+
+    @ColumnInfo(name = "version")
+    private final int version;
+
+    public TaskListItem(int id, String title, String description, boolean isCompleted,
+                        long createdAt, long dueDate, int priority, String category, int version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.isCompleted = isCompleted;
+        this.createdAt = createdAt;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.category = category;
+        this.version = version;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return isCompleted;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Versi baris; berubah setiap kali tugas ditulis, jadi cukup dibandingkan saat diff
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public String getPriorityText() {
+        return TaskEntity.getPriorityText(priority);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskListItem{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", isCompleted=" + isCompleted +
+                ", dueDate=" + dueDate +
+                ", priority=" + priority +
+                ", category='" + category + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
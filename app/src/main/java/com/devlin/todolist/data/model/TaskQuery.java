@@ -0,0 +1,81 @@
+package com.devlin.todolist.data.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * TaskQuery adalah state gabungan untuk daftar tugas: filter status dan pencarian.
+ * Objek ini immutable; setiap perubahan menghasilkan objek baru sehingga daftar cukup
+ * dibangun dari satu query per state. Urutannya selalu mengikuti indeks tasks: prioritas
+ * lalu terbaru untuk Semua/Aktif, dan terbaru untuk Selesai.
+ */
+public final class TaskQuery {
+
+    /**
+     * Filter status selesai
+     */
+    public enum Status {
+        ALL,
+        ACTIVE,
+        COMPLETED
+    }
+
+    public static final TaskQuery DEFAULT = new TaskQuery(Status.ALL, "");
+
+    private final Status status;
+    private final String search;
+
+    private TaskQuery(@NonNull Status status, @NonNull String search) {
+        this.status = status;
+        this.search = search;
+    }
+
+    @NonNull
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Teks pencarian mentah dari pengguna ("" jika tidak mencari)
+     */
+    @NonNull
+    public String getSearch() {
+        return search;
+    }
+
+    public boolean hasSearch() {
+        return !search.isEmpty();
+    }
+
+    public TaskQuery withStatus(@NonNull Status status) {
+        return new TaskQuery(status, search);
+    }
+
+    public TaskQuery withSearch(@Nullable String search) {
+        return new TaskQuery(status, search != null ? search : "");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskQuery)) return false;
+        TaskQuery other = (TaskQuery) o;
+        return status == other.status
+                && search.equals(other.search);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, search);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery{" +
+                "status=" + status +
+                ", search='" + search + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.devlin.todolist.data.model;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * TaskStats menampung statistik dashboard (aktif, selesai, terlambat)
+ * yang dihitung dalam satu query agregat oleh TaskDao.
+ */
+public class TaskStats {
+
+    public static final TaskStats EMPTY = new TaskStats(0, 0, 0);
+
+    @ColumnInfo(name = "active_count")
+    private final int activeCount;
+
+    @ColumnInfo(name = "completed_count")
+    private final int completedCount;
+
+    @ColumnInfo(name = "overdue_count")
+    private final int overdueCount;
+
+    public TaskStats(int activeCount, int completedCount, int overdueCount) {
+        this.activeCount = activeCount;
+        this.completedCount = completedCount;
+        this.overdueCount = overdueCount;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public int getOverdueCount() {
+        return overdueCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskStats{" +
+                "activeCount=" + activeCount +
+                ", completedCount=" + completedCount +
+                ", overdueCount=" + overdueCount +
+                '}';
+    }
+}
@@ -0,0 +1,378 @@
+package com.devlin.todolist.data.repository;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JournalAction adalah satu langkah tulis di jurnal undo/redo. Jenisnya sengaja sedikit
+ * dan semuanya berbasis himpunan id, sehingga satu langkah untuk ribuan tugas tetap
+ * dijalankan sebagai beberapa statement dalam satu transaksi.
+ */
+abstract class JournalAction {
+
+    private static final int KIND_DELETE_ROWS = 1;
+    private static final int KIND_RESTORE_ROWS = 2;
+    private static final int KIND_UPDATE_ROWS = 3;
+    private static final int KIND_SET_COMPLETED = 4;
+    private static final int KIND_MOVE_TO_CATEGORY = 5;
+    private static final int KIND_RESTORE_DELETED = 6;
+
+    abstract void apply(TaskDao dao);
+
+    /**
+     * Id yang diubah oleh langkah ini (untuk membuang entri TaskCache)
+     */
+    abstract int[] affectedIds();
+
+    /**
+     * Perkiraan kasar ukuran di heap, untuk batas memori jurnal
+     */
+    abstract long estimatedBytes();
+
+    abstract void writeTo(DataOutputStream out) throws IOException;
+
+    static JournalAction deleteRows(int[] taskIds) {
+        return new DeleteRows(taskIds);
+    }
+
+    static JournalAction restoreDeleted(int[] taskIds) {
+        return new RestoreDeleted(taskIds);
+    }
+
+    static JournalAction restoreRows(List<TaskEntity> rows) {
+        return new RestoreRows(rows);
+    }
+
+    static JournalAction updateRows(List<TaskEntity> rows) {
+        return new UpdateRows(rows);
+    }
+
+    static JournalAction setCompleted(int[] taskIds, boolean completed) {
+        return new SetCompleted(taskIds, completed);
+    }
+
+    static JournalAction moveToCategory(int[] taskIds, String category) {
+        return new MoveToCategory(taskIds, category);
+    }
+
+    static JournalAction readFrom(DataInputStream in) throws IOException {
+        int kind = in.readUnsignedByte();
+        switch (kind) {
+            case KIND_DELETE_ROWS:
+                return new DeleteRows(readIds(in));
+            case KIND_RESTORE_DELETED:
+                return new RestoreDeleted(readIds(in));
+            case KIND_RESTORE_ROWS:
+                return new RestoreRows(readRows(in));
+            case KIND_UPDATE_ROWS:
+                return new UpdateRows(readRows(in));
+            case KIND_SET_COMPLETED: {
+                boolean completed = in.readBoolean();
+                return new SetCompleted(readIds(in), completed);
+            }
+            case KIND_MOVE_TO_CATEGORY: {
+                String category = readString(in);
+                return new MoveToCategory(readIds(in), category);
+            }
+            default:
+                throw new IOException("Jenis langkah jurnal tidak dikenal: " + kind);
+        }
+    }
+
+    /**
+     * Tandai baris sebagai terhapus (tombstone) dengan waktu saat langkah dijalankan
+     */
+    private static final class DeleteRows extends JournalAction {
+        private final int[] taskIds;
+
+        DeleteRows(int[] taskIds) {
+            this.taskIds = taskIds;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            dao.deleteByIds(taskIds, System.currentTimeMillis());
+        }
+
+        @Override
+        int[] affectedIds() {
+            return taskIds;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return idsBytes(taskIds);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_DELETE_ROWS);
+            writeIds(out, taskIds);
+        }
+    }
+
+    /**
+     * Kembalikan tombstone menjadi baris hidup; isi baris tidak pernah hilang
+     */
+    private static final class RestoreDeleted extends JournalAction {
+        private final int[] taskIds;
+
+        RestoreDeleted(int[] taskIds) {
+            this.taskIds = taskIds;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            dao.restoreByIds(taskIds);
+        }
+
+        @Override
+        int[] affectedIds() {
+            return taskIds;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return idsBytes(taskIds);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_RESTORE_DELETED);
+            writeIds(out, taskIds);
+        }
+    }
+
+    /**
+     * Tulis kembali baris lengkap berdasarkan id-nya; versi tetap dinaikkan oleh TaskDao
+     */
+    private static final class RestoreRows extends JournalAction {
+        private final List<TaskEntity> rows;
+
+        RestoreRows(List<TaskEntity> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            dao.overwriteAll(rows);
+        }
+
+        @Override
+        int[] affectedIds() {
+            return idsOf(rows);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return rowsBytes(rows);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_RESTORE_ROWS);
+            writeRows(out, rows);
+        }
+    }
+
+    /**
+     * Tulis ulang isi baris yang masih ada; versi tetap dinaikkan oleh TaskDao
+     */
+    private static final class UpdateRows extends JournalAction {
+        private final List<TaskEntity> rows;
+
+        UpdateRows(List<TaskEntity> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            for (TaskEntity row : rows) {
+                dao.update(row);
+            }
+        }
+
+        @Override
+        int[] affectedIds() {
+            return idsOf(rows);
+        }
+
+        @Override
+        long estimatedBytes() {
+            return rowsBytes(rows);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_UPDATE_ROWS);
+            writeRows(out, rows);
+        }
+    }
+
+    private static final class SetCompleted extends JournalAction {
+        private final int[] taskIds;
+        private final boolean completed;
+
+        SetCompleted(int[] taskIds, boolean completed) {
+            this.taskIds = taskIds;
+            this.completed = completed;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            dao.setCompletedByIds(taskIds, completed);
+        }
+
+        @Override
+        int[] affectedIds() {
+            return taskIds;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return idsBytes(taskIds);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_SET_COMPLETED);
+            out.writeBoolean(completed);
+            writeIds(out, taskIds);
+        }
+    }
+
+    private static final class MoveToCategory extends JournalAction {
+        private final int[] taskIds;
+        private final String category;
+
+        MoveToCategory(int[] taskIds, String category) {
+            this.taskIds = taskIds;
+            this.category = category;
+        }
+
+        @Override
+        void apply(TaskDao dao) {
+            dao.moveToCategory(taskIds, category);
+        }
+
+        @Override
+        int[] affectedIds() {
+            return taskIds;
+        }
+
+        @Override
+        long estimatedBytes() {
+            return idsBytes(taskIds) + stringBytes(category);
+        }
+
+        @Override
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(KIND_MOVE_TO_CATEGORY);
+            writeString(out, category);
+            writeIds(out, taskIds);
+        }
+    }
+
+    private static int[] idsOf(List<TaskEntity> rows) {
+        int[] ids = new int[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = rows.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static long idsBytes(int[] ids) {
+        return 16L + 4L * ids.length;
+    }
+
+    private static long rowsBytes(List<TaskEntity> rows) {
+        long bytes = 16L + 8L * rows.size();
+        for (TaskEntity row : rows) {
+            bytes += 56 + stringBytes(row.getTitle()) + stringBytes(row.getDescription())
+                    + stringBytes(row.getCategory());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40L + 2L * value.length();
+    }
+
+    private static void writeIds(DataOutputStream out, int[] ids) throws IOException {
+        out.writeInt(ids.length);
+        for (int id : ids) {
+            out.writeInt(id);
+        }
+    }
+
+    private static int[] readIds(DataInputStream in) throws IOException {
+        int[] ids = new int[in.readInt()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = in.readInt();
+        }
+        return ids;
+    }
+
+    private static void writeRows(DataOutputStream out, List<TaskEntity> rows) throws IOException {
+        out.writeInt(rows.size());
+        for (TaskEntity row : rows) {
+            out.writeInt(row.getId());
+            writeString(out, row.getTitle());
+            writeString(out, row.getDescription());
+            out.writeBoolean(row.isCompleted());
+            out.writeLong(row.getCreatedAt());
+            out.writeLong(row.getDueDate());
+            out.writeInt(row.getPriority());
+            writeString(out, row.getCategory());
+            out.writeInt(row.getVersion());
+        }
+    }
+
+    private static List<TaskEntity> readRows(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<TaskEntity> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = in.readInt();
+            String title = readString(in);
+            String description = readString(in);
+            boolean completed = in.readBoolean();
+            long createdAt = in.readLong();
+            long dueDate = in.readLong();
+            int priority = in.readInt();
+            String category = readString(in);
+            TaskEntity row = new TaskEntity(title, description, completed, createdAt, dueDate, priority, category);
+            row.setId(id);
+            row.setVersion(in.readInt());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // writeUTF dibatasi 64 KB, sedangkan deskripsi bisa lebih panjang
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
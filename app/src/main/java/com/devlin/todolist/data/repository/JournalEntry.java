@@ -0,0 +1,127 @@
+package com.devlin.todolist.data.repository;
+
+import com.devlin.todolist.data.dao.TaskDao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JournalEntry adalah satu langkah di riwayat undo/redo: langkah-langkah kebalikan untuk
+ * membatalkan operasi, dan langkah-langkah untuk mengulanginya kembali.
+ */
+final class JournalEntry {
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final List<JournalAction> undoActions;
+    private final List<JournalAction> redoActions;
+    private final long estimatedBytes;
+    // Token operasi antrean yang menghasilkan langkah ini (lihat TaskWriteQueue.undo(long))
+    private long token;
+
+    JournalEntry(List<JournalAction> undoActions, List<JournalAction> redoActions) {
+        this.undoActions = Collections.unmodifiableList(new ArrayList<>(undoActions));
+        this.redoActions = Collections.unmodifiableList(new ArrayList<>(redoActions));
+        long bytes = 32;
+        for (JournalAction action : undoActions) {
+            bytes += action.estimatedBytes();
+        }
+        for (JournalAction action : redoActions) {
+            bytes += action.estimatedBytes();
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    static JournalEntry of(JournalAction undo, JournalAction redo) {
+        return new JournalEntry(Collections.singletonList(undo), Collections.singletonList(redo));
+    }
+
+    long getToken() {
+        return token;
+    }
+
+    void setToken(long token) {
+        this.token = token;
+    }
+
+    void undo(TaskDao dao) {
+        for (JournalAction action : undoActions) {
+            action.apply(dao);
+        }
+    }
+
+    void redo(TaskDao dao) {
+        for (JournalAction action : redoActions) {
+            action.apply(dao);
+        }
+    }
+
+    /**
+     * Semua id yang bisa berubah saat langkah ini di-undo atau di-redo
+     */
+    List<int[]> affectedIds() {
+        List<int[]> ids = new ArrayList<>(undoActions.size() + redoActions.size());
+        for (JournalAction action : undoActions) {
+            ids.add(action.affectedIds());
+        }
+        for (JournalAction action : redoActions) {
+            ids.add(action.affectedIds());
+        }
+        return ids;
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(token);
+            writeActions(out, undoActions);
+            writeActions(out, redoActions);
+        } catch (IOException e) {
+            // ByteArrayOutputStream tidak pernah melempar IOException
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static JournalEntry decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versi jurnal tidak dikenal: " + version);
+            }
+            long token = in.readLong();
+            List<JournalAction> undo = readActions(in);
+            List<JournalAction> redo = readActions(in);
+            JournalEntry entry = new JournalEntry(undo, redo);
+            entry.setToken(token);
+            return entry;
+        }
+    }
+
+    private static void writeActions(DataOutputStream out, List<JournalAction> actions) throws IOException {
+        out.writeInt(actions.size());
+        for (JournalAction action : actions) {
+            action.writeTo(out);
+        }
+    }
+
+    private static List<JournalAction> readActions(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<JournalAction> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            actions.add(JournalAction.readFrom(in));
+        }
+        return actions;
+    }
+}
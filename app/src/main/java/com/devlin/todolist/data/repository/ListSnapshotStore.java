@@ -0,0 +1,255 @@
+package com.devlin.todolist.data.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.AtomicFile;
+import androidx.room.InvalidationTracker;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.database.ChangeSequence;
+import com.devlin.todolist.data.model.ListSnapshot;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.data.model.TaskStats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ListSnapshotStore menyimpan ListSnapshot terakhir ke satu file kecil dan membacanya
+ * kembali saat startup, sebelum database selesai dibuka.
+ *
+ * Kesegaran snapshot dijaga dengan nomor ChangeSequence, yang naik di transaksi yang sama
+ * dengan setiap perubahan baris tasks. Nomor itu dibaca bersama isi snapshot dalam satu
+ * transaksi, dan snapshot hanya dipakai jika nomornya sama dengan nomor di database saat
+ * dibaca; jadi perubahan yang sudah di-commit tidak mungkin terlewat, juga jika proses mati
+ * sebelum snapshot diambil ulang. Setelah InvalidationTracker melaporkan perubahan tabel tasks,
+ * snapshot baru diambil dengan jeda singkat.
+ *
+ * Semua akses file berjalan di satu thread milik store ini.
+ */
+public final class ListSnapshotStore {
+
+    private static final String TAG = "ListSnapshotStore";
+
+    // Kira-kira satu layar lebih sedikit; sisanya datang dari paging
+    public static final int MAX_ITEMS = 30;
+
+    static final int FORMAT_VERSION = 2;
+
+    // Jeda setelah perubahan terakhir sebelum snapshot diambil ulang
+    private static final long CAPTURE_DELAY_MS = 1000;
+
+    private static final String FILE_NAME = "list_snapshot.bin";
+
+    private static volatile ListSnapshotStore INSTANCE;
+
+    private final AppDatabase database;
+    private final TaskDao taskDao;
+    private final AtomicFile file;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "list-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Hanya diakses dari thread executor
+    private ScheduledFuture<?> pendingCapture;
+
+    public static ListSnapshotStore getInstance(Context context, AppDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (ListSnapshotStore.class) {
+                if (INSTANCE == null) {
+                    Context appContext = context.getApplicationContext();
+                    ListSnapshotStore store = new ListSnapshotStore(
+                            database, new File(appContext.getFilesDir(), FILE_NAME));
+                    database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tasks") {
+                        @Override
+                        public void onInvalidated(@NonNull Set<String> tables) {
+                            store.onTasksChanged();
+                        }
+                    });
+                    INSTANCE = store;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    ListSnapshotStore(AppDatabase database, File file) {
+        this.database = database;
+        this.taskDao = database.taskDao();
+        this.file = new AtomicFile(file);
+    }
+
+    /**
+     * Baca snapshot terakhir. Callback dipanggil sekali di thread store dengan snapshot,
+     * atau null jika belum ada, rusak, atau sudah tidak sesuai dengan database.
+     */
+    public void load(@NonNull Consumer<ListSnapshot> callback) {
+        executor.execute(() -> {
+            ListSnapshot snapshot = null;
+            try {
+                snapshot = read();
+            } catch (FileNotFoundException e) {
+                // Belum pernah diambil
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Snapshot daftar tidak bisa dibaca", e);
+            }
+            if (snapshot == null) {
+                // Siapkan snapshot untuk startup berikutnya
+                scheduleCapture();
+            }
+            callback.accept(snapshot);
+        });
+    }
+
+    /**
+     * Buang snapshot saat ini (misalnya setelah pemulihan cadangan mengganti seluruh data dan
+     * menyetel ulang ChangeSequence). File dihapus, lalu snapshot baru diambil dengan jeda biasa.
+     */
+    public void invalidate() {
+        executor.execute(() -> {
+            file.delete();
+            scheduleCapture();
+        });
+    }
+
+    private void onTasksChanged() {
+        executor.execute(this::scheduleCapture);
+    }
+
+    private void scheduleCapture() {
+        if (pendingCapture != null) {
+            pendingCapture.cancel(false);
+        }
+        pendingCapture = executor.schedule(this::capture, CAPTURE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void capture() {
+        pendingCapture = null;
+        long now = System.currentTimeMillis();
+        ListSnapshot snapshot;
+        try {
+            // Nomor urut dan isi dari kondisi database yang sama
+            snapshot = database.runInTransaction(() -> {
+                long changeSeq = ChangeSequence.current(database.getOpenHelper().getWritableDatabase());
+                List<TaskListItem> items = taskDao.getTaskListSync(
+                        TaskRepository.buildListQuery(TaskQuery.DEFAULT, MAX_ITEMS));
+                TaskStats stats = taskDao.getTaskStatsSync(now);
+                return new ListSnapshot(changeSeq, now, items, stats != null ? stats : TaskStats.EMPTY);
+            });
+        } catch (RuntimeException e) {
+            // Misalnya database gagal dibuka; dicoba lagi pada perubahan berikutnya
+            Log.w(TAG, "Snapshot daftar gagal diambil", e);
+            return;
+        }
+        try {
+            write(snapshot);
+        } catch (IOException e) {
+            Log.w(TAG, "Snapshot daftar gagal disimpan", e);
+        }
+    }
+
+    @Nullable
+    private ListSnapshot read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.openRead()))) {
+            if (in.readInt() != FORMAT_VERSION || in.readInt() != AppDatabase.VERSION) {
+                return null;
+            }
+            long changeSeq = in.readLong();
+            if (changeSeq != ChangeSequence.current(database.getOpenHelper().getWritableDatabase())) {
+                return null;
+            }
+            long capturedAt = in.readLong();
+            TaskStats stats = new TaskStats(in.readInt(), in.readInt(), in.readInt());
+            int count = in.readInt();
+            List<TaskListItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String title = readString(in);
+                String description = readString(in);
+                boolean completed = in.readBoolean();
+                long createdAt = in.readLong();
+                long dueDate = in.readLong();
+                int priority = in.readInt();
+                String category = readString(in);
+                int version = in.readInt();
+                items.add(new TaskListItem(id, title, description, completed,
+                        createdAt, dueDate, priority, category, version));
+            }
+            return new ListSnapshot(changeSeq, capturedAt, items, stats);
+        }
+    }
+
+    private void write(ListSnapshot snapshot) throws IOException {
+        FileOutputStream stream = file.startWrite();
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(AppDatabase.VERSION);
+            out.writeLong(snapshot.getChangeSeq());
+            out.writeLong(snapshot.getCapturedAt());
+            TaskStats stats = snapshot.getStats();
+            out.writeInt(stats.getActiveCount());
+            out.writeInt(stats.getCompletedCount());
+            out.writeInt(stats.getOverdueCount());
+            out.writeInt(snapshot.getItems().size());
+            for (TaskListItem item : snapshot.getItems()) {
+                out.writeInt(item.getId());
+                writeString(out, item.getTitle());
+                writeString(out, item.getDescription());
+                out.writeBoolean(item.isCompleted());
+                out.writeLong(item.getCreatedAt());
+                out.writeLong(item.getDueDate());
+                out.writeInt(item.getPriority());
+                writeString(out, item.getCategory());
+                out.writeInt(item.getVersion());
+            }
+            out.flush();
+            file.finishWrite(stream);
+        } catch (IOException | RuntimeException e) {
+            file.failWrite(stream);
+            throw e;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
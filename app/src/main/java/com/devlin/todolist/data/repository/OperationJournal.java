@@ -0,0 +1,223 @@
+package com.devlin.todolist.data.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.devlin.todolist.data.dao.JournalDao;
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.entity.JournalEntryEntity;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * OperationJournal menyimpan riwayat undo/redo bertingkat. Setiap operasi tulis di
+ * TaskWriteQueue mencatat langkah kebalikannya di sini, di dalam transaksi yang sama.
+ * Tabel journal ikut di-rollback bersama transaksi itu; isi memori tidak, jadi antrean
+ * mengambil {@link #snapshot()} sebelum transaksi dan memanggil {@link #restore} jika gagal.
+ *
+ * Langkah terbaru disimpan di memori. Jika perkiraan ukurannya melewati batas memori,
+ * langkah tertua dipindahkan ke tabel journal di disk dan dimuat kembali saat di-undo.
+ * Semua method (kecuali getter LiveData) hanya boleh dipanggil dari thread penulis.
+ */
+final class OperationJournal {
+
+    private static final String TAG = "OperationJournal";
+
+    // Batas memori untuk langkah undo sebelum dipindah ke disk
+    static final long DEFAULT_MEMORY_BUDGET_BYTES = 512 * 1024;
+    // Jumlah langkah undo maksimal (memori + disk)
+    static final int DEFAULT_MAX_ENTRIES = 100;
+    // Token untuk undo(dao, token) yang membatalkan langkah teratas apa pun
+    static final long ANY_TOKEN = 0;
+
+    private final JournalDao journalDao;
+    private final long memoryBudgetBytes;
+    private final int maxEntries;
+
+    // Langkah terbaru di akhir deque
+    private final Deque<JournalEntry> undoStack = new ArrayDeque<>();
+    private final Deque<JournalEntry> redoStack = new ArrayDeque<>();
+    private long undoStackBytes;
+    private int spilledCount;
+
+    private final MutableLiveData<Boolean> canUndo = new MutableLiveData<>(false);
+    private final MutableLiveData<Boolean> canRedo = new MutableLiveData<>(false);
+
+    OperationJournal(JournalDao journalDao, long memoryBudgetBytes, int maxEntries) {
+        this.journalDao = journalDao;
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.maxEntries = maxEntries;
+    }
+
+    LiveData<Boolean> getCanUndo() {
+        return canUndo;
+    }
+
+    LiveData<Boolean> getCanRedo() {
+        return canRedo;
+    }
+
+    /**
+     * Catat operasi baru. Riwayat redo dibuang karena tidak lagi berlaku.
+     */
+    void record(JournalEntry entry) {
+        redoStack.clear();
+        pushUndo(entry);
+        publishState();
+    }
+
+    /**
+     * Buang seluruh riwayat undo/redo, misalnya setelah semua tugas diganti dari cadangan
+     */
+    void clear() {
+        undoStack.clear();
+        redoStack.clear();
+        undoStackBytes = 0;
+        if (spilledCount > 0) {
+            journalDao.deleteAll();
+            spilledCount = 0;
+        }
+        publishState();
+    }
+
+    /**
+     * Salin keadaan riwayat di memori (isi langkah tidak disalin karena tidak pernah diubah)
+     */
+    Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Kembalikan keadaan riwayat ke snapshot, setelah transaksi yang mengubahnya di-rollback
+     */
+    void restore(Snapshot snapshot) {
+        undoStack.clear();
+        undoStack.addAll(snapshot.undoStack);
+        redoStack.clear();
+        redoStack.addAll(snapshot.redoStack);
+        undoStackBytes = snapshot.undoStackBytes;
+        spilledCount = snapshot.spilledCount;
+        publishState();
+    }
+
+    /**
+     * Batalkan langkah terakhir
+     *
+     * @return langkah yang dibatalkan, atau null jika riwayat kosong
+     */
+    JournalEntry undo(TaskDao dao) {
+        return undo(dao, ANY_TOKEN);
+    }
+
+    /**
+     * Batalkan langkah terakhir hanya jika langkah itu berasal dari operasi dengan token ini
+     *
+     * @return langkah yang dibatalkan, atau null jika riwayat kosong atau langkah teratas milik operasi lain
+     */
+    JournalEntry undo(TaskDao dao, long token) {
+        JournalEntry entry = popUndo();
+        if (entry == null) {
+            return null;
+        }
+        if (token != ANY_TOKEN && entry.getToken() != token) {
+            // Kembalikan tanpa diubah; langkah dari disk cukup tinggal di memori
+            undoStack.addLast(entry);
+            undoStackBytes += entry.estimatedBytes();
+            return null;
+        }
+        entry.undo(dao);
+        redoStack.addLast(entry);
+        if (redoStack.size() > maxEntries) {
+            redoStack.removeFirst();
+        }
+        publishState();
+        return entry;
+    }
+
+    /**
+     * Ulangi langkah yang terakhir dibatalkan
+     *
+     * @return langkah yang diulangi, atau null jika tidak ada
+     */
+    JournalEntry redo(TaskDao dao) {
+        JournalEntry entry = redoStack.pollLast();
+        if (entry == null) {
+            return null;
+        }
+        entry.redo(dao);
+        pushUndo(entry);
+        publishState();
+        return entry;
+    }
+
+    private void pushUndo(JournalEntry entry) {
+        undoStack.addLast(entry);
+        undoStackBytes += entry.estimatedBytes();
+
+        // Pindahkan langkah tertua ke disk, tetapi selalu sisakan langkah terbaru di memori
+        while (undoStackBytes > memoryBudgetBytes && undoStack.size() > 1) {
+            JournalEntry oldest = undoStack.removeFirst();
+            undoStackBytes -= oldest.estimatedBytes();
+            journalDao.insert(new JournalEntryEntity(System.currentTimeMillis(), oldest.encode()));
+            spilledCount++;
+        }
+
+        int overflow = undoStack.size() + spilledCount - maxEntries;
+        if (overflow > 0) {
+            int fromDisk = Math.min(overflow, spilledCount);
+            if (fromDisk > 0) {
+                journalDao.deleteOldest(fromDisk);
+                spilledCount -= fromDisk;
+            }
+            for (int i = fromDisk; i < overflow; i++) {
+                undoStackBytes -= undoStack.removeFirst().estimatedBytes();
+            }
+        }
+    }
+
+    private JournalEntry popUndo() {
+        JournalEntry entry = undoStack.pollLast();
+        if (entry != null) {
+            undoStackBytes -= entry.estimatedBytes();
+            return entry;
+        }
+        while (spilledCount > 0) {
+            JournalEntryEntity stored = journalDao.getNewest();
+            if (stored == null) {
+                spilledCount = 0;
+                break;
+            }
+            journalDao.deleteById(stored.getId());
+            spilledCount--;
+            try {
+                return JournalEntry.decode(stored.getPayload());
+            } catch (IOException e) {
+                Log.w(TAG, "Langkah jurnal rusak dilewati", e);
+            }
+        }
+        return null;
+    }
+
+    private void publishState() {
+        canUndo.postValue(!undoStack.isEmpty() || spilledCount > 0);
+        canRedo.postValue(!redoStack.isEmpty());
+    }
+
+    static final class Snapshot {
+        private final ArrayDeque<JournalEntry> undoStack;
+        private final ArrayDeque<JournalEntry> redoStack;
+        private final long undoStackBytes;
+        private final int spilledCount;
+
+        private Snapshot(OperationJournal journal) {
+            undoStack = new ArrayDeque<>(journal.undoStack);
+            redoStack = new ArrayDeque<>(journal.redoStack);
+            undoStackBytes = journal.undoStackBytes;
+            spilledCount = journal.spilledCount;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.devlin.todolist.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * OverdueClock adalah LiveData berisi waktu "sekarang" untuk perhitungan tugas terlambat.
+ * Nilainya tidak diperbarui secara berkala (polling), melainkan hanya saat tenggat
+ * terdekat terlewati. Tenggat terdekat dicari dengan query MIN(due_date) yang memakai
+ * indeks, dan dicari ulang setiap kali tabel tasks berubah.
+ */
+public class OverdueClock extends LiveData<Long> {
+
+    /**
+     * Sumber waktu. Bisa diganti dengan jam virtual untuk pengujian.
+     */
+    interface Clock {
+        long now();
+    }
+
+    /**
+     * Penjadwal di main thread. Bisa diganti dengan jam virtual untuk pengujian.
+     */
+    interface Scheduler {
+        Cancellable schedule(@NonNull Runnable task, long delayMillis);
+    }
+
+    interface Cancellable {
+        void cancel();
+    }
+
+    /**
+     * Pemberi tahu perubahan tabel tasks (InvalidationTracker di aplikasi)
+     */
+    interface TableObserver {
+        void start(@NonNull Runnable onChanged);
+
+        void stop();
+    }
+
+    private final TaskDao taskDao;
+    private final Executor queryExecutor;
+    private final TableObserver tableObserver;
+    private final Clock clock;
+    private final Scheduler scheduler;
+
+    private Cancellable boundaryTick;
+
+    public OverdueClock(AppDatabase database) {
+        this(database.taskDao(), database.getQueryExecutor(),
+                new TrackerObserver(database.getInvalidationTracker()),
+                System::currentTimeMillis, new HandlerScheduler());
+    }
+
+    OverdueClock(TaskDao taskDao, Executor queryExecutor, TableObserver tableObserver,
+                 Clock clock, Scheduler scheduler) {
+        super(clock.now());
+        this.taskDao = taskDao;
+        this.queryExecutor = queryExecutor;
+        this.tableObserver = tableObserver;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    protected void onActive() {
+        // Tenggat bisa saja terlewati selama tidak ada observer
+        setValue(clock.now());
+        // Tugas baru/diubah bisa punya tenggat yang lebih dekat
+        tableObserver.start(this::scheduleNextBoundary);
+        scheduleNextBoundary();
+    }
+
+    @Override
+    protected void onInactive() {
+        tableObserver.stop();
+        cancelBoundaryTick();
+    }
+
+    private void onBoundaryReached() {
+        boundaryTick = null;
+        setValue(clock.now());
+        scheduleNextBoundary();
+    }
+
+    /**
+     * Cari tenggat terdekat di thread latar belakang, lalu jadwalkan tick tepat setelahnya
+     */
+    private void scheduleNextBoundary() {
+        queryExecutor.execute(() -> {
+            Long nextDueDate = taskDao.getNextDueDate(clock.now());
+            scheduler.schedule(() -> {
+                cancelBoundaryTick();
+                if (nextDueDate != null && hasActiveObservers()) {
+                    long delay = Math.max(0, nextDueDate - clock.now()) + 1;
+                    boundaryTick = scheduler.schedule(this::onBoundaryReached, delay);
+                }
+            }, 0);
+        });
+    }
+
+    private void cancelBoundaryTick() {
+        if (boundaryTick != null) {
+            boundaryTick.cancel();
+            boundaryTick = null;
+        }
+    }
+
+    /**
+     * Penjadwal default berbasis Handler di main thread
+     */
+    private static final class HandlerScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            handler.postDelayed(task, delayMillis);
+            return () -> handler.removeCallbacks(task);
+        }
+    }
+
+    /**
+     * Meneruskan invalidasi tabel tasks dari InvalidationTracker Room
+     */
+    private static final class TrackerObserver implements TableObserver {
+        private final InvalidationTracker invalidationTracker;
+        private InvalidationTracker.Observer observer;
+
+        TrackerObserver(InvalidationTracker invalidationTracker) {
+            this.invalidationTracker = invalidationTracker;
+        }
+
+        @Override
+        public void start(@NonNull Runnable onChanged) {
+            observer = new InvalidationTracker.Observer("tasks") {
+                @Override
+                public void onInvalidated(@NonNull Set<String> tables) {
+                    onChanged.run();
+                }
+            };
+            invalidationTracker.addObserver(observer);
+        }
+
+        @Override
+        public void stop() {
+            if (observer != null) {
+                invalidationTracker.removeObserver(observer);
+                observer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.devlin.todolist.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.InvalidationTracker;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TaskCache menyimpan baris tugas lengkap per id di memori (LRU, ukuran terbatas), sehingga
+ * membuka layar edit berulang kali tidak perlu membaca SQLite.
+ *
+ * Cache diisi saat baca (getTaskById). Setelah transaksinya selesai, TaskWriteQueue langsung
+ * membuang id yang ditulisnya agar tidak ada pembaca yang melihat isi lama sebelum Room
+ * melapor. Setiap laporan perubahan tabel dari InvalidationTracker mengosongkan seluruh cache:
+ * satu laporan bisa mewakili beberapa transaksi sekaligus, jadi asal perubahannya tidak bisa
+ * dibedakan. Akibatnya baris dibaca ulang sekali setelah penulisan, bukan setiap kali dibuka.
+ *
+ * Objek yang disimpan dan dikembalikan selalu salinan, karena TaskEntity bisa diubah.
+ */
+public final class TaskCache {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private static volatile TaskCache INSTANCE;
+
+    private final int maxSize;
+    private final Map<Integer, TaskEntity> entries;
+
+    // Naik pada setiap penulisan, supaya hasil baca yang dimulai sebelum penulisan tidak disimpan
+    private long generation;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public static TaskCache getInstance(AppDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (TaskCache.class) {
+                if (INSTANCE == null) {
+                    TaskCache cache = new TaskCache(DEFAULT_MAX_SIZE);
+                    database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("tasks") {
+                        @Override
+                        public void onInvalidated(@NonNull Set<String> tables) {
+                            cache.invalidateAll();
+                        }
+                    });
+                    INSTANCE = cache;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    TaskCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Integer, TaskEntity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TaskEntity> eldest) {
+                if (size() > TaskCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return salinan tugas yang tersimpan, atau null jika tidak ada di cache
+     */
+    @Nullable
+    synchronized TaskEntity get(int taskId) {
+        TaskEntity task = entries.get(taskId);
+        if (task == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return copy(task);
+    }
+
+    /**
+     * Generasi saat ini; ambil sebelum membaca database lalu berikan ke putIfUnchanged
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Simpan hasil baca database, kecuali ada penulisan sejak generasi yang diberikan
+     */
+    synchronized void putIfUnchanged(@Nullable TaskEntity task, long readGeneration) {
+        if (task != null && readGeneration == generation) {
+            entries.put(task.getId(), copy(task));
+        }
+    }
+
+    /**
+     * Buang satu tugas yang baru saja ditulis
+     */
+    synchronized void remove(int taskId) {
+        generation++;
+        entries.remove(taskId);
+    }
+
+    /**
+     * Kosongkan cache; dipanggil untuk setiap laporan InvalidationTracker dan setelah pemulihan cadangan
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static TaskEntity copy(TaskEntity task) {
+        TaskEntity copy = new TaskEntity(
+                task.getTitle(),
+                task.getDescription(),
+                task.isCompleted(),
+                task.getCreatedAt(),
+                task.getDueDate(),
+                task.getPriority(),
+                task.getCategory()
+        );
+        copy.setId(task.getId());
+        copy.setVersion(task.getVersion());
+        copy.setDeletedAt(task.getDeletedAt());
+        copy.setChangeSeq(task.getChangeSeq());
+        return copy;
+    }
+}
@@ -3,49 +3,108 @@ package com.devlin.todolist.data.repository;
 import android.app.Application;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
 import com.devlin.todolist.data.dao.TaskDao;
 import com.devlin.todolist.data.database.AppDatabase;
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.ListSnapshot;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.data.model.TaskStats;
+import com.devlin.todolist.data.transfer.TaskTransferRunner;
+import com.devlin.todolist.data.transfer.TransferFormat;
+import com.devlin.todolist.data.transfer.TransferStatus;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * TaskRepository mengabstraksi lapisan data dari ViewModel.
  * Menyediakan API bersih untuk akses data ke seluruh aplikasi.
+ * Satu instance dipakai bersama oleh semua ViewModel (lihat getInstance).
  */
 public class TaskRepository {
 
+    private static volatile TaskRepository INSTANCE;
+
+    // Konfigurasi paging: memori dan biaya refresh bergantung pada jendela yang terlihat,
+    // bukan pada ukuran tabel
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_DISTANCE = 50;
+    private static final int INITIAL_LOAD_SIZE = 100;
+    private static final int MAX_PAGED_ITEMS = 300;
+
     private final TaskDao taskDao;
-    private final LiveData<List<TaskEntity>> allTasks;
-    private final LiveData<List<TaskEntity>> activeTasks;
-    private final LiveData<List<TaskEntity>> completedTasks;
+    private final TaskCache taskCache;
+    private final TaskWriteQueue writeQueue;
+    private final ListSnapshotStore snapshotStore;
+    private final TaskTransferRunner transferRunner;
     private final LiveData<List<String>> allCategories;
+    private final OverdueClock overdueClock;
+    private final LiveData<TaskStats> taskStats;
+
+    public static TaskRepository getInstance(Application application) {
+        if (INSTANCE == null) {
+            synchronized (TaskRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TaskRepository(application);
+                }
+            }
+        }
+        return INSTANCE;
+    }
 
-    public TaskRepository(Application application) {
+    private TaskRepository(Application application) {
         AppDatabase database = AppDatabase.getDatabase(application);
         taskDao = database.taskDao();
-        allTasks = taskDao.getAllTasks();
-        activeTasks = taskDao.getActiveTasks();
-        completedTasks = taskDao.getCompletedTasks();
+        taskCache = TaskCache.getInstance(database);
+        writeQueue = TaskWriteQueue.getInstance(database);
+        snapshotStore = ListSnapshotStore.getInstance(application, database);
+        transferRunner = TaskTransferRunner.getInstance(database);
+        overdueClock = new OverdueClock(database);
+        // Query statistik dibuat ulang hanya saat sebuah tenggat terlewati
+        taskStats = Transformations.switchMap(overdueClock, now -> taskDao.getTaskStats(now));
         allCategories = taskDao.getAllCategories();
     }
 
     // Getter LiveData - Room menjalankan semua query di thread terpisah
-    public LiveData<List<TaskEntity>> getAllTasks() {
-        return allTasks;
-    }
-
-    public LiveData<List<TaskEntity>> getActiveTasks() {
-        return activeTasks;
-    }
-
-    public LiveData<List<TaskEntity>> getCompletedTasks() {
-        return completedTasks;
+    /**
+     * Ambil satu tugas lengkap. Dilayani dari TaskCache jika ada; jika tidak, dibaca sekali
+     * di thread baca lalu disimpan ke cache. Hasilnya tidak mengikuti perubahan berikutnya.
+     */
+    public LiveData<TaskEntity> getTaskById(int taskId) {
+        TaskEntity cached = taskCache.get(taskId);
+        if (cached != null) {
+            return new MutableLiveData<>(cached);
+        }
+        MutableLiveData<TaskEntity> result = new MutableLiveData<>();
+        AppDatabase.databaseReadExecutor.execute(() -> result.postValue(loadTask(taskId)));
+        return result;
     }
 
-    public LiveData<TaskEntity> getTaskById(int taskId) {
-        return taskDao.getTaskById(taskId);
+    /**
+     * Baca snapshot halaman pertama terakhir (urutan default) tanpa menunggu database.
+     * Callback dipanggil di thread latar dengan null jika snapshot tidak ada atau kedaluwarsa.
+     */
+    public void loadListSnapshot(Consumer<ListSnapshot> callback) {
+        snapshotStore.load(callback);
     }
 
     public LiveData<List<String>> getAllCategories() {
@@ -53,38 +112,134 @@ public class TaskRepository {
     }
 
     /**
-     * Cari tugas berdasarkan query
+     * Daftar tugas berhalaman untuk satu TaskQuery. Hanya satu query yang aktif per state,
+     * sehingga setiap penulisan memicu satu query ulang, bukan satu per filter.
+     */
+    public LiveData<PagingData<TaskListItem>> getTasksPaged(TaskQuery query) {
+        SupportSQLiteQuery sqlQuery = buildListQuery(query);
+        if (sqlQuery == null) {
+            return new MutableLiveData<>(PagingData.empty());
+        }
+        return createPagedLiveData(() -> taskDao.getTasksPaged(sqlQuery));
+    }
+
+    /**
+     * Bangun SQL daftar dari TaskQuery. Tombstone selalu disaring, dan urutan mengikuti
+     * indeks yang ada (semuanya diawali deleted_at): (priority, created_at),
+     * (is_completed, priority, created_at), dan (is_completed, created_at).
+     *
+     * @return query, atau null jika pencarian tidak berisi kata yang bisa dicari
      */
-    public LiveData<List<TaskEntity>> searchTasks(String query) {
-        return taskDao.searchTasks(query);
+    static SupportSQLiteQuery buildListQuery(TaskQuery query) {
+        return buildListQuery(query, 0);
     }
 
     /**
-     * Ambil tugas berdasarkan kategori
+     * @param limit jumlah baris maksimal; 0 berarti tanpa batas (paging memberi LIMIT sendiri)
      */
-    public LiveData<List<TaskEntity>> getTasksByCategory(String category) {
-        return taskDao.getTasksByCategory(category);
+    static SupportSQLiteQuery buildListQuery(TaskQuery query, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        StringBuilder sql = new StringBuilder("SELECT ").append(TaskDao.LIST_COLUMNS).append(" FROM tasks");
+
+        appendCondition(where, "tasks." + TaskDao.NOT_DELETED);
+
+        String matchQuery = null;
+        if (query.hasSearch()) {
+            matchQuery = toFtsMatchQuery(query.getSearch());
+            if (matchQuery == null) {
+                return null;
+            }
+            sql.append(" JOIN tasks_fts ON tasks.id = tasks_fts.docid");
+            appendCondition(where, "tasks_fts MATCH ?");
+            args.add(matchQuery);
+        }
+
+        switch (query.getStatus()) {
+            case ACTIVE:
+                appendCondition(where, "tasks.is_completed = 0");
+                break;
+            case COMPLETED:
+                appendCondition(where, "tasks.is_completed = 1");
+                break;
+            case ALL:
+            default:
+                break;
+        }
+
+        sql.append(where).append(" ORDER BY ");
+        if (matchQuery != null) {
+            // Tugas yang cocok di judul ditampilkan lebih dulu
+            sql.append("(tasks.id IN (SELECT docid FROM tasks_fts WHERE title MATCH ?)) DESC, ");
+            args.add(matchQuery);
+        }
+        if (query.getStatus() == TaskQuery.Status.COMPLETED) {
+            sql.append("tasks.created_at DESC");
+        } else {
+            sql.append("tasks.priority DESC, tasks.created_at DESC");
+        }
+
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            args.add(limit);
+        }
+        return new SimpleSQLiteQuery(sql.toString(), args.toArray());
+    }
+
+    private static void appendCondition(StringBuilder where, String condition) {
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(condition);
+    }
+
+    private LiveData<PagingData<TaskListItem>> createPagedLiveData(
+            Supplier<PagingSource<Integer, TaskListItem>> pagingSourceFactory) {
+        PagingConfig config = new PagingConfig(
+                PAGE_SIZE,
+                PREFETCH_DISTANCE,
+                false,
+                INITIAL_LOAD_SIZE,
+                MAX_PAGED_ITEMS
+        );
+        Pager<Integer, TaskListItem> pager = new Pager<>(config, pagingSourceFactory::get);
+        return PagingLiveData.getLiveData(pager);
     }
 
     /**
-     * Statistik: Hitung tugas aktif
+     * Ubah input pengguna menjadi query MATCH FTS4 dengan pencocokan awalan.
+     * Contoh: "belajar and" menjadi "belajar* and*" (semua kata harus ada).
+     * Karakter khusus FTS dibuang agar input pengguna tidak bisa merusak sintaks query.
+     *
+     * @return query MATCH, atau null jika tidak ada kata yang bisa dicari
      */
-    public LiveData<Integer> getActiveTaskCount() {
-        return taskDao.getActiveTaskCount();
+    static String toFtsMatchQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (String token : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(token).append('*');
+        }
+        return builder.length() > 0 ? builder.toString() : null;
     }
 
     /**
-     * Statistik: Hitung tugas selesai
+     * Statistik: jumlah tugas aktif, selesai, dan terlambat dalam satu query
      */
-    public LiveData<Integer> getCompletedTaskCount() {
-        return taskDao.getCompletedTaskCount();
+    public LiveData<TaskStats> getTaskStats() {
+        return taskStats;
     }
 
     /**
-     * Statistik: Hitung tugas terlambat
+     * Waktu acuan untuk status terlambat; berubah hanya saat sebuah tenggat terlewati
      */
-    public LiveData<Integer> getOverdueTaskCount() {
-        return taskDao.getOverdueTaskCount(System.currentTimeMillis());
+    public LiveData<Long> getOverdueClock() {
+        return overdueClock;
     }
 
     /**
@@ -92,67 +247,187 @@ public class TaskRepository {
      * Harus dipanggil dari thread latar belakang
      */
     public TaskEntity getTaskByIdSync(int taskId) {
-        return taskDao.getTaskByIdSync(taskId);
+        TaskEntity cached = taskCache.get(taskId);
+        return cached != null ? cached : loadTask(taskId);
+    }
+
+    private TaskEntity loadTask(int taskId) {
+        long generation = taskCache.generation();
+        TaskEntity task = taskDao.getTaskByIdSync(taskId);
+        taskCache.putIfUnchanged(task, generation);
+        return task;
+    }
+
+    /**
+     * Cache tugas per id (untuk statistik hit/miss/eviction)
+     */
+    public TaskCache getTaskCache() {
+        return taskCache;
     }
 
     /**
      * Sisipkan tugas baru
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void insert(TaskEntity task) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            taskDao.insert(task);
-        });
+        writeQueue.insert(task);
     }
 
     /**
      * Perbarui tugas yang ada
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void update(TaskEntity task) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            taskDao.update(task);
-        });
+        writeQueue.update(task);
     }
 
     /**
      * Hapus tugas
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void delete(TaskEntity task) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            taskDao.delete(task);
-        });
+        writeQueue.delete(task);
     }
 
     /**
      * Hapus tugas berdasarkan ID
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void deleteById(int taskId) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            taskDao.deleteById(taskId);
-        });
+        writeQueue.deleteById(taskId);
     }
 
     /**
      * Hapus semua tugas
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void deleteAll() {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            taskDao.deleteAll();
-        });
+        writeQueue.deleteAll();
+    }
+
+    /**
+     * Set status selesai tugas
+     * Beberapa perubahan pada tugas yang sama dalam satu jendela digabung menjadi satu
+     */
+    public void setCompleted(int taskId, boolean completed) {
+        writeQueue.setCompleted(taskId, completed);
     }
 
     /**
      * Toggle status selesai tugas
-     * Berjalan di thread latar belakang via ExecutorService
+     * Dikumpulkan di TaskWriteQueue dan dijalankan di thread latar belakang
      */
     public void toggleComplete(TaskEntity task) {
-        AppDatabase.databaseWriteExecutor.execute(() -> {
-            task.setCompleted(!task.isCompleted());
-            taskDao.update(task);
+        writeQueue.setCompleted(task.getId(), !task.isCompleted());
+    }
+
+    /**
+     * Sisipkan banyak tugas dalam satu transaksi (misalnya untuk undo hapus massal)
+     */
+    public void insertAll(List<TaskEntity> tasks) {
+        writeQueue.insertAll(tasks);
+    }
+
+    /**
+     * Operasi massal: set status selesai banyak tugas dengan UPDATE ... WHERE id IN (...),
+     * dipotong per TaskDao.MAX_IDS_PER_STATEMENT id dalam satu transaksi
+     */
+    public void setCompleted(int[] taskIds, boolean completed) {
+        writeQueue.setCompleted(taskIds, completed);
+    }
+
+    /**
+     * Operasi massal: tandai banyak tugas terhapus (tombstone) dengan UPDATE deleted_at ...
+     * WHERE id IN (...), dipotong per TaskDao.MAX_IDS_PER_STATEMENT id dalam satu transaksi.
+     * Baris dibuang permanen belakangan oleh TombstonePurger.
+     *
+     * @return token untuk {@link #undo(long)}
+     */
+    public long deleteByIds(int[] taskIds) {
+        return writeQueue.deleteByIds(taskIds);
+    }
+
+    /**
+     * Operasi massal: pindahkan banyak tugas ke kategori lain
+     */
+    public void moveToCategory(int[] taskIds, String category) {
+        writeQueue.moveToCategory(taskIds, category);
+    }
+
+    /**
+     * Batalkan operasi tulis terakhir. Semua perubahannya dikembalikan dalam satu transaksi,
+     * berapa pun jumlah tugas yang terlibat.
+     */
+    public void undo() {
+        writeQueue.undo();
+    }
+
+    /**
+     * Batalkan penghapusan dengan token dari deleteByIds, hanya jika masih operasi terakhir
+     */
+    public void undo(long token) {
+        writeQueue.undo(token);
+    }
+
+    /**
+     * Ulangi operasi yang terakhir dibatalkan
+     */
+    public void redo() {
+        writeQueue.redo();
+    }
+
+    public LiveData<Boolean> getCanUndo() {
+        return writeQueue.getCanUndo();
+    }
+
+    public LiveData<Boolean> getCanRedo() {
+        return writeQueue.getCanRedo();
+    }
+
+    /**
+     * Jalankan semua penulisan yang masih tertunda sekarang juga
+     */
+    public void flushPendingWrites() {
+        writeQueue.flush();
+    }
+
+    /**
+     * Ekspor semua tugas (streaming) ke stream yang dibuka di thread transfer
+     */
+    public void exportTasks(Callable<? extends OutputStream> opener, TransferFormat format) {
+        transferRunner.export(opener, format);
+    }
+
+    /**
+     * Impor tugas JSON/CSV (streaming, per potongan transaksi) dari stream yang dibuka di thread transfer
+     */
+    public void importTasks(Callable<? extends InputStream> opener) {
+        transferRunner.importTasks(opener);
+    }
+
+    /**
+     * Tulis cadangan biner (penuh atau inkremental) ke channel yang dibuka di thread transfer
+     */
+    public void backupTasks(Callable<? extends WritableByteChannel> opener, boolean incremental) {
+        transferRunner.backup(opener, incremental);
+    }
+
+    /**
+     * Pulihkan cadangan biner; berjalan di thread penulis setelah penulisan tertunda, lalu riwayat undo dikosongkan.
+     * Setelah berhasil, cache tugas dan snapshot daftar dibuang karena isinya milik data lama.
+     */
+    public void restoreTasks(Callable<? extends ReadableByteChannel> opener) {
+        transferRunner.restore(opener, writeQueue::runExclusive, () -> {
+            taskCache.invalidateAll();
+            snapshotStore.invalidate();
         });
     }
+
+    public void cancelTransfer() {
+        transferRunner.cancel();
+    }
+
+    public LiveData<TransferStatus> getTransferStatus() {
+        return transferRunner.getStatus();
+    }
 }
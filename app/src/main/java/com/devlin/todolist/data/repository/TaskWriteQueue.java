@@ -0,0 +1,688 @@
+package com.devlin.todolist.data.repository;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.util.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskWriteQueue mengumpulkan operasi tulis selama jendela waktu singkat lalu
+ * menjalankannya dalam satu transaksi SQLite. Satu transaksi berarti satu fsync dan
+ * satu invalidasi Room, sehingga daftar tugas hanya dimuat ulang sekali per batch.
+ *
+ * Operasi yang seluruh hasilnya tertimpa oleh operasi berikutnya pada id yang sama dibuang
+ * sebelum dijalankan (misalnya beberapa kali centang/hapus centang tugas yang sama, atau
+ * dua kali simpan dari layar edit). Operasi sebelum hapus tidak pernah dibuang: hapus hanya
+ * tombstone yang bisa di-undo, dan setelah undo hasil operasi itu harus tetap ada.
+ * Urutan operasi yang tersisa selalu dipertahankan.
+ *
+ * Setiap operasi mencatat langkah kebalikannya di OperationJournal dalam transaksi yang
+ * sama, sehingga undo/redo juga dijalankan sebagai operasi biasa di antrean ini. Setiap
+ * operasi diberi token saat diantrekan; undo(long) hanya membatalkan langkah milik token itu.
+ * Setelah transaksi berhasil, setiap operasi membuang tugas yang ditulisnya dari TaskCache.
+ */
+public class TaskWriteQueue {
+
+    // Jendela pengumpulan default: cukup pendek agar tidak terasa, cukup panjang untuk ketukan beruntun
+    public static final long DEFAULT_FLUSH_DELAY_MS = 50;
+
+    private static volatile TaskWriteQueue INSTANCE;
+
+    private final AppDatabase database;
+    private final TaskDao taskDao;
+    private final TaskCache taskCache;
+    private final OperationJournal journal;
+    private final Executor writeExecutor;
+    private final ScheduledExecutorService flushTimer;
+    private final long flushDelayMillis;
+
+    private final Object lock = new Object();
+    private final List<WriteOp> pending = new ArrayList<>();
+    private boolean flushScheduled;
+    private long lastToken = OperationJournal.ANY_TOKEN;
+
+    public static TaskWriteQueue getInstance(AppDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (TaskWriteQueue.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TaskWriteQueue(
+                            database,
+                            TaskCache.getInstance(database),
+                            AppDatabase.databaseWriteExecutor,
+                            DEFAULT_FLUSH_DELAY_MS
+                    );
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * @param flushDelayMillis lama jendela pengumpulan; 0 berarti langsung dijalankan
+     */
+    public TaskWriteQueue(AppDatabase database, TaskCache taskCache, Executor writeExecutor, long flushDelayMillis) {
+        this.database = database;
+        this.taskDao = database.taskDao();
+        this.taskCache = taskCache;
+        this.journal = new OperationJournal(database.journalDao(),
+                OperationJournal.DEFAULT_MEMORY_BUDGET_BYTES, OperationJournal.DEFAULT_MAX_ENTRIES);
+        this.writeExecutor = writeExecutor;
+        this.flushDelayMillis = flushDelayMillis;
+        this.flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void insert(TaskEntity task) {
+        enqueue(new InsertOp(task));
+    }
+
+    public void update(TaskEntity task) {
+        enqueue(new UpdateOp(task));
+    }
+
+    /**
+     * @return token operasi untuk {@link #undo(long)}
+     */
+    public long delete(TaskEntity task) {
+        return enqueue(new DeleteOp(task.getId()));
+    }
+
+    /**
+     * @return token operasi untuk {@link #undo(long)}
+     */
+    public long deleteById(int taskId) {
+        return enqueue(new DeleteOp(taskId));
+    }
+
+    public void setCompleted(int taskId, boolean completed) {
+        enqueue(new SetCompletedOp(taskId, completed));
+    }
+
+    public void deleteAll() {
+        enqueue(new DeleteAllOp());
+    }
+
+    public void insertAll(List<TaskEntity> tasks) {
+        enqueue(new InsertAllOp(tasks));
+    }
+
+    public void setCompleted(int[] taskIds, boolean completed) {
+        enqueue(new BulkSetCompletedOp(taskIds, completed));
+    }
+
+    /**
+     * @return token operasi untuk {@link #undo(long)}
+     */
+    public long deleteByIds(int[] taskIds) {
+        return enqueue(new BulkDeleteOp(taskIds));
+    }
+
+    public void moveToCategory(int[] taskIds, String category) {
+        enqueue(new MoveToCategoryOp(taskIds, category));
+    }
+
+    /**
+     * Batalkan operasi terakhir yang tercatat, setelah semua operasi sebelumnya dijalankan
+     */
+    public void undo() {
+        enqueue(new UndoOp(journal, OperationJournal.ANY_TOKEN));
+    }
+
+    /**
+     * Batalkan operasi dengan token tertentu, hanya jika langkahnya masih teratas di riwayat
+     * saat giliran undo ini tiba (misalnya tombol undo di Snackbar setelah penulisan lain).
+     */
+    public void undo(long token) {
+        enqueue(new UndoOp(journal, token));
+    }
+
+    /**
+     * Ulangi operasi yang terakhir dibatalkan
+     */
+    public void redo() {
+        enqueue(new RedoOp(journal));
+    }
+
+    public LiveData<Boolean> getCanUndo() {
+        return journal.getCanUndo();
+    }
+
+    public LiveData<Boolean> getCanRedo() {
+        return journal.getCanRedo();
+    }
+
+    /**
+     * Jalankan job di thread penulis setelah semua operasi tertunda, lalu kosongkan riwayat
+     * undo karena id di dalamnya tidak lagi berlaku (misalnya setelah memulihkan cadangan)
+     */
+    public void runExclusive(Runnable job) {
+        writeExecutor.execute(() -> {
+            drain();
+            try {
+                job.run();
+            } finally {
+                journal.clear();
+            }
+        });
+    }
+
+    /**
+     * Jalankan semua operasi tertunda sekarang tanpa menunggu jendela pengumpulan habis.
+     * Dipanggil saat layar ditutup agar tidak ada perubahan yang tertinggal.
+     */
+    public void flush() {
+        writeExecutor.execute(this::drain);
+    }
+
+    private long enqueue(WriteOp op) {
+        synchronized (lock) {
+            op.token = ++lastToken;
+            addCoalesced(pending, op);
+
+            if (!flushScheduled) {
+                flushScheduled = true;
+                if (flushDelayMillis <= 0) {
+                    writeExecutor.execute(this::drain);
+                } else {
+                    flushTimer.schedule(() -> writeExecutor.execute(this::drain),
+                            flushDelayMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            return op.token;
+        }
+    }
+
+    /**
+     * Tambahkan op ke akhir daftar setelah membuang operasi lama yang hasilnya pasti tertimpa op.
+     * Pencarian mundur berhenti di operasi pembatas (lihat {@link WriteOp#blocksCoalescing}),
+     * karena operasi sebelum pembatas menentukan isi undo pembatas itu.
+     */
+    static void addCoalesced(List<WriteOp> pending, WriteOp op) {
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            WriteOp earlier = pending.get(i);
+            if (op.supersedes(earlier)) {
+                pending.remove(i);
+            } else if (earlier.blocksCoalescing(op)) {
+                break;
+            }
+        }
+        pending.add(op);
+    }
+
+    /**
+     * Ambil semua operasi tertunda dan jalankan dalam satu transaksi.
+     * Harus dipanggil dari writeExecutor.
+     */
+    private void drain() {
+        List<WriteOp> batch;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        // Jurnal di memori tidak ikut rollback; kembalikan sendiri jika transaksi gagal
+        OperationJournal.Snapshot journalBefore = journal.snapshot();
+        try {
+            database.runInTransaction(() -> {
+                for (WriteOp op : batch) {
+                    JournalEntry entry = op.apply(taskDao);
+                    if (entry != null) {
+                        entry.setToken(op.token);
+                        journal.record(entry);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            journal.restore(journalBefore);
+            throw e;
+        }
+        for (WriteOp op : batch) {
+            op.evict(taskCache);
+        }
+    }
+
+    /**
+     * Baca baris lengkap untuk banyak id, dipotong per MAX_IDS_PER_STATEMENT
+     */
+    private static List<TaskEntity> loadRows(TaskDao dao, int[] taskIds) {
+        List<TaskEntity> rows = new ArrayList<>(taskIds.length);
+        for (int start = 0; start < taskIds.length; start += TaskDao.MAX_IDS_PER_STATEMENT) {
+            int end = Math.min(start + TaskDao.MAX_IDS_PER_STATEMENT, taskIds.length);
+            rows.addAll(dao.getTasksByIdsSync(Arrays.copyOfRange(taskIds, start, end)));
+        }
+        return rows;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = values.get(i);
+        }
+        return ids;
+    }
+
+    /**
+     * Satu operasi tulis yang menunggu dijalankan
+     */
+    abstract static class WriteOp {
+        static final int NO_ID = -1;
+
+        final int taskId;
+        // Diisi saat diantrekan
+        long token;
+
+        WriteOp(int taskId) {
+            this.taskId = taskId;
+        }
+
+        /**
+         * True jika operasi ini membuat operasi lama tidak berpengaruh lagi
+         */
+        boolean supersedes(@NonNull WriteOp earlier) {
+            return false;
+        }
+
+        /**
+         * True jika operasi lama sebelum operasi ini tidak boleh dibuang oleh op yang lebih baru.
+         * Operasi banyak tugas dan undo/redo selalu jadi pembatas.
+         */
+        boolean blocksCoalescing(@NonNull WriteOp later) {
+            return taskId == NO_ID;
+        }
+
+        /**
+         * Jalankan operasi di dalam transaksi antrean
+         *
+         * @return langkah undo/redo untuk jurnal, atau null jika tidak ada yang berubah
+         */
+        abstract JournalEntry apply(TaskDao dao);
+
+        /**
+         * Buang tugas yang ditulis operasi ini dari cache; dipanggil setelah transaksi berhasil
+         */
+        abstract void evict(TaskCache cache);
+    }
+
+    static final class InsertOp extends WriteOp {
+        private final TaskEntity task;
+
+        InsertOp(TaskEntity task) {
+            super(task.getId() > 0 ? task.getId() : NO_ID);
+            this.task = task;
+        }
+
+        @Override
+        boolean blocksCoalescing(@NonNull WriteOp later) {
+            // Menimpa baris yang sudah ada: undo-nya menyimpan isi baris sebelum insert
+            return taskId == NO_ID || later.taskId == taskId;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            TaskEntity before = taskId != NO_ID ? dao.getTaskByIdSync(taskId) : null;
+            // Id yang sudah ada (termasuk tombstone) ditimpa dengan UPDATE, lihat TaskDao.overwriteAll
+            if (taskId == NO_ID || !dao.overwrite(task)) {
+                task.setId((int) dao.insert(task));
+            }
+            int[] ids = {task.getId()};
+            if (before != null) {
+                return JournalEntry.of(
+                        JournalAction.restoreRows(Collections.singletonList(before)),
+                        JournalAction.restoreRows(Collections.singletonList(task)));
+            }
+            // Tugas baru: undo cukup menandainya terhapus, redo mengembalikan tombstone-nya
+            return JournalEntry.of(JournalAction.deleteRows(ids), JournalAction.restoreDeleted(ids));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            cache.remove(task.getId());
+        }
+    }
+
+    static final class UpdateOp extends WriteOp {
+        private final TaskEntity task;
+
+        UpdateOp(TaskEntity task) {
+            super(task.getId());
+            this.task = task;
+        }
+
+        @Override
+        boolean supersedes(@NonNull WriteOp earlier) {
+            // Update menulis ulang semua kolom data. SetCompletedOp sebelumnya tetap dijalankan
+            // agar undo update ini kembali ke status centang itu, bukan ke status sebelumnya.
+            return earlier.taskId == taskId && earlier instanceof UpdateOp;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            TaskEntity before = dao.getTaskByIdSync(taskId);
+            if (before == null) {
+                return null;
+            }
+            dao.update(task);
+            return JournalEntry.of(
+                    JournalAction.updateRows(Collections.singletonList(before)),
+                    JournalAction.updateRows(Collections.singletonList(task)));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            cache.remove(taskId);
+        }
+    }
+
+    static final class SetCompletedOp extends WriteOp {
+        private final boolean completed;
+
+        SetCompletedOp(int taskId, boolean completed) {
+            super(taskId);
+            this.completed = completed;
+        }
+
+        @Override
+        boolean supersedes(@NonNull WriteOp earlier) {
+            return earlier.taskId == taskId && earlier instanceof SetCompletedOp;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            TaskEntity before = dao.getTaskByIdSync(taskId);
+            if (before == null || before.isCompleted() == completed) {
+                return null;
+            }
+            dao.setCompleted(taskId, completed);
+            int[] ids = {taskId};
+            return JournalEntry.of(
+                    JournalAction.setCompleted(ids, !completed),
+                    JournalAction.setCompleted(ids, completed));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            cache.remove(taskId);
+        }
+    }
+
+    static final class DeleteOp extends WriteOp {
+        DeleteOp(int taskId) {
+            super(taskId);
+        }
+
+        @Override
+        boolean blocksCoalescing(@NonNull WriteOp later) {
+            // Undo delete mengembalikan tugas ke isi terakhir sebelum dihapus
+            return later.taskId == taskId;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            // Tombstone: baris tetap ada, jadi undo hanya mengosongkan deleted_at lagi
+            int[] ids = {taskId};
+            if (dao.getLiveIdsSync(ids).isEmpty()) {
+                return null;
+            }
+            dao.deleteById(taskId, System.currentTimeMillis());
+            return JournalEntry.of(JournalAction.restoreDeleted(ids), JournalAction.deleteRows(ids));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            cache.remove(taskId);
+        }
+    }
+
+    static final class DeleteAllOp extends WriteOp {
+        DeleteAllOp() {
+            super(NO_ID);
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            int[] deletedIds = toIntArray(dao.getAllLiveIdsSync());
+            if (deletedIds.length == 0) {
+                return null;
+            }
+            dao.deleteAll(System.currentTimeMillis());
+            return JournalEntry.of(
+                    JournalAction.restoreDeleted(deletedIds),
+                    JournalAction.deleteRows(deletedIds));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Sisipkan banyak tugas sekaligus (data contoh/impor); tidak dicatat di jurnal
+     */
+    static final class InsertAllOp extends WriteOp {
+        private final List<TaskEntity> tasks;
+
+        InsertAllOp(List<TaskEntity> tasks) {
+            super(NO_ID);
+            this.tasks = new ArrayList<>(tasks);
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            dao.insertAll(tasks);
+            return null;
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            // Baris baru (id 0) belum pernah ada di cache; yang ditimpa berdasarkan id dibuang
+            for (TaskEntity task : tasks) {
+                cache.remove(task.getId());
+            }
+        }
+    }
+
+    static final class BulkSetCompletedOp extends WriteOp {
+        private final int[] taskIds;
+        private final boolean completed;
+
+        BulkSetCompletedOp(int[] taskIds, boolean completed) {
+            super(NO_ID);
+            this.taskIds = taskIds.clone();
+            this.completed = completed;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            // Hanya tugas yang statusnya benar-benar berubah yang perlu dikembalikan saat undo
+            IntArrayList changed = new IntArrayList(taskIds.length);
+            for (int start = 0; start < taskIds.length; start += TaskDao.MAX_IDS_PER_STATEMENT) {
+                int end = Math.min(start + TaskDao.MAX_IDS_PER_STATEMENT, taskIds.length);
+                for (int id : dao.getIdsNotInCompletedStateSync(Arrays.copyOfRange(taskIds, start, end), completed)) {
+                    changed.add(id);
+                }
+            }
+            if (changed.isEmpty()) {
+                return null;
+            }
+            int[] changedIds = changed.toArray();
+            dao.setCompletedByIds(changedIds, completed);
+            return JournalEntry.of(
+                    JournalAction.setCompleted(changedIds, !completed),
+                    JournalAction.setCompleted(changedIds, completed));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            for (int taskId : taskIds) {
+                cache.remove(taskId);
+            }
+        }
+    }
+
+    static final class BulkDeleteOp extends WriteOp {
+        private final int[] taskIds;
+
+        BulkDeleteOp(int[] taskIds) {
+            super(NO_ID);
+            this.taskIds = taskIds.clone();
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            // Cukup catat id yang benar-benar dihapus; isi baris tetap ada sebagai tombstone
+            IntArrayList live = new IntArrayList(taskIds.length);
+            for (int start = 0; start < taskIds.length; start += TaskDao.MAX_IDS_PER_STATEMENT) {
+                int end = Math.min(start + TaskDao.MAX_IDS_PER_STATEMENT, taskIds.length);
+                for (int id : dao.getLiveIdsSync(Arrays.copyOfRange(taskIds, start, end))) {
+                    live.add(id);
+                }
+            }
+            if (live.isEmpty()) {
+                return null;
+            }
+            int[] deletedIds = live.toArray();
+            dao.deleteByIds(deletedIds, System.currentTimeMillis());
+            return JournalEntry.of(
+                    JournalAction.restoreDeleted(deletedIds),
+                    JournalAction.deleteRows(deletedIds));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            for (int taskId : taskIds) {
+                cache.remove(taskId);
+            }
+        }
+    }
+
+    static final class MoveToCategoryOp extends WriteOp {
+        private final int[] taskIds;
+        private final String category;
+
+        MoveToCategoryOp(int[] taskIds, String category) {
+            super(NO_ID);
+            this.taskIds = taskIds.clone();
+            this.category = category;
+        }
+
+        @Override
+        JournalEntry apply(TaskDao dao) {
+            // Kelompokkan id per kategori lama; undo memindahkan tiap kelompok kembali
+            Map<String, IntArrayList> previous = new HashMap<>();
+            IntArrayList moved = new IntArrayList(taskIds.length);
+            for (TaskEntity row : loadRows(dao, taskIds)) {
+                if (Objects.equals(row.getCategory(), category)) {
+                    continue;
+                }
+                IntArrayList group = previous.get(row.getCategory());
+                if (group == null) {
+                    group = new IntArrayList();
+                    previous.put(row.getCategory(), group);
+                }
+                group.add(row.getId());
+                moved.add(row.getId());
+            }
+            if (moved.isEmpty()) {
+                return null;
+            }
+            int[] movedIds = moved.toArray();
+            dao.moveToCategory(movedIds, category);
+
+            List<JournalAction> undo = new ArrayList<>(previous.size());
+            for (Map.Entry<String, IntArrayList> group : previous.entrySet()) {
+                undo.add(JournalAction.moveToCategory(group.getValue().toArray(), group.getKey()));
+            }
+            return new JournalEntry(undo,
+                    Collections.singletonList(JournalAction.moveToCategory(movedIds, category)));
+        }
+
+        @Override
+        void evict(TaskCache cache) {
+            for (int taskId : taskIds) {
+                cache.remove(taskId);
+            }
+        }
+    }
+
+    /**
+     * Operasi undo/redo: menjalankan langkah dari jurnal dalam transaksi antrean
+     */
+    abstract static class JournalOp extends WriteOp {
+        final OperationJournal journal;
+        private JournalEntry applied;
+
+        JournalOp(OperationJournal journal) {
+            super(NO_ID);
+            this.journal = journal;
+        }
+
+        @Override
+        final JournalEntry apply(TaskDao dao) {
+            applied = replay(dao);
+            // Langkah undo/redo dikelola jurnal sendiri, bukan dicatat sebagai operasi baru
+            return null;
+        }
+
+        abstract JournalEntry replay(TaskDao dao);
+
+        @Override
+        void evict(TaskCache cache) {
+            if (applied == null) {
+                return;
+            }
+            for (int[] ids : applied.affectedIds()) {
+                for (int taskId : ids) {
+                    cache.remove(taskId);
+                }
+            }
+        }
+    }
+
+    static final class UndoOp extends JournalOp {
+        private final long targetToken;
+
+        UndoOp(OperationJournal journal, long targetToken) {
+            super(journal);
+            this.targetToken = targetToken;
+        }
+
+        @Override
+        JournalEntry replay(TaskDao dao) {
+            return journal.undo(dao, targetToken);
+        }
+    }
+
+    static final class RedoOp extends JournalOp {
+        RedoOp(OperationJournal journal) {
+            super(journal);
+        }
+
+        @Override
+        JournalEntry replay(TaskDao dao) {
+            return journal.redo(dao);
+        }
+    }
+}
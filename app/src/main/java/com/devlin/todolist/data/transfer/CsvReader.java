@@ -0,0 +1,103 @@
+package com.devlin.todolist.data.transfer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvReader membaca CSV (RFC 4180) satu baris per panggilan, termasuk nilai berkutip yang
+ * memuat koma atau baris baru. Daftar nilai dipakai ulang antar baris, jadi memori
+ * hanya sebesar baris terpanjang.
+ */
+final class CsvReader implements Closeable {
+
+    private final Reader reader;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private int pending = -2; // Karakter yang sudah dibaca tapi belum dipakai; -2 = tidak ada
+    private long lineNumber;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Baca baris berikutnya
+     *
+     * @return nilai-nilai baris (objek yang sama dipakai ulang), atau null di akhir berkas
+     */
+    List<String> readRow() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        lineNumber++;
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Kutip tidak ditutup pada baris " + lineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pending = next;
+                    }
+                }
+                fields.add(endField(wasQuoted));
+                return fields;
+            } else if (c == ',') {
+                fields.add(endField(wasQuoted));
+                wasQuoted = false;
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    private String endField(boolean wasQuoted) {
+        String value = field.length() == 0 && !wasQuoted ? "" : field.toString();
+        field.setLength(0);
+        return value;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.devlin.todolist.data.transfer;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CsvWriter menulis baris CSV (RFC 4180): nilai yang berisi koma, kutip, atau baris baru
+ * diapit kutip ganda dan kutip di dalamnya digandakan. Null ditulis sebagai nilai kosong.
+ */
+final class CsvWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+    private boolean rowStarted;
+
+    CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    CsvWriter value(String value) throws IOException {
+        if (rowStarted) {
+            writer.write(',');
+        }
+        rowStarted = true;
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        if (needsQuotes(value)) {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+        return this;
+    }
+
+    CsvWriter value(long value) throws IOException {
+        return value(Long.toString(value));
+    }
+
+    void endRow() throws IOException {
+        writer.write("\r\n");
+        rowStarted = false;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
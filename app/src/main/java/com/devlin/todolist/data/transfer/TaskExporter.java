@@ -0,0 +1,174 @@
+package com.devlin.todolist.data.transfer;
+
+import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TaskExporter menulis semua tugas yang belum dihapus ke JSON atau CSV secara streaming.
+ *
+ * Baris dibaca per potongan dengan keyset (id > id terakhir, LIMIT CHUNK_SIZE), setiap
+ * potongan dengan Cursor-nya sendiri. Tidak ada transaksi baca panjang yang menahan WAL,
+ * dan memori tetap sebesar satu CursorWindow berapa pun jumlah tugasnya.
+ */
+public final class TaskExporter {
+
+    static final int CHUNK_SIZE = 1000;
+
+    static final String JSON_FORMAT_NAME = "todolist-tasks";
+    static final int JSON_FORMAT_VERSION = 1;
+
+    // Kolom CSV, sesuai urutan field JSON
+    static final String[] CSV_HEADER = {
+            "title", "description", "completed", "created_at", "due_date", "priority", "category"
+    };
+
+    private static final String CHUNK_SQL = "SELECT id, title, description, is_completed, created_at, "
+            + "due_date, priority, category FROM tasks WHERE deleted_at = 0 AND id > ? ORDER BY id LIMIT ?";
+
+    private final RoomDatabase database;
+
+    public TaskExporter(@NonNull RoomDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Tulis semua tugas ke out. Harus dipanggil di thread latar; out tidak ditutup.
+     *
+     * @return jumlah tugas yang ditulis
+     * @throws android.os.OperationCanceledException jika dibatalkan lewat signal
+     */
+    public long export(@NonNull OutputStream out, @NonNull TransferFormat format,
+                       @Nullable TransferProgressListener listener,
+                       @Nullable CancellationSignal signal) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long total = countTasks();
+        RowSink sink = format == TransferFormat.JSON ? new JsonSink(writer) : new CsvSink(writer);
+
+        long written = 0;
+        long lastId = 0;
+        sink.begin();
+        while (true) {
+            if (signal != null) {
+                signal.throwIfCanceled();
+            }
+            int rowsInChunk = 0;
+            try (Cursor cursor = database.query(new SimpleSQLiteQuery(CHUNK_SQL, new Object[]{lastId, CHUNK_SIZE}))) {
+                while (cursor.moveToNext()) {
+                    lastId = cursor.getLong(0);
+                    sink.row(cursor.getString(1), cursor.getString(2), cursor.getInt(3) != 0,
+                            cursor.getLong(4), cursor.getLong(5), cursor.getInt(6), cursor.getString(7));
+                    rowsInChunk++;
+                }
+            }
+            written += rowsInChunk;
+            if (listener != null) {
+                listener.onProgress(written, total);
+            }
+            if (rowsInChunk < CHUNK_SIZE) {
+                break;
+            }
+        }
+        sink.end();
+        writer.flush();
+        return written;
+    }
+
+    private long countTasks() {
+        try (Cursor cursor = database.query(new SimpleSQLiteQuery("SELECT COUNT(*) FROM tasks WHERE deleted_at = 0"))) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+        }
+    }
+
+    private interface RowSink {
+        void begin() throws IOException;
+
+        void row(String title, String description, boolean completed, long createdAt,
+                 long dueDate, int priority, String category) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    private static final class JsonSink implements RowSink {
+        private final JsonWriter json;
+
+        JsonSink(Writer writer) {
+            json = new JsonWriter(writer);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            json.beginObject();
+            json.name("format").value(JSON_FORMAT_NAME);
+            json.name("version").value(JSON_FORMAT_VERSION);
+            json.name("tasks").beginArray();
+        }
+
+        @Override
+        public void row(String title, String description, boolean completed, long createdAt,
+                        long dueDate, int priority, String category) throws IOException {
+            json.beginObject();
+            json.name("title").value(title);
+            json.name("description").value(description);
+            json.name("completed").value(completed);
+            json.name("createdAt").value(createdAt);
+            json.name("dueDate").value(dueDate);
+            json.name("priority").value(priority);
+            json.name("category").value(category);
+            json.endObject();
+        }
+
+        @Override
+        public void end() throws IOException {
+            json.endArray();
+            json.endObject();
+            json.flush();
+        }
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final CsvWriter csv;
+
+        CsvSink(Writer writer) {
+            csv = new CsvWriter(writer);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            for (String column : CSV_HEADER) {
+                csv.value(column);
+            }
+            csv.endRow();
+        }
+
+        @Override
+        public void row(String title, String description, boolean completed, long createdAt,
+                        long dueDate, int priority, String category) throws IOException {
+            csv.value(title)
+                    .value(description)
+                    .value(completed ? "1" : "0")
+                    .value(createdAt)
+                    .value(dueDate)
+                    .value(priority)
+                    .value(category);
+            csv.endRow();
+        }
+
+        @Override
+        public void end() throws IOException {
+            csv.flush();
+        }
+    }
+}
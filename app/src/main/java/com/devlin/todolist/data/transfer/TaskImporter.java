@@ -0,0 +1,286 @@
+package com.devlin.todolist.data.transfer;
+
+import android.os.CancellationSignal;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.RoomDatabase;
+
+import com.devlin.todolist.data.database.TaskInserter;
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * TaskImporter membaca tugas dari JSON atau CSV secara streaming dan menyisipkannya per
+ * potongan CHUNK_SIZE baris, masing-masing dalam satu transaksi di thread penulis database.
+ *
+ * Paling banyak satu potongan yang ditahan di memori, jadi berkas berisi jutaan tugas bisa
+ * diimpor dengan memori tetap. Penulisan lain dari UI tetap bisa berjalan di antara potongan.
+ * Jika dibatalkan, potongan yang sudah di-commit tetap tersimpan.
+ *
+ * Tugas yang diimpor selalu mendapat id baru. Baris tanpa judul dilewati.
+ */
+public final class TaskImporter {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final RoomDatabase database;
+    private final ExecutorService writeExecutor;
+
+    private long skippedCount;
+
+    public TaskImporter(@NonNull RoomDatabase database, @NonNull ExecutorService writeExecutor) {
+        this.database = database;
+        this.writeExecutor = writeExecutor;
+    }
+
+    /**
+     * Baca semua tugas dari in dan sisipkan. Harus dipanggil di thread latar (bukan thread
+     * penulis); in tidak ditutup.
+     *
+     * @param format format berkas, atau null untuk ditebak dari isinya
+     * @return jumlah tugas yang disisipkan
+     * @throws android.os.OperationCanceledException jika dibatalkan lewat signal
+     */
+    public long importTasks(@NonNull InputStream in, @Nullable TransferFormat format,
+                            @Nullable TransferProgressListener listener,
+                            @Nullable CancellationSignal signal) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        if (format == null) {
+            format = TransferFormat.detect(buffered);
+        }
+        skipByteOrderMark(buffered);
+        Reader reader = new BufferedReader(new InputStreamReader(buffered, StandardCharsets.UTF_8));
+        skippedCount = 0;
+        Batch batch = new Batch(listener, signal);
+        if (format == TransferFormat.JSON) {
+            readJson(new JsonReader(reader), batch);
+        } else {
+            readCsv(new CsvReader(reader), batch);
+        }
+        batch.flush();
+        return batch.inserted;
+    }
+
+    // Ekspor dari spreadsheet sering diawali BOM UTF-8 (EF BB BF), yang tidak diterima JsonReader
+    private static void skipByteOrderMark(BufferedInputStream in) throws IOException {
+        in.mark(3);
+        if (in.read() != 0xEF || in.read() != 0xBB || in.read() != 0xBF) {
+            in.reset();
+        }
+    }
+
+    /**
+     * Jumlah baris yang dilewati pada impor terakhir (misalnya tanpa judul)
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    private void readJson(JsonReader json, Batch batch) throws IOException {
+        // Menerima {"tasks": [...]} hasil TaskExporter maupun array tugas langsung
+        if (json.peek() == JsonToken.BEGIN_ARRAY) {
+            readJsonTasks(json, batch);
+            return;
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            if ("tasks".equals(json.nextName())) {
+                readJsonTasks(json, batch);
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    private void readJsonTasks(JsonReader json, Batch batch) throws IOException {
+        json.beginArray();
+        while (json.hasNext()) {
+            String title = null;
+            String description = "";
+            boolean completed = false;
+            long createdAt = 0;
+            long dueDate = 0;
+            int priority = TaskEntity.PRIORITY_LOW;
+            String category = null;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (json.peek() == JsonToken.NULL) {
+                    json.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "title":
+                        title = json.nextString();
+                        break;
+                    case "description":
+                        description = json.nextString();
+                        break;
+                    case "completed":
+                        completed = json.peek() == JsonToken.BOOLEAN ? json.nextBoolean() : json.nextInt() != 0;
+                        break;
+                    case "createdAt":
+                        createdAt = json.nextLong();
+                        break;
+                    case "dueDate":
+                        dueDate = json.nextLong();
+                        break;
+                    case "priority":
+                        priority = json.nextInt();
+                        break;
+                    case "category":
+                        category = json.nextString();
+                        break;
+                    default:
+                        json.skipValue();
+                        break;
+                }
+            }
+            json.endObject();
+            batch.add(title, description, completed, createdAt, dueDate, priority, category);
+        }
+        json.endArray();
+    }
+
+    private void readCsv(CsvReader csv, Batch batch) throws IOException {
+        List<String> header = csv.readRow();
+        if (header == null) {
+            return;
+        }
+        // Kolom dicocokkan berdasarkan nama header, jadi urutannya bebas
+        int[] columns = new int[TaskExporter.CSV_HEADER.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            for (int c = 0; c < columns.length; c++) {
+                if (TaskExporter.CSV_HEADER[c].equals(name)) {
+                    columns[c] = i;
+                }
+            }
+        }
+        if (columns[0] < 0) {
+            throw new IOException("Header CSV tidak memiliki kolom title");
+        }
+
+        List<String> row;
+        while ((row = csv.readRow()) != null) {
+            try {
+                String completed = field(row, columns[2]);
+                batch.add(
+                        field(row, columns[0]),
+                        orEmpty(field(row, columns[1])),
+                        "1".equals(completed) || "true".equalsIgnoreCase(completed),
+                        parseLong(field(row, columns[3])),
+                        parseLong(field(row, columns[4])),
+                        (int) parseLong(field(row, columns[5])),
+                        emptyToNull(field(row, columns[6])));
+            } catch (NumberFormatException e) {
+                throw new IOException("Angka tidak valid pada baris CSV " + csv.getLineNumber(), e);
+            }
+        }
+    }
+
+    private static String field(List<String> row, int column) {
+        return column >= 0 && column < row.size() ? row.get(column) : null;
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value.trim());
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Penampung satu potongan; diserahkan ke thread penulis saat penuh
+     */
+    private final class Batch {
+        private final TransferProgressListener listener;
+        private final CancellationSignal signal;
+        private final List<TaskEntity> rows = new ArrayList<>(CHUNK_SIZE);
+        // Tugas tanpa waktu dibuat dianggap dibuat saat impor
+        private final long importedAt = System.currentTimeMillis();
+        private long inserted;
+
+        Batch(TransferProgressListener listener, CancellationSignal signal) {
+            this.listener = listener;
+            this.signal = signal;
+        }
+
+        void add(String title, String description, boolean completed, long createdAt,
+                 long dueDate, int priority, String category) throws IOException {
+            if (title == null || title.trim().isEmpty()) {
+                skippedCount++;
+                return;
+            }
+            int clampedPriority = Math.max(TaskEntity.PRIORITY_LOW, Math.min(TaskEntity.PRIORITY_HIGH, priority));
+            rows.add(new TaskEntity(title, description, completed, createdAt > 0 ? createdAt : importedAt,
+                    Math.max(dueDate, 0),
+                    clampedPriority, category));
+            if (rows.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (signal != null) {
+                signal.throwIfCanceled();
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            Future<?> commit = writeExecutor.submit(() -> database.runInTransaction(this::insertRows));
+            try {
+                // Tunggu commit sebelum membaca potongan berikutnya, supaya memori tetap satu potongan
+                commit.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Gagal menyimpan tugas impor", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Impor terputus", e);
+            }
+            inserted += rows.size();
+            rows.clear();
+            if (listener != null) {
+                listener.onProgress(inserted, -1);
+            }
+        }
+
+        private void insertRows() {
+            try (TaskInserter inserter = new TaskInserter(database.getOpenHelper().getWritableDatabase())) {
+                for (TaskEntity row : rows) {
+                    inserter.insert(row.getTitle(), row.getDescription(), row.isCompleted(),
+                            row.getCreatedAt(), row.getDueDate(), row.getPriority(), row.getCategory());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.devlin.todolist.data.transfer;
+
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.devlin.todolist.data.backup.BackupInfo;
+import com.devlin.todolist.data.backup.TaskBackupRestorer;
+import com.devlin.todolist.data.backup.TaskBackupWriter;
+import com.devlin.todolist.data.database.AppDatabase;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * TaskTransferRunner menjalankan ekspor/impor dan cadangan/pemulihan satu per satu di thread sendiri dan
+ * melaporkan keadaannya sebagai LiveData. Stream dibuka dan ditutup di thread itu juga,
+ * sehingga pemanggil (UI) tidak pernah melakukan I/O berkas.
+ */
+public final class TaskTransferRunner {
+
+    private static final String TAG = "TaskTransferRunner";
+
+    private static volatile TaskTransferRunner INSTANCE;
+
+    private final TaskExporter exporter;
+    private final TaskImporter importer;
+    private final TaskBackupWriter backupWriter;
+    private final TaskBackupRestorer backupRestorer;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-transfer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final MutableLiveData<TransferStatus> status = new MutableLiveData<>();
+
+    // Signal milik transfer terakhir yang diminta; null jika tidak ada
+    private volatile CancellationSignal activeSignal;
+
+    public static TaskTransferRunner getInstance(AppDatabase database) {
+        if (INSTANCE == null) {
+            synchronized (TaskTransferRunner.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new TaskTransferRunner(database);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    private TaskTransferRunner(AppDatabase database) {
+        exporter = new TaskExporter(database);
+        importer = new TaskImporter(database, AppDatabase.databaseWriteExecutor);
+        backupWriter = new TaskBackupWriter(database, AppDatabase.databaseWriteExecutor);
+        backupRestorer = new TaskBackupRestorer(database);
+    }
+
+    public LiveData<TransferStatus> getStatus() {
+        return status;
+    }
+
+    /**
+     * Ekspor semua tugas ke stream dari opener; stream ditutup setelah selesai
+     */
+    public void export(@NonNull Callable<? extends OutputStream> opener, @NonNull TransferFormat format) {
+        CancellationSignal signal = begin(TransferStatus.Kind.EXPORT);
+        executor.execute(() -> run(TransferStatus.Kind.EXPORT, signal, progress -> {
+            try (OutputStream out = opener.call()) {
+                return exporter.export(out, format, progress, signal);
+            }
+        }));
+    }
+
+    /**
+     * Impor tugas dari stream dari opener (format ditebak dari isinya); stream ditutup setelah selesai
+     */
+    public void importTasks(@NonNull Callable<? extends InputStream> opener) {
+        CancellationSignal signal = begin(TransferStatus.Kind.IMPORT);
+        executor.execute(() -> run(TransferStatus.Kind.IMPORT, signal, progress -> {
+            try (InputStream in = opener.call()) {
+                return importer.importTasks(in, null, progress, signal);
+            }
+        }));
+    }
+
+    /**
+     * Tulis cadangan biner terkompresi ke channel dari opener; channel ditutup setelah selesai
+     *
+     * @param incremental hanya perubahan sejak cadangan terakhir (penuh jika belum pernah ada)
+     */
+    public void backup(@NonNull Callable<? extends WritableByteChannel> opener, boolean incremental) {
+        CancellationSignal signal = begin(TransferStatus.Kind.BACKUP);
+        executor.execute(() -> run(TransferStatus.Kind.BACKUP, signal, progress -> {
+            BackupInfo info;
+            try (WritableByteChannel channel = opener.call()) {
+                info = backupWriter.write(channel, incremental, true, progress, signal);
+            }
+            // Baru dicatat setelah berkas tertutup tanpa galat, supaya rantai inkremental tidak putus
+            backupWriter.markWritten(info);
+            return info.getRowCount();
+        }));
+    }
+
+    /**
+     * Pulihkan cadangan dari channel dari opener. Pemulihan dijalankan lewat exclusiveWriter,
+     * yang harus menjalankannya di thread penulis database setelah penulisan tertunda.
+     * onRestored dipanggil di thread transfer hanya jika pemulihan berhasil (cache dikosongkan di sana).
+     */
+    public void restore(@NonNull Callable<? extends ReadableByteChannel> opener, @NonNull Executor exclusiveWriter,
+                        @NonNull Runnable onRestored) {
+        CancellationSignal signal = begin(TransferStatus.Kind.RESTORE);
+        executor.execute(() -> run(TransferStatus.Kind.RESTORE, signal, progress -> {
+            FutureTask<BackupInfo> task = new FutureTask<>(() -> {
+                try (ReadableByteChannel channel = opener.call()) {
+                    return backupRestorer.restore(channel, progress, signal);
+                }
+            });
+            exclusiveWriter.execute(task);
+            BackupInfo info;
+            try {
+                info = task.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+            onRestored.run();
+            return info.getRowCount();
+        }));
+    }
+
+    /**
+     * Batalkan transfer terakhir (berhenti di batas potongan berikutnya)
+     */
+    public void cancel() {
+        CancellationSignal signal = activeSignal;
+        if (signal != null) {
+            signal.cancel();
+        }
+    }
+
+    private CancellationSignal begin(TransferStatus.Kind kind) {
+        CancellationSignal signal = new CancellationSignal();
+        activeSignal = signal;
+        status.postValue(TransferStatus.running(kind, 0, -1));
+        return signal;
+    }
+
+    private void run(TransferStatus.Kind kind, CancellationSignal signal, Job job) {
+        long[] processed = {0};
+        TransferProgressListener progress = (rows, total) -> {
+            processed[0] = rows;
+            status.postValue(TransferStatus.running(kind, rows, total));
+        };
+        try {
+            long rows = job.run(progress);
+            status.postValue(TransferStatus.completed(kind, rows));
+        } catch (OperationCanceledException e) {
+            status.postValue(TransferStatus.cancelled(kind, processed[0]));
+        } catch (Exception e) {
+            Log.e(TAG, "Transfer " + kind + " gagal", e);
+            status.postValue(TransferStatus.failed(kind, processed[0], e.getMessage()));
+        } finally {
+            if (activeSignal == signal) {
+                activeSignal = null;
+            }
+        }
+    }
+
+    private interface Job {
+        long run(TransferProgressListener progress) throws Exception;
+    }
+}
@@ -0,0 +1,57 @@
+package com.devlin.todolist.data.transfer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+
+/**
+ * Format berkas ekspor/impor tugas
+ */
+public enum TransferFormat {
+    JSON("application/json", "json"),
+    CSV("text/csv", "csv");
+
+    // Berapa byte awal yang diintip untuk menebak format
+    private static final int DETECT_LIMIT = 64;
+
+    private final String mimeType;
+    private final String extension;
+
+    TransferFormat(String mimeType, String extension) {
+        this.mimeType = mimeType;
+        this.extension = extension;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Tebak format dari isi berkas: JSON diawali '{' atau '[' (setelah BOM/spasi), selain itu CSV.
+     * Posisi stream dikembalikan ke awal.
+     */
+    public static TransferFormat detect(BufferedInputStream in) throws IOException {
+        in.mark(DETECT_LIMIT);
+        try {
+            for (int i = 0; i < DETECT_LIMIT; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                if (b == '{' || b == '[') {
+                    return JSON;
+                }
+                // Lewati spasi dan BOM UTF-8 (EF BB BF)
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    break;
+                }
+            }
+            return CSV;
+        } finally {
+            in.reset();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.devlin.todolist.data.transfer;
+
+/**
+ * Menerima kemajuan ekspor/impor, dipanggil sekali per potongan di thread kerja
+ */
+public interface TransferProgressListener {
+
+    /**
+     * @param rows  jumlah tugas yang sudah diproses
+     * @param total jumlah total jika diketahui (ekspor), atau -1 (impor)
+     */
+    void onProgress(long rows, long total);
+}
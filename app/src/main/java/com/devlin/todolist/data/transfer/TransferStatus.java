@@ -0,0 +1,84 @@
+package com.devlin.todolist.data.transfer;
+
+import androidx.annotation.Nullable;
+
+/**
+ * TransferStatus adalah keadaan ekspor/impor atau cadangan/pemulihan yang sedang atau terakhir berjalan
+ */
+public final class TransferStatus {
+
+    public enum Kind {
+        EXPORT,
+        IMPORT,
+        BACKUP,
+        RESTORE
+    }
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final Kind kind;
+    private final State state;
+    private final long rows;
+    private final long total;
+    private final String errorMessage;
+
+    private TransferStatus(Kind kind, State state, long rows, long total, String errorMessage) {
+        this.kind = kind;
+        this.state = state;
+        this.rows = rows;
+        this.total = total;
+        this.errorMessage = errorMessage;
+    }
+
+    static TransferStatus running(Kind kind, long rows, long total) {
+        return new TransferStatus(kind, State.RUNNING, rows, total, null);
+    }
+
+    static TransferStatus completed(Kind kind, long rows) {
+        return new TransferStatus(kind, State.COMPLETED, rows, rows, null);
+    }
+
+    static TransferStatus cancelled(Kind kind, long rows) {
+        return new TransferStatus(kind, State.CANCELLED, rows, -1, null);
+    }
+
+    static TransferStatus failed(Kind kind, long rows, String errorMessage) {
+        return new TransferStatus(kind, State.FAILED, rows, -1, errorMessage);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * Jumlah tugas yang sudah diproses
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Jumlah total tugas, atau -1 jika tidak diketahui
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    @Nullable
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -15,9 +15,13 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.devlin.todolist.R;
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.ui.viewmodel.TaskEditViewModel;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
@@ -42,6 +46,13 @@ public class AddEditTaskActivity extends AppCompatActivity {
     public static final String EXTRA_PRIORITY = "com.devlin.todolist.EXTRA_PRIORITY";
     public static final String EXTRA_CATEGORY = "com.devlin.todolist.EXTRA_CATEGORY";
 
+    // Isian yang tidak disimpan otomatis oleh view saat activity dibuat ulang
+    private static final String STATE_TASK_LOADED = "task_loaded";
+    private static final String STATE_IS_COMPLETED = "is_completed";
+    private static final String STATE_CREATED_AT = "created_at";
+    private static final String STATE_DUE_DATE = "due_date";
+    private static final String STATE_PRIORITY = "priority";
+
     private TextInputLayout textInputLayoutTitle;
     private TextInputLayout textInputLayoutDescription;
     private TextInputEditText editTextTitle;
@@ -58,6 +69,8 @@ public class AddEditTaskActivity extends AppCompatActivity {
     private long dueDate = 0;
     private int priority = TaskEntity.PRIORITY_MEDIUM;
     private String category = "";
+    // Mode edit: false sampai baris dari database terpasang ke form, tombol simpan nonaktif
+    private boolean taskLoaded = false;
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMMM yyyy", Locale.getDefault());
 
@@ -77,7 +90,17 @@ public class AddEditTaskActivity extends AppCompatActivity {
         setupDatePicker();
         setupPrioritySelection();
         setupCategoryDropdown();
-        loadIntentData();
+        loadIntentData(savedInstanceState);
+    }
+
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putBoolean(STATE_TASK_LOADED, taskLoaded);
+        outState.putBoolean(STATE_IS_COMPLETED, isCompleted);
+        outState.putLong(STATE_CREATED_AT, createdAt);
+        outState.putLong(STATE_DUE_DATE, dueDate);
+        outState.putInt(STATE_PRIORITY, priority);
     }
 
     private void initViews() {
@@ -188,22 +211,22 @@ public class AddEditTaskActivity extends AppCompatActivity {
         }
     }
 
-    private void loadIntentData() {
+    private void loadIntentData(Bundle savedInstanceState) {
         Intent intent = getIntent();
         
         if (intent.hasExtra(EXTRA_TASK_ID)) {
-            // Mode edit
+            // Mode edit - baris lengkap dimuat dari database berdasarkan ID
             setTitle(R.string.edit_task);
             taskId = intent.getIntExtra(EXTRA_TASK_ID, -1);
-            editTextTitle.setText(intent.getStringExtra(EXTRA_TITLE));
-            editTextDescription.setText(intent.getStringExtra(EXTRA_DESCRIPTION));
-            isCompleted = intent.getBooleanExtra(EXTRA_IS_COMPLETED, false);
-            createdAt = intent.getLongExtra(EXTRA_CREATED_AT, System.currentTimeMillis());
-            dueDate = intent.getLongExtra(EXTRA_DUE_DATE, 0);
-            priority = intent.getIntExtra(EXTRA_PRIORITY, TaskEntity.PRIORITY_MEDIUM);
-            category = intent.getStringExtra(EXTRA_CATEGORY);
-            if (category == null) category = "";
-            autoCompleteCategory.setText(category, false);
+            if (savedInstanceState != null && savedInstanceState.getBoolean(STATE_TASK_LOADED)) {
+                // Dibuat ulang (misalnya rotasi): isian pengguna dipulihkan view, jangan dimuat ulang
+                restoreState(savedInstanceState);
+            } else {
+                loadTask(taskId);
+            }
+        } else if (savedInstanceState != null) {
+            setTitle(R.string.add_task);
+            restoreState(savedInstanceState);
         } else {
             // Mode tambah
             setTitle(R.string.add_task);
@@ -216,6 +239,50 @@ public class AddEditTaskActivity extends AppCompatActivity {
         updatePrioritySelection();
     }
 
+    private void restoreState(Bundle savedInstanceState) {
+        taskLoaded = savedInstanceState.getBoolean(STATE_TASK_LOADED);
+        isCompleted = savedInstanceState.getBoolean(STATE_IS_COMPLETED);
+        createdAt = savedInstanceState.getLong(STATE_CREATED_AT);
+        dueDate = savedInstanceState.getLong(STATE_DUE_DATE);
+        priority = savedInstanceState.getInt(STATE_PRIORITY, TaskEntity.PRIORITY_MEDIUM);
+    }
+
+    /**
+     * Muat tugas lengkap (termasuk deskripsi penuh) satu kali dari database
+     */
+    private void loadTask(int id) {
+        TaskEditViewModel viewModel = new ViewModelProvider(this).get(TaskEditViewModel.class);
+        LiveData<TaskEntity> taskLiveData = viewModel.getTask(id);
+        taskLiveData.observe(this, new Observer<TaskEntity>() {
+            @Override
+            public void onChanged(TaskEntity task) {
+                // Cukup sekali; perubahan berikutnya tidak boleh menimpa isian pengguna
+                taskLiveData.removeObserver(this);
+                if (task != null) {
+                    bindTask(task);
+                }
+            }
+        });
+    }
+
+    private void bindTask(TaskEntity task) {
+        editTextTitle.setText(task.getTitle());
+        editTextDescription.setText(task.getDescription());
+        isCompleted = task.isCompleted();
+        createdAt = task.getCreatedAt();
+        dueDate = task.getDueDate();
+        priority = task.getPriority();
+        category = task.getCategory();
+        if (category == null) category = "";
+        autoCompleteCategory.setText(category, false);
+
+        updateDueDateDisplay();
+        updatePrioritySelection();
+
+        taskLoaded = true;
+        invalidateOptionsMenu();
+    }
+
     private boolean validateInput() {
         boolean isValid = true;
 
@@ -233,7 +300,8 @@ public class AddEditTaskActivity extends AppCompatActivity {
     }
 
     private void saveTask() {
-        if (!validateInput()) {
+        // Sebelum baris terpasang, createdAt dan status selesai masih nilai kosong
+        if ((taskId != -1 && !taskLoaded) || !validateInput()) {
             return;
         }
 
@@ -267,6 +335,15 @@ public class AddEditTaskActivity extends AppCompatActivity {
         return true;
     }
 
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        MenuItem saveItem = menu.findItem(R.id.action_save);
+        if (saveItem != null) {
+            saveItem.setEnabled(taskId == -1 || taskLoaded);
+        }
+        return super.onPrepareOptionsMenu(menu);
+    }
+
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         int itemId = item.getItemId();
@@ -1,37 +1,63 @@
 package com.devlin.todolist.ui;
 
 import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
+import android.util.Log;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.AutoCompleteTextView;
 import android.widget.EditText;
+import android.widget.FrameLayout;
 import android.widget.ImageButton;
 import android.widget.TextView;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.devlin.todolist.R;
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.TaskStats;
+import com.devlin.todolist.data.transfer.TransferFormat;
+import com.devlin.todolist.data.transfer.TransferStatus;
 import com.devlin.todolist.ui.adapter.TaskAdapter;
+import com.devlin.todolist.ui.model.TaskUiModel;
 import com.devlin.todolist.ui.viewmodel.TaskViewModel;
+import com.devlin.todolist.util.StartupTracer;
+import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.snackbar.Snackbar;
 
+import java.util.List;
+
+import kotlin.Unit;
+
 /**
  * MainActivity menampilkan daftar tugas dengan opsi filter via navigasi bawah.
  * Menyediakan navigasi untuk tambah/edit tugas dan menangani konfirmasi hapus.
  */
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+
     public static final int ADD_TASK_REQUEST = 1;
     public static final int EDIT_TASK_REQUEST = 2;
 
+    private static final String BACKUP_MIME_TYPE = "application/octet-stream";
+
     private TaskViewModel taskViewModel;
     private TaskAdapter adapter;
     private TextView textViewEmpty;
@@ -40,15 +66,51 @@ public class MainActivity extends AppCompatActivity {
     private ImageButton buttonClearSearch;
     private BottomNavigationView bottomNavigationView;
     private View rootView;
+    private ActionMode actionMode;
+    private List<String> availableCategories;
 
     // Statistik
     private TextView textViewActiveCount;
     private TextView textViewCompletedCount;
     private TextView textViewOverdueCount;
 
+    // Ekspor/impor lewat Storage Access Framework
+    private Snackbar transferSnackbar;
+    private final ActivityResultLauncher<String> exportJsonLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(TransferFormat.JSON.getMimeType()),
+            uri -> {
+                if (uri != null) taskViewModel.exportTasks(uri, TransferFormat.JSON);
+            });
+    private final ActivityResultLauncher<String> exportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(TransferFormat.CSV.getMimeType()),
+            uri -> {
+                if (uri != null) taskViewModel.exportTasks(uri, TransferFormat.CSV);
+            });
+    private final ActivityResultLauncher<String[]> importLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(),
+            uri -> {
+                if (uri != null) taskViewModel.importTasks(uri);
+            });
+    private final ActivityResultLauncher<String> backupFullLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(BACKUP_MIME_TYPE),
+            uri -> {
+                if (uri != null) taskViewModel.backupTasks(uri, false);
+            });
+    private final ActivityResultLauncher<String> backupIncrementalLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(BACKUP_MIME_TYPE),
+            uri -> {
+                if (uri != null) taskViewModel.backupTasks(uri, true);
+            });
+    private final ActivityResultLauncher<String[]> restoreLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(),
+            uri -> {
+                if (uri != null) showRestoreConfirmationDialog(uri);
+            });
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTracer.getInstance().mark(StartupTracer.Phase.ACTIVITY_CREATE);
         setContentView(R.layout.activity_main);
 
         rootView = findViewById(R.id.root_layout);
@@ -70,6 +132,9 @@ public class MainActivity extends AppCompatActivity {
         
         // Setup FAB
         setupFab();
+
+        // Setup Toolbar (undo/redo)
+        setupToolbar();
     }
 
     private void initViews() {
@@ -96,47 +161,104 @@ public class MainActivity extends AppCompatActivity {
         // Set click listeners
         adapter.setOnTaskClickListener(new TaskAdapter.OnTaskClickListener() {
             @Override
-            public void onTaskClick(TaskEntity task) {
-                // Buka activity edit
+            public void onTaskClick(TaskUiModel task) {
+                // Buka activity edit; baris lengkap dimuat di sana berdasarkan ID
                 Intent intent = new Intent(MainActivity.this, AddEditTaskActivity.class);
                 intent.putExtra(AddEditTaskActivity.EXTRA_TASK_ID, task.getId());
-                intent.putExtra(AddEditTaskActivity.EXTRA_TITLE, task.getTitle());
-                intent.putExtra(AddEditTaskActivity.EXTRA_DESCRIPTION, task.getDescription());
-                intent.putExtra(AddEditTaskActivity.EXTRA_IS_COMPLETED, task.isCompleted());
-                intent.putExtra(AddEditTaskActivity.EXTRA_CREATED_AT, task.getCreatedAt());
-                intent.putExtra(AddEditTaskActivity.EXTRA_DUE_DATE, task.getDueDate());
-                intent.putExtra(AddEditTaskActivity.EXTRA_PRIORITY, task.getPriority());
-                intent.putExtra(AddEditTaskActivity.EXTRA_CATEGORY, task.getCategory());
                 startActivityForResult(intent, EDIT_TASK_REQUEST);
             }
 
+
             @Override
-            public void onTaskLongClick(TaskEntity task) {
-                // Tampilkan dialog konfirmasi hapus
-                showDeleteConfirmationDialog(task);
+            public void onCheckBoxClick(TaskUiModel task, boolean isChecked) {
+                // Set status selesai sesuai checkbox
+                taskViewModel.setCompleted(task, isChecked);
             }
 
             @Override
-            public void onCheckBoxClick(TaskEntity task, boolean isChecked) {
-                // Toggle status selesai tugas
-                taskViewModel.toggleComplete(task);
+            public void onSelectionChanged(int selectedCount) {
+                updateActionMode(selectedCount);
             }
         });
     }
 
+    private void updateActionMode(int selectedCount) {
+        if (selectedCount == 0) {
+            if (actionMode != null) {
+                actionMode.finish();
+            }
+            return;
+        }
+        if (actionMode == null) {
+            actionMode = startSupportActionMode(selectionCallback);
+        }
+        if (actionMode != null) {
+            actionMode.setTitle(getString(R.string.selection_count, selectedCount));
+        }
+    }
+
+    /**
+     * Action mode untuk operasi massal pada tugas yang dipilih
+     */
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_task_selection, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            int[] selectedIds = adapter.getSelectedIds();
+            int itemId = item.getItemId();
+
+            if (itemId == R.id.action_complete_selected) {
+                taskViewModel.setCompleted(selectedIds, true);
+                Snackbar.make(rootView, getString(R.string.tasks_completed, selectedIds.length),
+                        Snackbar.LENGTH_SHORT).show();
+                mode.finish();
+                return true;
+            } else if (itemId == R.id.action_move_category) {
+                showMoveToCategoryDialog(selectedIds);
+                return true;
+            } else if (itemId == R.id.action_delete_selected) {
+                showDeleteConfirmationDialog(selectedIds);
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            actionMode = null;
+            adapter.clearSelection();
+        }
+    };
+
     private void setupViewModel() {
         taskViewModel = new ViewModelProvider(this).get(TaskViewModel.class);
         
-        // Observe filtered tasks
-        taskViewModel.getFilteredTasks().observe(this, tasks -> {
-            adapter.submitList(tasks);
-            
-            // Tampilkan/sembunyikan empty state
-            if (tasks == null || tasks.isEmpty()) {
-                textViewEmpty.setVisibility(View.VISIBLE);
-            } else {
-                textViewEmpty.setVisibility(View.GONE);
+        // Observe filtered tasks (berhalaman)
+        taskViewModel.getFilteredTasks().observe(this, pagingData ->
+                adapter.submitData(getLifecycle(), pagingData));
+
+        // Tampilkan/sembunyikan empty state setelah halaman pertama selesai dimuat
+        adapter.addLoadStateListener(loadStates -> {
+            boolean isEmpty = loadStates.getRefresh() instanceof LoadState.NotLoading
+                    && loadStates.getAppend().getEndOfPaginationReached()
+                    && adapter.getItemCount() == 0;
+            textViewEmpty.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading
+                    && (isEmpty || adapter.getItemCount() > 0)) {
+                onFirstListLoaded();
             }
+            return Unit.INSTANCE;
         });
 
         // Observe filter saat ini untuk update title
@@ -154,18 +276,148 @@ public class MainActivity extends AppCompatActivity {
             }
         });
 
-        // Observe statistik
-        taskViewModel.getActiveTaskCount().observe(this, count -> {
-            textViewActiveCount.setText(String.valueOf(count != null ? count : 0));
+        // Kategori untuk dialog pindah kategori
+        taskViewModel.getAllCategories().observe(this, categories -> availableCategories = categories);
+
+        // Waktu acuan terlambat yang sama dengan statistik
+        taskViewModel.getCurrentTime().observe(this, now -> {
+            if (now != null) adapter.setCurrentTime(now);
         });
 
-        taskViewModel.getCompletedTaskCount().observe(this, count -> {
-            textViewCompletedCount.setText(String.valueOf(count != null ? count : 0));
+        // Observe statistik (satu query agregat)
+        taskViewModel.getTaskStats().observe(this, stats -> {
+            if (stats == null) stats = TaskStats.EMPTY;
+            textViewActiveCount.setText(String.valueOf(stats.getActiveCount()));
+            textViewCompletedCount.setText(String.valueOf(stats.getCompletedCount()));
+            textViewOverdueCount.setText(String.valueOf(stats.getOverdueCount()));
         });
+    }
+
+    /**
+     * Halaman pertama sudah tampil: catat fase startup terakhir (sekali per proses)
+     */
+    private void onFirstListLoaded() {
+        StartupTracer tracer = StartupTracer.getInstance();
+        if (tracer.mark(StartupTracer.Phase.FIRST_LIST_LOAD)) {
+            Log.i(TAG, tracer.describe());
+            reportFullyDrawn();
+        }
+    }
 
-        taskViewModel.getOverdueTaskCount().observe(this, count -> {
-            textViewOverdueCount.setText(String.valueOf(count != null ? count : 0));
+    private void setupToolbar() {
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+        toolbar.inflateMenu(R.menu.menu_main);
+        MenuItem undoItem = toolbar.getMenu().findItem(R.id.action_undo);
+        MenuItem redoItem = toolbar.getMenu().findItem(R.id.action_redo);
+
+        toolbar.setOnMenuItemClickListener(item -> {
+            int itemId = item.getItemId();
+            if (itemId == R.id.action_undo) {
+                taskViewModel.undo();
+                return true;
+            } else if (itemId == R.id.action_redo) {
+                taskViewModel.redo();
+                return true;
+            } else if (itemId == R.id.action_export_json) {
+                exportJsonLauncher.launch(getString(R.string.export_file_name, TransferFormat.JSON.getExtension()));
+                return true;
+            } else if (itemId == R.id.action_export_csv) {
+                exportCsvLauncher.launch(getString(R.string.export_file_name, TransferFormat.CSV.getExtension()));
+                return true;
+            } else if (itemId == R.id.action_import) {
+                importLauncher.launch(new String[]{
+                        TransferFormat.JSON.getMimeType(),
+                        TransferFormat.CSV.getMimeType(),
+                        "text/comma-separated-values",
+                        "text/plain"
+                });
+                return true;
+            } else if (itemId == R.id.action_backup_full) {
+                backupFullLauncher.launch(getString(R.string.backup_file_name_full));
+                return true;
+            } else if (itemId == R.id.action_backup_incremental) {
+                backupIncrementalLauncher.launch(getString(R.string.backup_file_name_incremental));
+                return true;
+            } else if (itemId == R.id.action_restore) {
+                // Berkas cadangan tidak punya tipe MIME baku
+                restoreLauncher.launch(new String[]{BACKUP_MIME_TYPE, "*/*"});
+                return true;
+            }
+            return false;
         });
+
+        taskViewModel.getCanUndo().observe(this, canUndo -> undoItem.setEnabled(Boolean.TRUE.equals(canUndo)));
+        taskViewModel.getCanRedo().observe(this, canRedo -> redoItem.setEnabled(Boolean.TRUE.equals(canRedo)));
+        taskViewModel.getTransferStatus().observe(this, this::showTransferStatus);
+    }
+
+    /**
+     * Tampilkan kemajuan ekspor/impor dan cadangan/pemulihan sebagai Snackbar dengan tombol batal
+     */
+    private void showTransferStatus(@Nullable TransferStatus status) {
+        if (status == null) return;
+        int rows = (int) status.getRows();
+
+        if (status.isRunning()) {
+            String message = getString(transferMessage(status.getKind(), TransferStatus.State.RUNNING), rows);
+            if (transferSnackbar == null) {
+                transferSnackbar = Snackbar.make(rootView, message, Snackbar.LENGTH_INDEFINITE)
+                        .setAction(R.string.cancel, v -> taskViewModel.cancelTransfer());
+                transferSnackbar.show();
+            } else {
+                transferSnackbar.setText(message);
+            }
+            return;
+        }
+
+        // Hasil akhir hanya ditampilkan jika prosesnya terlihat di layar ini,
+        // supaya status lama tidak muncul lagi setelah rotasi
+        if (transferSnackbar == null) return;
+        transferSnackbar.dismiss();
+        transferSnackbar = null;
+
+        String message;
+        switch (status.getState()) {
+            case COMPLETED:
+                message = getString(transferMessage(status.getKind(), TransferStatus.State.COMPLETED), rows);
+                break;
+            case CANCELLED:
+                message = getString(R.string.transfer_cancelled, rows);
+                break;
+            default:
+                message = getString(transferMessage(status.getKind(), TransferStatus.State.FAILED));
+                break;
+        }
+        Snackbar.make(rootView, message, Snackbar.LENGTH_LONG).show();
+    }
+
+    private static int transferMessage(TransferStatus.Kind kind, TransferStatus.State state) {
+        switch (kind) {
+            case EXPORT:
+                return state == TransferStatus.State.RUNNING ? R.string.export_running
+                        : state == TransferStatus.State.COMPLETED ? R.string.export_done : R.string.export_failed;
+            case IMPORT:
+                return state == TransferStatus.State.RUNNING ? R.string.import_running
+                        : state == TransferStatus.State.COMPLETED ? R.string.import_done : R.string.import_failed;
+            case BACKUP:
+                return state == TransferStatus.State.RUNNING ? R.string.backup_running
+                        : state == TransferStatus.State.COMPLETED ? R.string.backup_done : R.string.backup_failed;
+            default:
+                return state == TransferStatus.State.RUNNING ? R.string.restore_running
+                        : state == TransferStatus.State.COMPLETED ? R.string.restore_done : R.string.restore_failed;
+        }
+    }
+
+    /**
+     * Pemulihan cadangan penuh mengganti semua tugas, jadi minta konfirmasi dulu
+     */
+    private void showRestoreConfirmationDialog(Uri uri) {
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.restore_backup)
+                .setMessage(R.string.restore_confirmation)
+                .setPositiveButton(R.string.restore, (dialog, which) -> taskViewModel.restoreTasks(uri))
+                .setNegativeButton(R.string.cancel, null)
+                .show();
     }
 
     private void setupBottomNavigation() {
@@ -197,6 +449,7 @@ public class MainActivity extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
+                // ViewModel menunda query sampai pengguna berhenti mengetik
                 taskViewModel.setSearchQuery(s.toString());
                 buttonClearSearch.setVisibility(s.length() > 0 ? View.VISIBLE : View.GONE);
             }
@@ -205,10 +458,8 @@ public class MainActivity extends AppCompatActivity {
             public void afterTextChanged(Editable s) {}
         });
 
-        buttonClearSearch.setOnClickListener(v -> {
-            editTextSearch.setText("");
-            taskViewModel.setSearchQuery("");
-        });
+        // Mengosongkan teks memicu TextWatcher, yang meneruskan query kosong tanpa debounce
+        buttonClearSearch.setOnClickListener(v -> editTextSearch.setText(""));
     }
 
     private void setupFab() {
@@ -219,29 +470,85 @@ public class MainActivity extends AppCompatActivity {
         });
     }
 
-    private void showDeleteConfirmationDialog(TaskEntity task) {
+    private void showDeleteConfirmationDialog(int[] taskIds) {
+        // Judul hanya ditampilkan untuk satu tugas yang masih ada di halaman yang dimuat
+        String singleTitle = singleTaskTitle(taskIds);
+        String message = singleTitle != null
+                ? getString(R.string.delete_confirmation_message, singleTitle)
+                : getString(R.string.delete_tasks_confirmation_message, taskIds.length);
+
         new AlertDialog.Builder(this)
                 .setTitle(R.string.delete_task)
-                .setMessage(getString(R.string.delete_confirmation_message, task.getTitle()))
+                .setMessage(message)
                 .setPositiveButton(R.string.delete, (dialog, which) -> {
-                    taskViewModel.delete(task);
-                    showUndoSnackbar();
+                    long token = taskViewModel.deleteTasks(taskIds);
+                    if (actionMode != null) {
+                        actionMode.finish();
+                    }
+                    showUndoSnackbar(token, taskIds.length, singleTitle);
                 })
                 .setNegativeButton(R.string.cancel, null)
                 .setIcon(R.drawable.ic_delete)
                 .show();
     }
 
-    private void showUndoSnackbar() {
-        if (taskViewModel.canUndo()) {
-            TaskEntity deletedTask = taskViewModel.getRecentlyDeletedTask();
-            String message = getString(R.string.task_deleted_undo, deletedTask.getTitle());
-            
-            Snackbar.make(rootView, message, Snackbar.LENGTH_LONG)
-                    .setAction(R.string.undo, v -> taskViewModel.undoDelete())
-                    .setActionTextColor(getResources().getColor(R.color.secondary, null))
-                    .show();
+    @Nullable
+    private String singleTaskTitle(int[] taskIds) {
+        if (taskIds.length != 1) {
+            return null;
         }
+        TaskUiModel task = adapter.findLoadedTask(taskIds[0]);
+        return task != null ? task.getTitle() : null;
+    }
+
+    private void showMoveToCategoryDialog(int[] taskIds) {
+        AutoCompleteTextView input = new AutoCompleteTextView(this);
+        input.setHint(R.string.category_label);
+        input.setSingleLine(true);
+        if (availableCategories != null) {
+            input.setAdapter(new ArrayAdapter<>(this,
+                    android.R.layout.simple_dropdown_item_1line, availableCategories));
+        }
+
+        FrameLayout container = new FrameLayout(this);
+        int padding = (int) (20 * getResources().getDisplayMetrics().density);
+        container.setPadding(padding, padding / 2, padding, 0);
+        container.addView(input);
+
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.move_to_category)
+                .setView(container)
+                .setPositiveButton(R.string.move, (dialog, which) -> {
+                    String category = input.getText().toString().trim();
+                    taskViewModel.moveToCategory(taskIds, category);
+                    if (actionMode != null) {
+                        actionMode.finish();
+                    }
+                    Snackbar.make(rootView, getString(R.string.tasks_moved, taskIds.length, category),
+                            Snackbar.LENGTH_SHORT).show();
+                })
+                .setNegativeButton(R.string.cancel, null)
+                .show();
+    }
+
+    private void showUndoSnackbar(long token, int deletedCount, @Nullable String singleTitle) {
+        String message = singleTitle != null
+                ? getString(R.string.task_deleted_undo, singleTitle)
+                : getString(R.string.tasks_deleted_undo, deletedCount);
+
+        // Undo diantrekan setelah penghapusan, jadi aman dipanggil sebelum penghapusan dijalankan.
+        // Token memastikan yang dibatalkan penghapusan ini, bukan penulisan lain yang terjadi sesudahnya.
+        Snackbar.make(rootView, message, Snackbar.LENGTH_LONG)
+                .setAction(R.string.undo, v -> taskViewModel.undo(token))
+                .setActionTextColor(getResources().getColor(R.color.secondary, null))
+                .show();
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Aplikasi bisa dimatikan sistem saat di latar belakang; jangan tunda penulisan
+        taskViewModel.flushPendingWrites();
     }
 
     @Override
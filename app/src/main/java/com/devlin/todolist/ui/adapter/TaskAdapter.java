@@ -1,5 +1,6 @@
 package com.devlin.todolist.ui.adapter;
 
+import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.view.LayoutInflater;
@@ -10,54 +11,124 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.cardview.widget.CardView;
+import androidx.paging.PagingDataAdapter;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.devlin.todolist.R;
-import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.ui.model.TaskUiModel;
+import com.devlin.todolist.util.IntHashSet;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import kotlinx.coroutines.Dispatchers;
+import kotlinx.coroutines.ExecutorsKt;
 
 /**
  * TaskAdapter untuk menampilkan tugas di RecyclerView.
- * Menggunakan ListAdapter dengan DiffUtil untuk update yang efisien.
+ * Menggunakan PagingDataAdapter sehingga hanya halaman yang terlihat yang dimuat dan di-diff.
+ * Item sudah berupa TaskUiModel yang siap tampil, jadi bind hanya mengisi view.
  */
-public class TaskAdapter extends ListAdapter<TaskEntity, TaskAdapter.TaskViewHolder> {
+public class TaskAdapter extends PagingDataAdapter<TaskUiModel, TaskAdapter.TaskViewHolder> {
+
+    // Warna terlambat, di-parse sekali saat kelas dimuat
+    private static final int COLOR_OVERDUE = Color.parseColor("#F44336");
 
     private OnTaskClickListener listener;
-    private final SimpleDateFormat dateFormat;
-    private final SimpleDateFormat dueDateFormat;
+    // Warna tema di-resolve sekali saat ViewHolder pertama dibuat
+    private boolean colorsResolved;
+    private int colorDue;
+    private int colorCardSelected;
+    private int colorCardBackground;
+    private long currentTime = System.currentTimeMillis();
+
+    // Mode pilih banyak: tugas yang dipilih disimpan berdasarkan ID
+    private final IntHashSet selectedIds = new IntHashSet();
+    private boolean selectionMode;
+
+    // Executor diff bawaan: satu thread latar belakang khusus, terpisah dari thread database
+    private static final Executor DEFAULT_DIFF_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "list-diff");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public TaskAdapter() {
-        super(DIFF_CALLBACK);
-        dateFormat = new SimpleDateFormat("dd MMM yyyy, HH:mm", Locale.getDefault());
-        dueDateFormat = new SimpleDateFormat("dd MMM yyyy", Locale.getDefault());
+        this(DEFAULT_DIFF_EXECUTOR);
+    }
+
+    /**
+     * @param diffExecutor executor untuk menghitung diff antar halaman di luar main thread
+     */
+    public TaskAdapter(@NonNull Executor diffExecutor) {
+        super(DIFF_CALLBACK, Dispatchers.getMain(), ExecutorsKt.from(diffExecutor));
     }
 
-    private static final DiffUtil.ItemCallback<TaskEntity> DIFF_CALLBACK =
-            new DiffUtil.ItemCallback<TaskEntity>() {
+    static final DiffUtil.ItemCallback<TaskUiModel> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<TaskUiModel>() {
                 @Override
-                public boolean areItemsTheSame(@NonNull TaskEntity oldItem, @NonNull TaskEntity newItem) {
+                public boolean areItemsTheSame(@NonNull TaskUiModel oldItem, @NonNull TaskUiModel newItem) {
                     return oldItem.getId() == newItem.getId();
                 }
 
+                // Setiap penulisan menaikkan kolom version, jadi perbandingan O(1) per item
+                // sudah mencakup semua kolom (termasuk kategori)
+                @Override
+                public boolean areContentsTheSame(@NonNull TaskUiModel oldItem, @NonNull TaskUiModel newItem) {
+                    return oldItem.getVersion() == newItem.getVersion();
+                }
+
+                // Hanya dipanggil untuk item yang versinya berubah. Null (bind penuh) jika tidak
+                // ada yang terlihat berubah
+                @Nullable
                 @Override
-                public boolean areContentsTheSame(@NonNull TaskEntity oldItem, @NonNull TaskEntity newItem) {
-                    return oldItem.getTitle().equals(newItem.getTitle()) &&
-                            oldItem.getDescription().equals(newItem.getDescription()) &&
-                            oldItem.isCompleted() == newItem.isCompleted() &&
-                            oldItem.getDueDate() == newItem.getDueDate() &&
-                            oldItem.getPriority() == newItem.getPriority();
+                public Object getChangePayload(@NonNull TaskUiModel oldItem, @NonNull TaskUiModel newItem) {
+                    int changes = 0;
+                    if (oldItem.isCompleted() != newItem.isCompleted()) {
+                        changes |= PAYLOAD_COMPLETED;
+                    }
+                    if (oldItem.getPriorityColor() != newItem.getPriorityColor()
+                            || !Objects.equals(oldItem.getPriorityText(), newItem.getPriorityText())) {
+                        changes |= PAYLOAD_PRIORITY;
+                    }
+                    if (oldItem.getDueDate() != newItem.getDueDate()) {
+                        changes |= PAYLOAD_DUE_DATE;
+                    }
+                    if (!Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                            || !Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                            || !Objects.equals(oldItem.getCreatedAtText(), newItem.getCreatedAtText())) {
+                        changes |= PAYLOAD_TEXT;
+                    }
+                    if (!Objects.equals(oldItem.getCategory(), newItem.getCategory())) {
+                        changes |= PAYLOAD_CATEGORY;
+                    }
+                    return changes != 0 ? changes : null;
                 }
             };
 
+    // Payload perubahan (bit flag) untuk bind sebagian; tanpa payload berarti bind penuh
+    static final int PAYLOAD_COMPLETED = 1;
+    static final int PAYLOAD_PRIORITY = 1 << 1;
+    static final int PAYLOAD_DUE_DATE = 1 << 2;
+    static final int PAYLOAD_TEXT = 1 << 3;
+    static final int PAYLOAD_CATEGORY = 1 << 4;
+    static final int PAYLOAD_SELECTION = 1 << 5;
+
     @NonNull
     @Override
     public TaskViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        if (!colorsResolved) {
+            Context context = parent.getContext();
+            colorsResolved = true;
+            colorDue = context.getColor(R.color.primary);
+            colorCardSelected = context.getColor(R.color.card_selected);
+            colorCardBackground = context.getColor(R.color.card_background);
+        }
         View itemView = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_task, parent, false);
         return new TaskViewHolder(itemView);
@@ -65,14 +136,95 @@ public class TaskAdapter extends ListAdapter<TaskEntity, TaskAdapter.TaskViewHol
 
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        TaskEntity currentTask = getItem(position);
-        holder.bind(currentTask);
+        TaskUiModel currentTask = getItem(position);
+        if (currentTask != null) {
+            holder.bind(currentTask);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TaskViewHolder holder, int position, @NonNull List<Object> payloads) {
+        TaskUiModel currentTask = getItem(position);
+        if (currentTask == null) {
+            return;
+        }
+
+        if (payloads.isEmpty()) {
+            holder.bind(currentTask);
+            return;
+        }
+        int changes = 0;
+        for (Object payload : payloads) {
+            if (payload instanceof Integer) {
+                changes |= (Integer) payload;
+            }
+        }
+        holder.bindChanges(currentTask, changes);
     }
 
-    public TaskEntity getTaskAt(int position) {
+    @Nullable
+    public TaskUiModel getTaskAt(int position) {
         return getItem(position);
     }
 
+    /**
+     * Set waktu acuan untuk status terlambat. Item hanya digambar ulang jika waktunya berubah.
+     */
+    public void setCurrentTime(long currentTime) {
+        if (this.currentTime != currentTime) {
+            this.currentTime = currentTime;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_DUE_DATE);
+        }
+    }
+
+    public boolean isSelectionMode() {
+        return selectionMode;
+    }
+
+    /**
+     * ID tugas yang sedang dipilih, terurut menaik
+     */
+    public int[] getSelectedIds() {
+        return selectedIds.toSortedArray();
+    }
+
+    /**
+     * Cari tugas yang sudah dimuat di halaman saat ini, atau null jika tidak ada
+     */
+    @Nullable
+    public TaskUiModel findLoadedTask(int taskId) {
+        for (TaskUiModel task : snapshot()) {
+            if (task != null && task.getId() == taskId) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keluar dari mode pilih banyak dan hapus semua pilihan
+     */
+    public void clearSelection() {
+        if (selectionMode || !selectedIds.isEmpty()) {
+            selectionMode = false;
+            selectedIds.clear();
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        }
+    }
+
+    private void toggleSelection(TaskUiModel task, int position) {
+        if (!selectedIds.remove(task.getId())) {
+            selectedIds.add(task.getId());
+        }
+        if (selectedIds.isEmpty()) {
+            selectionMode = false;
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        if (listener != null) {
+            listener.onSelectionChanged(selectedIds.size());
+        }
+    }
+
     public void setOnTaskClickListener(OnTaskClickListener listener) {
         this.listener = listener;
     }
@@ -81,9 +233,9 @@ public class TaskAdapter extends ListAdapter<TaskEntity, TaskAdapter.TaskViewHol
      * Interface untuk menangani interaksi item tugas
      */
     public interface OnTaskClickListener {
-        void onTaskClick(TaskEntity task);
-        void onTaskLongClick(TaskEntity task);
-        void onCheckBoxClick(TaskEntity task, boolean isChecked);
+        void onTaskClick(TaskUiModel task);
+        void onCheckBoxClick(TaskUiModel task, boolean isChecked);
+        void onSelectionChanged(int selectedCount);
     }
 
     /**
@@ -112,100 +264,131 @@ public class TaskAdapter extends ListAdapter<TaskEntity, TaskAdapter.TaskViewHol
             textViewCategory = itemView.findViewById(R.id.text_view_category);
             priorityIndicator = itemView.findViewById(R.id.priority_indicator);
 
-            // Click listener untuk edit
+            // Click listener untuk edit, atau pilih/batal pilih saat mode pilih banyak
             itemView.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onTaskClick(getItem(position));
+                TaskUiModel task = getBoundTask();
+                if (task == null) {
+                    return;
+                }
+                if (selectionMode) {
+                    toggleSelection(task, getBindingAdapterPosition());
+                } else if (listener != null) {
+                    listener.onTaskClick(task);
                 }
             });
 
-            // Long click listener untuk hapus
+            // Long click listener untuk masuk ke mode pilih banyak
             itemView.setOnLongClickListener(v -> {
-                int position = getAdapterPosition();
-                if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onTaskLongClick(getItem(position));
+                TaskUiModel task = getBoundTask();
+                if (task != null && !selectionMode) {
+                    selectionMode = true;
+                    toggleSelection(task, getBindingAdapterPosition());
                 }
                 return true;
             });
 
             // Checkbox listener untuk toggle selesai
             checkBoxComplete.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onCheckBoxClick(getItem(position), checkBoxComplete.isChecked());
+                TaskUiModel task = getBoundTask();
+                if (listener != null && task != null) {
+                    listener.onCheckBoxClick(task, checkBoxComplete.isChecked());
                 }
             });
         }
 
-        public void bind(TaskEntity task) {
+        @Nullable
+        private TaskUiModel getBoundTask() {
+            int position = getBindingAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? getItem(position) : null;
+        }
+
+        public void bind(TaskUiModel task) {
+            bindText(task);
+            bindCompleted(task);
+            bindDueDate(task);
+            bindPriority(task);
+            bindCategory(task);
+            bindSelection(task);
+        }
+
+        /**
+         * Bind sebagian: hanya view yang terpengaruh oleh perubahan yang disentuh
+         */
+        void bindChanges(TaskUiModel task, int changes) {
+            if ((changes & PAYLOAD_TEXT) != 0) {
+                bindText(task);
+            }
+            if ((changes & PAYLOAD_COMPLETED) != 0) {
+                bindCompleted(task);
+            }
+            // Status terlambat bergantung pada tenggat dan status selesai
+            if ((changes & (PAYLOAD_DUE_DATE | PAYLOAD_COMPLETED)) != 0) {
+                bindDueDate(task);
+            }
+            if ((changes & PAYLOAD_PRIORITY) != 0) {
+                bindPriority(task);
+            }
+            if ((changes & PAYLOAD_CATEGORY) != 0) {
+                bindCategory(task);
+            }
+            if ((changes & PAYLOAD_SELECTION) != 0) {
+                bindSelection(task);
+            }
+        }
+
+        private void bindText(TaskUiModel task) {
             textViewTitle.setText(task.getTitle());
             textViewDescription.setText(task.getDescription());
-            textViewDate.setText(dateFormat.format(new Date(task.getCreatedAt())));
-            
-            // Set checkbox state tanpa memicu listener
-            checkBoxComplete.setOnClickListener(null);
+            textViewDate.setText(task.getCreatedAtText());
+        }
+
+        private void bindCompleted(TaskUiModel task) {
+            // setChecked tidak memicu OnClickListener, jadi listener tidak perlu dilepas
             checkBoxComplete.setChecked(task.isCompleted());
-            checkBoxComplete.setOnClickListener(v -> {
-                int position = getAdapterPosition();
-                if (listener != null && position != RecyclerView.NO_POSITION) {
-                    listener.onCheckBoxClick(getItem(position), checkBoxComplete.isChecked());
-                }
-            });
 
+            // Terapkan strikethrough untuk tugas selesai
+            if (task.isCompleted()) {
+                textViewTitle.setPaintFlags(textViewTitle.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
+                textViewDescription.setPaintFlags(textViewDescription.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
+                cardView.setAlpha(0.7f);
+            } else {
+                textViewTitle.setPaintFlags(textViewTitle.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
+                textViewDescription.setPaintFlags(textViewDescription.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
+                cardView.setAlpha(1.0f);
+            }
+        }
+
+        private void bindDueDate(TaskUiModel task) {
             // Tampilkan tanggal jatuh tempo
-            if (task.getDueDate() > 0) {
+            if (task.hasDueDate()) {
+                boolean overdue = task.isOverdueAt(currentTime);
                 textViewDueDate.setVisibility(View.VISIBLE);
-                String dueDateText = dueDateFormat.format(new Date(task.getDueDate()));
-                
-                // Cek apakah terlambat (dan belum selesai)
-                if (!task.isCompleted() && task.getDueDate() < System.currentTimeMillis()) {
-                    textViewDueDate.setText(itemView.getContext().getString(R.string.overdue_format, dueDateText));
-                    textViewDueDate.setTextColor(Color.parseColor("#F44336")); // Merah untuk terlambat
-                } else {
-                    textViewDueDate.setText(itemView.getContext().getString(R.string.due_format, dueDateText));
-                    textViewDueDate.setTextColor(itemView.getContext().getResources().getColor(R.color.primary, null));
-                }
+                textViewDueDate.setText(task.getDueText(overdue));
+                textViewDueDate.setTextColor(overdue ? COLOR_OVERDUE : colorDue);
             } else {
                 textViewDueDate.setVisibility(View.GONE);
             }
+        }
 
-            // Tampilkan prioritas
+        private void bindPriority(TaskUiModel task) {
             textViewPriority.setText(task.getPriorityText());
-            int priorityColor;
-            switch (task.getPriority()) {
-                case TaskEntity.PRIORITY_HIGH:
-                    priorityColor = Color.parseColor("#F44336"); // Merah
-                    break;
-                case TaskEntity.PRIORITY_MEDIUM:
-                    priorityColor = Color.parseColor("#FF9800"); // Oranye
-                    break;
-                case TaskEntity.PRIORITY_LOW:
-                default:
-                    priorityColor = Color.parseColor("#4CAF50"); // Hijau
-                    break;
-            }
-            textViewPriority.setTextColor(priorityColor);
-            priorityIndicator.setBackgroundColor(priorityColor);
+            textViewPriority.setTextColor(task.getPriorityColor());
+            priorityIndicator.setBackgroundColor(task.getPriorityColor());
+        }
 
-            // Tampilkan kategori
-            if (task.getCategory() != null && !task.getCategory().isEmpty()) {
+        private void bindCategory(TaskUiModel task) {
+            if (task.getCategory() != null) {
                 textViewCategory.setVisibility(View.VISIBLE);
                 textViewCategory.setText(task.getCategory());
             } else {
                 textViewCategory.setVisibility(View.GONE);
             }
+        }
 
-            // Terapkan strikethrough untuk tugas selesai
-            if (task.isCompleted()) {
-                textViewTitle.setPaintFlags(textViewTitle.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
-                textViewDescription.setPaintFlags(textViewDescription.getPaintFlags() | Paint.STRIKE_THRU_TEXT_FLAG);
-                cardView.setAlpha(0.7f);
-            } else {
-                textViewTitle.setPaintFlags(textViewTitle.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
-                textViewDescription.setPaintFlags(textViewDescription.getPaintFlags() & (~Paint.STRIKE_THRU_TEXT_FLAG));
-                cardView.setAlpha(1.0f);
-            }
+        private void bindSelection(TaskUiModel task) {
+            // Tandai kartu yang sedang dipilih
+            cardView.setCardBackgroundColor(
+                    selectedIds.contains(task.getId()) ? colorCardSelected : colorCardBackground);
         }
     }
 }
@@ -0,0 +1,44 @@
+package com.devlin.todolist.ui.model;
+
+/**
+ * DateTextCache adalah cache kecil long -> String berbentuk direct-mapped (setiap kunci punya
+ * satu slot tetap). Tidak ada boxing maupun node baru saat get/put, jadi pencarian di jalur
+ * bind tidak mengalokasikan apa pun; entri lama di slot yang sama otomatis tergantikan.
+ */
+final class DateTextCache {
+
+    private final long[] keys;
+    private final String[] values;
+    private final int mask;
+
+    /**
+     * @param capacity jumlah slot, harus pangkat dua
+     */
+    DateTextCache(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity harus pangkat dua: " + capacity);
+        }
+        keys = new long[capacity];
+        values = new String[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * @return teks untuk kunci, atau null jika belum ada di cache
+     */
+    String get(long key) {
+        int slot = slot(key);
+        return values[slot] != null && keys[slot] == key ? values[slot] : null;
+    }
+
+    void put(long key, String value) {
+        int slot = slot(key);
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
@@ -0,0 +1,71 @@
+package com.devlin.todolist.ui.model;
+
+import android.content.Context;
+
+import com.devlin.todolist.R;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * TaskDateFormatter memformat tanggal untuk item daftar dengan java.time (DateTimeFormatter
+ * thread-safe, tersedia di minSdk 24 lewat desugaring). Hasil disimpan per menit untuk
+ * tanggal dibuat dan per hari untuk tenggat, sehingga menggulir daftar yang sudah pernah
+ * terlihat tidak memformat ulang maupun mengalokasikan string baru.
+ * Cache tidak thread-safe; hanya dipakai dari thread TaskUiMapper.
+ */
+final class TaskDateFormatter {
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int CACHE_SIZE = 256;
+
+    private final DateTimeFormatter createdAtFormatter;
+    private final DateTimeFormatter dueDateFormatter;
+    private final TimeZone timeZone;
+    private final Context context;
+
+    private final DateTextCache createdAtCache = new DateTextCache(CACHE_SIZE);
+    private final DateTextCache dueCache = new DateTextCache(CACHE_SIZE);
+    private final DateTextCache overdueCache = new DateTextCache(CACHE_SIZE);
+
+    TaskDateFormatter(Context context) {
+        this.context = context.getApplicationContext();
+        Locale locale = Locale.getDefault();
+        timeZone = TimeZone.getDefault();
+        ZoneId zone = ZoneId.systemDefault();
+        createdAtFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm", locale).withZone(zone);
+        dueDateFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy", locale).withZone(zone);
+    }
+
+    /**
+     * Tanggal dibuat, misalnya "21 Des 2024, 09:30"
+     */
+    String formatCreatedAt(long millis) {
+        long minute = Math.floorDiv(millis, MILLIS_PER_MINUTE);
+        String text = createdAtCache.get(minute);
+        if (text == null) {
+            text = createdAtFormatter.format(Instant.ofEpochMilli(millis));
+            createdAtCache.put(minute, text);
+        }
+        return text;
+    }
+
+    /**
+     * Teks tenggat lengkap ("Tenggat: ..." atau "Terlambat: ...") per hari kalender lokal
+     */
+    String formatDue(long millis, boolean overdue) {
+        long day = Math.floorDiv(millis + timeZone.getOffset(millis), MILLIS_PER_DAY);
+        DateTextCache cache = overdue ? overdueCache : dueCache;
+        String text = cache.get(day);
+        if (text == null) {
+            String date = dueDateFormatter.format(Instant.ofEpochMilli(millis));
+            text = context.getString(overdue ? R.string.overdue_format : R.string.due_format, date);
+            cache.put(day, text);
+        }
+        return text;
+    }
+}
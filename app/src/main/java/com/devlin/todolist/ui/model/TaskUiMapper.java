@@ -0,0 +1,122 @@
+package com.devlin.todolist.ui.model;
+
+import android.content.Context;
+import android.graphics.Color;
+
+import androidx.annotation.NonNull;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.TaskListItem;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * TaskUiMapper mengubah baris TaskListItem menjadi TaskUiModel di satu thread latar
+ * belakang yang dipakai bersama semua mapper (thread tidak ikut dibuat per ViewModel).
+ * Model disimpan per id bersama versinya, sehingga setelah sebuah penulisan hanya baris
+ * yang versinya berubah yang dipetakan ulang; sisanya memakai objek yang sama.
+ */
+public class TaskUiMapper {
+
+    // Jumlah model yang disimpan; cukup untuk beberapa jendela paging
+    private static final int MAX_CACHED_MODELS = 1000;
+
+    // Warna prioritas tetap, di-parse sekali
+    private static final int COLOR_HIGH = Color.parseColor("#F44336"); // Merah
+    private static final int COLOR_MEDIUM = Color.parseColor("#FF9800"); // Oranye
+    private static final int COLOR_LOW = Color.parseColor("#4CAF50"); // Hijau
+
+    // Executor bawaan: satu thread untuk seluruh aplikasi, hidup selama proses
+    private static final Executor DEFAULT_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-ui-map");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Executor executor;
+    private final TaskDateFormatter dateFormatter;
+
+    // Hanya diakses dari thread executor
+    private final Map<Integer, TaskUiModel> models =
+            new LinkedHashMap<Integer, TaskUiModel>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, TaskUiModel> eldest) {
+                    return size() > MAX_CACHED_MODELS;
+                }
+            };
+
+    public TaskUiMapper(Context context) {
+        this(new TaskDateFormatter(context), DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * @param executor executor satu thread; model dan cache tanggal hanya diakses dari sana
+     */
+    TaskUiMapper(@NonNull TaskDateFormatter dateFormatter, @NonNull Executor executor) {
+        this.dateFormatter = dateFormatter;
+        this.executor = executor;
+    }
+
+    /**
+     * Executor tempat map() harus dipanggil (misalnya lewat PagingDataTransforms.map)
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Petakan satu baris. Dipanggil di thread executor.
+     */
+    @NonNull
+    public TaskUiModel map(@NonNull TaskListItem item) {
+        TaskUiModel cached = models.get(item.getId());
+        if (cached != null && cached.getVersion() == item.getVersion()) {
+            return cached;
+        }
+        TaskUiModel model = create(item);
+        models.put(item.getId(), model);
+        return model;
+    }
+
+    private TaskUiModel create(TaskListItem item) {
+        String dueText = null;
+        String overdueText = null;
+        if (item.getDueDate() > 0) {
+            dueText = dateFormatter.formatDue(item.getDueDate(), false);
+            overdueText = dateFormatter.formatDue(item.getDueDate(), true);
+        }
+        String category = item.getCategory();
+        if (category != null && category.isEmpty()) {
+            category = null;
+        }
+        return new TaskUiModel(
+                item.getId(),
+                item.getVersion(),
+                item.getTitle(),
+                item.getDescription(),
+                item.isCompleted(),
+                dateFormatter.formatCreatedAt(item.getCreatedAt()),
+                item.getDueDate(),
+                dueText,
+                overdueText,
+                item.getPriorityText(),
+                priorityColor(item.getPriority()),
+                category
+        );
+    }
+
+    private static int priorityColor(int priority) {
+        switch (priority) {
+            case TaskEntity.PRIORITY_HIGH:
+                return COLOR_HIGH;
+            case TaskEntity.PRIORITY_MEDIUM:
+                return COLOR_MEDIUM;
+            case TaskEntity.PRIORITY_LOW:
+            default:
+                return COLOR_LOW;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.devlin.todolist.ui.model;
+
+/**
+ * TaskUiModel adalah item daftar yang siap ditampilkan: semua teks dan warna sudah
+ * dihitung oleh TaskUiMapper di thread latar belakang, jadi adapter hanya mengisi view.
+ * Status terlambat bergantung pada jam, karena itu kedua teks tenggat disiapkan sekaligus.
+ */
+public final class TaskUiModel {
+
+    private final int id;
+    private final int version;
+    private final String title;
+    private final String description;
+    private final boolean isCompleted;
+    private final String createdAtText;
+    private final long dueDate;
+    private final String dueText;
+    private final String overdueText;
+    private final String priorityText;
+    private final int priorityColor;
+    private final String category;
+
+    TaskUiModel(int id, int version, String title, String description, boolean isCompleted,
+                String createdAtText, long dueDate, String dueText, String overdueText,
+                String priorityText, int priorityColor, String category) {
+        this.id = id;
+        this.version = version;
+        this.title = title;
+        this.description = description;
+        this.isCompleted = isCompleted;
+        this.createdAtText = createdAtText;
+        this.dueDate = dueDate;
+        this.dueText = dueText;
+        this.overdueText = overdueText;
+        this.priorityText = priorityText;
+        this.priorityColor = priorityColor;
+        this.category = category;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Versi baris sumber (lihat TaskEntity); sama berarti isi model sama
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return isCompleted;
+    }
+
+    public String getCreatedAtText() {
+        return createdAtText;
+    }
+
+    public boolean hasDueDate() {
+        return dueDate > 0;
+    }
+
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Terlambat jika belum selesai dan tenggat sudah lewat dari waktu acuan
+     */
+    public boolean isOverdueAt(long currentTime) {
+        return !isCompleted && dueDate > 0 && dueDate < currentTime;
+    }
+
+    /**
+     * Teks tenggat sesuai status terlambat, atau null jika tanpa tenggat
+     */
+    public String getDueText(boolean overdue) {
+        return overdue ? overdueText : dueText;
+    }
+
+    public String getPriorityText() {
+        return priorityText;
+    }
+
+    public int getPriorityColor() {
+        return priorityColor;
+    }
+
+    /**
+     * Kategori, atau null jika tugas tidak berkategori
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskUiModel{" +
+                "id=" + id +
+                ", version=" + version +
+                ", title='" + title + '\'' +
+                ", isCompleted=" + isCompleted +
+                ", dueDate=" + dueDate +
+                ", category='" + category + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package com.devlin.todolist.ui.viewmodel;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+/**
+ * SearchPipeline menahan input pencarian sampai pengguna berhenti mengetik selama
+ * jeda tertentu (debounce), lalu meneruskannya sebagai SearchRequest.
+ *
+ * Setiap request yang diteruskan diberi nomor generasi yang selalu naik. Konsumen
+ * memakai isCurrent untuk membuang hasil query lama yang datang terlambat.
+ * Semua method harus dipanggil dari main thread.
+ */
+public class SearchPipeline {
+
+    public static final long DEFAULT_DEBOUNCE_MS = 250;
+
+    /**
+     * Penjadwal tugas tertunda. Bisa diganti dengan jam virtual untuk pengujian.
+     */
+    public interface Scheduler {
+        Cancellable schedule(@NonNull Runnable task, long delayMillis);
+    }
+
+    public interface Cancellable {
+        void cancel();
+    }
+
+    /**
+     * Query yang sudah lolos debounce, beserta nomor generasinya
+     */
+    public static final class SearchRequest {
+        private final long generation;
+        private final String query;
+
+        SearchRequest(long generation, String query) {
+            this.generation = generation;
+            this.query = query;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public boolean isEmpty() {
+            return query.isEmpty();
+        }
+    }
+
+    private final Scheduler scheduler;
+    private final long debounceMillis;
+    private final MutableLiveData<SearchRequest> requests;
+
+    private long generation;
+    private Cancellable pending;
+
+    public SearchPipeline() {
+        this(new HandlerScheduler(), DEFAULT_DEBOUNCE_MS);
+    }
+
+    public SearchPipeline(Scheduler scheduler, long debounceMillis) {
+        this.scheduler = scheduler;
+        this.debounceMillis = debounceMillis;
+        this.requests = new MutableLiveData<>(new SearchRequest(generation, ""));
+    }
+
+    /**
+     * Aliran query yang sudah di-debounce
+     */
+    public LiveData<SearchRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Kirim input terbaru. Input sebelumnya yang belum diteruskan dibatalkan.
+     * Mengosongkan pencarian diteruskan langsung tanpa menunggu.
+     */
+    public void submit(String query) {
+        if (pending != null) {
+            pending.cancel();
+            pending = null;
+        }
+
+        String normalized = query != null ? query.trim() : "";
+        if (normalized.isEmpty()) {
+            emit(normalized);
+        } else {
+            pending = scheduler.schedule(() -> {
+                pending = null;
+                emit(normalized);
+            }, debounceMillis);
+        }
+    }
+
+    /**
+     * True jika generasi tersebut masih merupakan request terbaru
+     */
+    public boolean isCurrent(long requestGeneration) {
+        return requestGeneration == generation;
+    }
+
+    private void emit(String query) {
+        SearchRequest current = requests.getValue();
+        if (current != null && current.getQuery().equals(query)) {
+            // Query sama dengan yang sedang aktif, tidak perlu query ulang
+            return;
+        }
+        generation++;
+        requests.setValue(new SearchRequest(generation, query));
+    }
+
+    /**
+     * Penjadwal default berbasis Handler di main thread
+     */
+    private static final class HandlerScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            handler.postDelayed(task, delayMillis);
+            return () -> handler.removeCallbacks(task);
+        }
+    }
+}
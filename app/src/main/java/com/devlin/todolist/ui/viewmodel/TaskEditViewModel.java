@@ -0,0 +1,38 @@
+package com.devlin.todolist.ui.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.repository.TaskRepository;
+
+/**
+ * TaskEditViewModel menyediakan tugas yang sedang diedit untuk AddEditTaskActivity.
+ * Hanya memuat satu baris lewat TaskRepository bersama (dan TaskCache-nya), tanpa membuat
+ * daftar, statistik, atau pemetaan UI sendiri.
+ */
+public class TaskEditViewModel extends AndroidViewModel {
+
+    private final TaskRepository repository;
+    private int taskId = -1;
+    private LiveData<TaskEntity> task;
+
+    public TaskEditViewModel(@NonNull Application application) {
+        super(application);
+        repository = TaskRepository.getInstance(application);
+    }
+
+    /**
+     * Tugas dengan id tersebut, dimuat sekali dan disimpan selama ViewModel hidup
+     */
+    public LiveData<TaskEntity> getTask(int taskId) {
+        if (task == null || this.taskId != taskId) {
+            this.taskId = taskId;
+            task = repository.getTaskById(taskId);
+        }
+        return task;
+    }
+}
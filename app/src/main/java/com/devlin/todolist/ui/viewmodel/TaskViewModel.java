@@ -1,6 +1,9 @@
 package com.devlin.todolist.ui.viewmodel;
 
 import android.app.Application;
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
@@ -8,10 +11,23 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
 
 import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.ListSnapshot;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.data.model.TaskStats;
 import com.devlin.todolist.data.repository.TaskRepository;
+import com.devlin.todolist.data.transfer.TransferFormat;
+import com.devlin.todolist.data.transfer.TransferStatus;
+import com.devlin.todolist.ui.model.TaskUiMapper;
+import com.devlin.todolist.ui.model.TaskUiModel;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -30,117 +46,138 @@ public class TaskViewModel extends AndroidViewModel {
     private final TaskRepository repository;
     private final MutableLiveData<FilterType> currentFilter;
     private final MutableLiveData<String> searchQuery;
-    private final MediatorLiveData<List<TaskEntity>> filteredTasks;
-
-    // Sumber LiveData untuk setiap filter
-    private final LiveData<List<TaskEntity>> allTasks;
-    private final LiveData<List<TaskEntity>> activeTasks;
-    private final LiveData<List<TaskEntity>> completedTasks;
+    private final SearchPipeline searchPipeline;
+    // Satu-satunya state daftar: filter dan pencarian (setelah debounce)
+    private final MediatorLiveData<TaskQuery> listQuery;
+    private final TaskUiMapper uiMapper;
+    private final LiveData<PagingData<TaskUiModel>> filteredTasks;
     private final LiveData<List<String>> allCategories;
 
     // Statistik
-    private final LiveData<Integer> activeTaskCount;
-    private final LiveData<Integer> completedTaskCount;
-    private final LiveData<Integer> overdueTaskCount;
+    private final MediatorLiveData<TaskStats> taskStats;
 
-    // Tugas yang baru dihapus untuk fitur undo
-    private TaskEntity recentlyDeletedTask;
+    // Isi snapshot daftar terakhir; null jika tidak ada (lihat ListSnapshotStore)
+    private final MutableLiveData<PagingData<TaskUiModel>> snapshotPage = new MutableLiveData<>();
+    private final MutableLiveData<TaskStats> snapshotStats = new MutableLiveData<>();
 
     public TaskViewModel(@NonNull Application application) {
         super(application);
-        repository = new TaskRepository(application);
+        repository = TaskRepository.getInstance(application);
         
         // Inisialisasi filter dan pencarian
         currentFilter = new MutableLiveData<>(FilterType.ALL);
         searchQuery = new MutableLiveData<>("");
         
-        // Ambil semua sumber LiveData
-        allTasks = repository.getAllTasks();
-        activeTasks = repository.getActiveTasks();
-        completedTasks = repository.getCompletedTasks();
         allCategories = repository.getAllCategories();
         
-        // Statistik
-        activeTaskCount = repository.getActiveTaskCount();
-        completedTaskCount = repository.getCompletedTaskCount();
-        overdueTaskCount = repository.getOverdueTaskCount();
-        
-        // Inisialisasi filtered tasks dengan mediator
-        filteredTasks = new MediatorLiveData<>();
-        
-        // Tambahkan sumber ke mediator
-        filteredTasks.addSource(allTasks, tasks -> {
-            if (currentFilter.getValue() == FilterType.ALL && isSearchEmpty()) {
-                filteredTasks.setValue(tasks);
-            }
+        // Statistik: angka dari snapshot ditampilkan sampai query pertama selesai
+        LiveData<TaskStats> liveStats = repository.getTaskStats();
+        taskStats = new MediatorLiveData<>();
+        taskStats.addSource(snapshotStats, stats -> {
+            if (stats != null) taskStats.setValue(stats);
         });
-        
-        filteredTasks.addSource(activeTasks, tasks -> {
-            if (currentFilter.getValue() == FilterType.ACTIVE && isSearchEmpty()) {
-                filteredTasks.setValue(tasks);
-            }
+        taskStats.addSource(liveStats, stats -> {
+            taskStats.removeSource(snapshotStats);
+            taskStats.setValue(stats);
         });
         
-        filteredTasks.addSource(completedTasks, tasks -> {
-            if (currentFilter.getValue() == FilterType.COMPLETED && isSearchEmpty()) {
-                filteredTasks.setValue(tasks);
+        // Input pencarian di-debounce sebelum menjadi bagian dari state daftar
+        searchPipeline = new SearchPipeline();
+        listQuery = new MediatorLiveData<>(TaskQuery.DEFAULT);
+        listQuery.addSource(searchPipeline.getRequests(),
+                request -> updateQuery(currentQuery().withSearch(request.getQuery())));
+
+        // Satu query berparameter per state; switchMap melepas (dan membatalkan) sumber lama.
+        // Setiap halaman lalu dipetakan ke TaskUiModel di thread mapper, bukan di main thread.
+        uiMapper = new TaskUiMapper(application);
+        LiveData<PagingData<TaskListItem>> rows =
+                Transformations.switchMap(Transformations.distinctUntilChanged(listQuery), this::loadPagedTasks);
+        LiveData<PagingData<TaskUiModel>> livePages = PagingLiveData.cachedIn(
+                Transformations.map(rows, data ->
+                        PagingDataTransforms.map(data, uiMapper.getExecutor(), uiMapper::map)),
+                ViewModelKt.getViewModelScope(this)
+        );
+        filteredTasks = withSnapshot(livePages);
+        repository.loadListSnapshot(this::onSnapshotLoaded);
+    }
+
+    /**
+     * Snapshot (jika ada) dikirim lebih dulu, baru kemudian data berhalaman. PagingDataAdapter
+     * tetap menampilkan snapshot sampai halaman pertama dari Room selesai dimuat, lalu
+     * men-diff keduanya, jadi daftar tidak pernah kosong sesaat saat startup.
+     */
+    private LiveData<PagingData<TaskUiModel>> withSnapshot(LiveData<PagingData<TaskUiModel>> livePages) {
+        MediatorLiveData<PagingData<TaskUiModel>> result = new MediatorLiveData<>();
+        result.addSource(snapshotPage, page -> {
+            result.removeSource(snapshotPage);
+            if (page != null) {
+                result.setValue(page);
             }
+            result.addSource(livePages, result::setValue);
         });
-        
-        // Reaktif terhadap perubahan filter
-        filteredTasks.addSource(currentFilter, filter -> {
-            if (isSearchEmpty()) {
-                updateFilteredTasks(filter);
+        return result;
+    }
+
+    private void onSnapshotLoaded(ListSnapshot snapshot) {
+        if (snapshot == null) {
+            snapshotPage.postValue(null);
+            return;
+        }
+        uiMapper.getExecutor().execute(() -> {
+            List<TaskUiModel> models = new ArrayList<>(snapshot.getItems().size());
+            for (TaskListItem item : snapshot.getItems()) {
+                models.add(uiMapper.map(item));
             }
+            snapshotStats.postValue(snapshot.getStats());
+            snapshotPage.postValue(PagingData.from(models));
         });
+    }
+
+    private LiveData<PagingData<TaskListItem>> loadPagedTasks(TaskQuery query) {
+        LiveData<PagingData<TaskListItem>> results = repository.getTasksPaged(query);
+        SearchPipeline.SearchRequest request = searchPipeline.getRequests().getValue();
+        if (!query.hasSearch() || request == null) {
+            return results;
+        }
 
-        // Reaktif terhadap perubahan pencarian
-        filteredTasks.addSource(searchQuery, query -> {
-            if (query != null && !query.isEmpty()) {
-                // Pencarian aktif - gunakan hasil pencarian
-                LiveData<List<TaskEntity>> searchResults = repository.searchTasks(query);
-                filteredTasks.addSource(searchResults, results -> {
-                    filteredTasks.setValue(results);
-                    filteredTasks.removeSource(searchResults);
-                });
-            } else {
-                // Pencarian kosong - gunakan filter normal
-                updateFilteredTasks(currentFilter.getValue());
+        // Pencarian aktif - hasil hanya diteruskan selama generasinya masih terbaru
+        long generation = request.getGeneration();
+        MediatorLiveData<PagingData<TaskListItem>> latestOnly = new MediatorLiveData<>();
+        latestOnly.addSource(results, data -> {
+            if (searchPipeline.isCurrent(generation)) {
+                latestOnly.setValue(data);
             }
         });
+        return latestOnly;
     }
 
-    private boolean isSearchEmpty() {
-        String query = searchQuery.getValue();
-        return query == null || query.isEmpty();
+    private TaskQuery currentQuery() {
+        TaskQuery query = listQuery.getValue();
+        return query != null ? query : TaskQuery.DEFAULT;
     }
 
-    private void updateFilteredTasks(FilterType filter) {
-        if (filter == null) filter = FilterType.ALL;
-        
+    private void updateQuery(TaskQuery query) {
+        if (!query.equals(listQuery.getValue())) {
+            listQuery.setValue(query);
+        }
+    }
+
+    private static TaskQuery.Status toStatus(FilterType filter) {
         switch (filter) {
-            case ALL:
-                if (allTasks.getValue() != null) {
-                    filteredTasks.setValue(allTasks.getValue());
-                }
-                break;
             case ACTIVE:
-                if (activeTasks.getValue() != null) {
-                    filteredTasks.setValue(activeTasks.getValue());
-                }
-                break;
+                return TaskQuery.Status.ACTIVE;
             case COMPLETED:
-                if (completedTasks.getValue() != null) {
-                    filteredTasks.setValue(completedTasks.getValue());
-                }
-                break;
+                return TaskQuery.Status.COMPLETED;
+            case ALL:
+            default:
+                return TaskQuery.Status.ALL;
         }
     }
 
     /**
-     * Ambil tugas yang difilter berdasarkan pilihan filter saat ini
+     * Ambil tugas yang difilter berdasarkan pilihan filter saat ini (dalam bentuk halaman)
      */
-    public LiveData<List<TaskEntity>> getFilteredTasks() {
+    public LiveData<PagingData<TaskUiModel>> getFilteredTasks() {
         return filteredTasks;
     }
 
@@ -156,6 +193,14 @@ public class TaskViewModel extends AndroidViewModel {
      */
     public void setFilter(FilterType filter) {
         currentFilter.setValue(filter);
+        updateQuery(currentQuery().withStatus(toStatus(filter)));
+    }
+
+    /**
+     * State daftar saat ini (filter dan pencarian)
+     */
+    public LiveData<TaskQuery> getListQuery() {
+        return listQuery;
     }
 
     /**
@@ -163,6 +208,7 @@ public class TaskViewModel extends AndroidViewModel {
      */
     public void setSearchQuery(String query) {
         searchQuery.setValue(query);
+        searchPipeline.submit(query);
     }
 
     /**
@@ -180,23 +226,17 @@ public class TaskViewModel extends AndroidViewModel {
     }
 
     /**
-     * Ambil tugas berdasarkan ID
+     * Statistik aktif, selesai, dan terlambat sebagai satu LiveData
      */
-    public LiveData<TaskEntity> getTaskById(int taskId) {
-        return repository.getTaskById(taskId);
-    }
-
-    // Statistik
-    public LiveData<Integer> getActiveTaskCount() {
-        return activeTaskCount;
-    }
-
-    public LiveData<Integer> getCompletedTaskCount() {
-        return completedTaskCount;
+    public LiveData<TaskStats> getTaskStats() {
+        return taskStats;
     }
 
-    public LiveData<Integer> getOverdueTaskCount() {
-        return overdueTaskCount;
+    /**
+     * Waktu acuan untuk menandai tugas terlambat di daftar
+     */
+    public LiveData<Long> getCurrentTime() {
+        return repository.getOverdueClock();
     }
 
     /**
@@ -217,32 +257,45 @@ public class TaskViewModel extends AndroidViewModel {
      * Hapus tugas (dengan menyimpan untuk undo)
      */
     public void delete(TaskEntity task) {
-        recentlyDeletedTask = task;
-        repository.delete(task);
+        repository.deleteByIds(new int[]{task.getId()});
     }
 
     /**
-     * Undo hapus terakhir
+     * Hapus banyak tugas sekaligus (dengan menyimpan untuk undo)
+     *
+     * @return token untuk {@link #undo(long)}
      */
-    public void undoDelete() {
-        if (recentlyDeletedTask != null) {
-            repository.insert(recentlyDeletedTask);
-            recentlyDeletedTask = null;
-        }
+    public long deleteTasks(int[] taskIds) {
+        return repository.deleteByIds(taskIds);
     }
 
     /**
-     * Cek apakah ada tugas yang bisa di-undo
+     * Batalkan operasi terakhir (hapus, edit, centang, pindah kategori, ...)
      */
-    public boolean canUndo() {
-        return recentlyDeletedTask != null;
+    public void undo() {
+        repository.undo();
     }
 
     /**
-     * Ambil tugas yang baru dihapus
+     * Batalkan penghapusan dari deleteTasks; tidak berbuat apa-apa jika sudah ada operasi lain sesudahnya
      */
-    public TaskEntity getRecentlyDeletedTask() {
-        return recentlyDeletedTask;
+    public void undo(long token) {
+        repository.undo(token);
+    }
+
+    /**
+     * Ulangi operasi yang terakhir dibatalkan
+     */
+    public void redo() {
+        repository.redo();
+    }
+
+    public LiveData<Boolean> getCanUndo() {
+        return repository.getCanUndo();
+    }
+
+    public LiveData<Boolean> getCanRedo() {
+        return repository.getCanRedo();
     }
 
     /**
@@ -259,10 +312,90 @@ public class TaskViewModel extends AndroidViewModel {
         repository.toggleComplete(task);
     }
 
+    /**
+     * Tandai banyak tugas sebagai selesai/belum selesai sekaligus
+     */
+    public void setCompleted(int[] taskIds, boolean completed) {
+        repository.setCompleted(taskIds, completed);
+    }
+
+    /**
+     * Pindahkan banyak tugas ke kategori lain sekaligus
+     */
+    public void moveToCategory(int[] taskIds, String category) {
+        repository.moveToCategory(taskIds, category);
+    }
+
+    /**
+     * Set status selesai tugas sesuai nilai checkbox
+     */
+    public void setCompleted(TaskUiModel task, boolean completed) {
+        repository.setCompleted(task.getId(), completed);
+    }
+
     /**
      * Hapus semua tugas
      */
     public void deleteAll() {
         repository.deleteAll();
     }
+
+    /**
+     * Ekspor semua tugas ke berkas yang dipilih pengguna
+     */
+    public void exportTasks(Uri uri, TransferFormat format) {
+        ContentResolver resolver = getApplication().getContentResolver();
+        repository.exportTasks(() -> resolver.openOutputStream(uri, "wt"), format);
+    }
+
+    /**
+     * Impor tugas dari berkas JSON/CSV yang dipilih pengguna
+     */
+    public void importTasks(Uri uri) {
+        ContentResolver resolver = getApplication().getContentResolver();
+        repository.importTasks(() -> resolver.openInputStream(uri));
+    }
+
+    /**
+     * Tulis cadangan biner ke berkas yang dipilih pengguna
+     *
+     * @param incremental hanya perubahan sejak cadangan terakhir
+     */
+    public void backupTasks(Uri uri, boolean incremental) {
+        ContentResolver resolver = getApplication().getContentResolver();
+        // Menutup channel ikut menutup stream dan file descriptor-nya
+        repository.backupTasks(() -> new ParcelFileDescriptor.AutoCloseOutputStream(
+                resolver.openFileDescriptor(uri, "wt")).getChannel(), incremental);
+    }
+
+    /**
+     * Pulihkan tugas dari berkas cadangan biner yang dipilih pengguna
+     */
+    public void restoreTasks(Uri uri) {
+        ContentResolver resolver = getApplication().getContentResolver();
+        repository.restoreTasks(() -> new ParcelFileDescriptor.AutoCloseInputStream(
+                resolver.openFileDescriptor(uri, "r")).getChannel());
+    }
+
+    public void cancelTransfer() {
+        repository.cancelTransfer();
+    }
+
+    public LiveData<TransferStatus> getTransferStatus() {
+        return repository.getTransferStatus();
+    }
+
+    /**
+     * Jalankan penulisan yang masih dikumpulkan sekarang juga
+     */
+    public void flushPendingWrites() {
+        repository.flushPendingWrites();
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        // Pastikan penulisan yang masih dikumpulkan tidak tertinggal
+        repository.flushPendingWrites();
+    }
 }
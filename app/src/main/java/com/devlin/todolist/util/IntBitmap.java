@@ -0,0 +1,88 @@
+package com.devlin.todolist.util;
+
+import java.util.Arrays;
+
+/**
+ * IntBitmap menyimpan himpunan id int non-negatif sebagai bit, satu bit per id.
+ * Cocok untuk id autoincrement yang rapat: cek dan ubah O(1), dan iterasi selalu
+ * menghasilkan id yang sudah terurut tanpa perlu sort.
+ */
+public final class IntBitmap {
+
+    private long[] words = new long[1];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        checkId(id);
+        int word = id >>> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @return true jika id belum ada sebelumnya
+     */
+    public boolean add(int id) {
+        checkId(id);
+        int word = id >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        long bit = 1L << id;
+        if ((words[word] & bit) != 0) {
+            return false;
+        }
+        words[word] |= bit;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true jika id ada dan sudah dihapus
+     */
+    public boolean remove(int id) {
+        checkId(id);
+        int word = id >>> 6;
+        long bit = 1L << id;
+        if (word >= words.length || (words[word] & bit) == 0) {
+            return false;
+        }
+        words[word] &= ~bit;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    /**
+     * Semua id dalam urutan menaik
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int word = 0; word < words.length; word++) {
+            long bits = words[word];
+            while (bits != 0) {
+                result[index++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("id negatif: " + id);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.devlin.todolist.util;
+
+import java.util.Arrays;
+
+/**
+ * IntHashSet adalah himpunan int dengan open addressing (linear probing) tanpa boxing.
+ * Dipakai untuk status pilih banyak di daftar tugas, yang dicek di setiap bind.
+ * Nilai Integer.MIN_VALUE dipakai sebagai penanda slot kosong dan tidak bisa disimpan.
+ */
+public final class IntHashSet {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] slots;
+    private int size;
+
+    public IntHashSet() {
+        slots = newSlots(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        checkValue(value);
+        int mask = slots.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return true;
+            }
+            if (slot == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return true jika nilai belum ada sebelumnya
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        // Faktor muat maksimal 0,5 agar rantai probing tetap pendek
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == value) {
+                return false;
+            }
+            if (slot == EMPTY) {
+                slots[i] = value;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return true jika nilai ada dan sudah dihapus
+     */
+    public boolean remove(int value) {
+        checkValue(value);
+        int mask = slots.length - 1;
+        int i = hash(value) & mask;
+        while (slots[i] != value) {
+            if (slots[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = EMPTY;
+        size--;
+
+        // Geser entri berikutnya dalam rantai yang sama supaya pencarian tidak terputus
+        int next = (i + 1) & mask;
+        while (slots[next] != EMPTY) {
+            int moved = slots[next];
+            slots[next] = EMPTY;
+            size--;
+            add(moved);
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+        }
+    }
+
+    /**
+     * Semua nilai dalam urutan menaik
+     */
+    public int[] toSortedArray() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int slot : slots) {
+            if (slot != EMPTY) {
+                result[index++] = slot;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = newSlots(capacity);
+        size = 0;
+        for (int slot : old) {
+            if (slot != EMPTY) {
+                add(slot);
+            }
+        }
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static void checkValue(int value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE tidak didukung");
+        }
+    }
+}
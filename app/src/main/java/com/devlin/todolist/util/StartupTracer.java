@@ -0,0 +1,96 @@
+package com.devlin.todolist.util;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * StartupTracer mencatat kapan setiap fase cold start pertama kali tercapai, relatif
+ * terhadap titik awal tracer. Tidak bergantung pada kelas Android dan jamnya bisa diganti,
+ * sehingga urutan dan durasi fase bisa dibaca langsung dari test JVM.
+ */
+public final class StartupTracer {
+
+    /**
+     * Fase startup, kira-kira sesuai urutan terjadinya
+     */
+    public enum Phase {
+        APPLICATION_CREATE,
+        DATABASE_OPEN,
+        DATABASE_SEED,
+        ACTIVITY_CREATE,
+        FIRST_LIST_LOAD
+    }
+
+    private static final StartupTracer INSTANCE = new StartupTracer(System::nanoTime);
+
+    private final LongSupplier nanoClock;
+    private final Map<Phase, Long> marks = new EnumMap<>(Phase.class);
+    private long startNanos;
+
+    public StartupTracer(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Tracer milik proses; titik awalnya adalah saat kelas ini pertama kali dimuat
+     */
+    public static StartupTracer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Catat fase; hanya kemunculan pertama yang disimpan
+     *
+     * @return true jika fase ini baru pertama kali dicatat
+     */
+    public synchronized boolean mark(Phase phase) {
+        if (marks.containsKey(phase)) {
+            return false;
+        }
+        marks.put(phase, nanoClock.getAsLong() - startNanos);
+        return true;
+    }
+
+    public synchronized boolean isMarked(Phase phase) {
+        return marks.containsKey(phase);
+    }
+
+    /**
+     * Waktu sejak titik awal sampai fase tercapai, atau -1 jika belum tercapai
+     */
+    public synchronized long getElapsedMillis(Phase phase) {
+        Long nanos = marks.get(phase);
+        return nanos != null ? nanos / 1_000_000L : -1;
+    }
+
+    /**
+     * Salinan semua fase yang sudah tercapai beserta waktunya (nanodetik sejak titik awal)
+     */
+    public synchronized Map<Phase, Long> getMarks() {
+        return Collections.unmodifiableMap(new EnumMap<>(marks));
+    }
+
+    /**
+     * Hapus semua catatan dan mulai hitung lagi dari sekarang
+     */
+    public synchronized void reset() {
+        marks.clear();
+        startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Ringkasan satu baris, misalnya untuk Logcat
+     */
+    public synchronized String describe() {
+        StringBuilder builder = new StringBuilder("Startup:");
+        for (Map.Entry<Phase, Long> mark : marks.entrySet()) {
+            builder.append(' ').append(mark.getKey().name().toLowerCase(Locale.ROOT))
+                    .append('=').append(mark.getValue() / 1_000_000L).append("ms");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.devlin.todolist.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Varints menulis dan membaca bilangan dengan panjang variabel (7 bit per byte, bit
+ * tertinggi menandai masih ada byte lanjutan). Bilangan kecil cukup 1-2 byte.
+ * Bilangan bertanda dikodekan zigzag terlebih dahulu agar nilai negatif kecil juga pendek.
+ * Varian ByteBuffer dipakai untuk I/O channel; pemanggil memastikan sisa buffer minimal
+ * {@link #MAX_BYTES}.
+ */
+public final class Varints {
+
+    // Panjang maksimum varint 64 bit
+    public static final int MAX_BYTES = 10;
+
+    private Varints() {
+    }
+
+    public static void writeUnsigned(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    public static long readUnsigned(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Varint terlalu panjang");
+    }
+
+    public static void writeSigned(OutputStream out, long value) throws IOException {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSigned(InputStream in) throws IOException {
+        long encoded = readUnsigned(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    public static void writeUnsigned(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @throws BufferUnderflowException jika varint terpotong di akhir buffer
+     */
+    public static long readUnsigned(ByteBuffer in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get() & 0xFF;
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Varint terlalu panjang");
+    }
+
+    public static void writeSigned(ByteBuffer out, long value) {
+        writeUnsigned(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSigned(ByteBuffer in) throws IOException {
+        long encoded = readUnsigned(in);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
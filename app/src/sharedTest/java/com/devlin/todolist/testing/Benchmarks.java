@@ -0,0 +1,49 @@
+package com.devlin.todolist.testing;
+
+import android.util.Log;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks mengukur waktu sebuah langkah beberapa kali dan mengambil mediannya.
+ * Hasil ditulis ke Logcat dengan tag "Benchmark" agar bisa dibandingkan antar perangkat.
+ */
+public final class Benchmarks {
+
+    private static final String TAG = "Benchmark";
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Langkah yang diukur; setup dijalankan sebelum setiap ulangan dan tidak ikut dihitung
+     */
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * @return median durasi dalam nanodetik dari runs ulangan, setelah warmups ulangan pemanasan
+     */
+    public static long medianNanos(String name, int warmups, int runs, Step setup, Step step) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            setup.run();
+            step.run();
+        }
+        long[] samples = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            setup.run();
+            long start = System.nanoTime();
+            step.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long median = samples[runs / 2];
+        Log.i(TAG, name + ": median " + (median / 1000) + " us dari " + runs + " ulangan");
+        return median;
+    }
+
+    public static long medianNanos(String name, int warmups, int runs, Step step) throws Exception {
+        return medianNanos(name, warmups, runs, () -> { }, step);
+    }
+}
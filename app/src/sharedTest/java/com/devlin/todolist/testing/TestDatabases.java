@@ -0,0 +1,74 @@
+package com.devlin.todolist.testing;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.database.ChangeSequence;
+import com.devlin.todolist.data.database.TaskInserter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * TestDatabases membuat AppDatabase in-memory untuk test (instrumentasi maupun Robolectric)
+ * dan mengisinya dengan tugas sintetis. Penghitung ChangeSequence dipasang seperti pada
+ * database asli.
+ */
+public final class TestDatabases {
+
+    public static final String[] CATEGORIES = {"Kerja", "Pribadi", "Belanja", "Belajar", "Olahraga"};
+
+    private TestDatabases() {
+    }
+
+    /**
+     * Database in-memory; query boleh dijalankan di thread test
+     */
+    public static AppDatabase inMemory() {
+        return builder().build();
+    }
+
+    /**
+     * Database in-memory yang melaporkan setiap statement ke callback, di thread yang menjalankannya
+     */
+    public static AppDatabase inMemory(RoomDatabase.QueryCallback queryCallback) {
+        return builder().setQueryCallback(queryCallback, Runnable::run).build();
+    }
+
+    private static RoomDatabase.Builder<AppDatabase> builder() {
+        return Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                        ChangeSequence.install(db);
+                    }
+                });
+    }
+
+    /**
+     * Sisipkan count tugas dalam satu transaksi. Sekitar sepertiga selesai, setengah punya tenggat,
+     * dan kategori bergilir di CATEGORIES.
+     */
+    public static void insertTasks(AppDatabase database, int count) {
+        long now = System.currentTimeMillis();
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        db.beginTransaction();
+        try (TaskInserter inserter = new TaskInserter(db)) {
+            for (int i = 0; i < count; i++) {
+                inserter.insert("Tugas " + i, "Deskripsi tugas nomor " + i, i % 3 == 0,
+                        now - i * 60_000L, i % 2 == 0 ? now + (i - count / 2) * 3_600_000L : 0,
+                        i % 3, CATEGORIES[i % CATEGORIES.length]);
+            }
+            db.setTransactionSuccessful();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
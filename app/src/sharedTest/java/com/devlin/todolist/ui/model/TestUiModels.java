@@ -0,0 +1,20 @@
+package com.devlin.todolist.ui.model;
+
+/**
+ * TestUiModels membuat TaskUiModel langsung untuk test adapter, tanpa TaskUiMapper.
+ * Teks tanggal dibuat dari angka mentah; warna prioritas tidak dipakai.
+ */
+public final class TestUiModels {
+
+    private TestUiModels() {
+    }
+
+    public static TaskUiModel of(int id, int version, String title, boolean completed,
+                                 long dueDate, int priority, String category) {
+        return new TaskUiModel(id, version, title, "Deskripsi " + title, completed,
+                "dibuat " + id, dueDate,
+                dueDate > 0 ? "Tenggat " + dueDate : null,
+                dueDate > 0 ? "Terlambat " + dueDate : null,
+                "P" + priority, 0, category);
+    }
+}
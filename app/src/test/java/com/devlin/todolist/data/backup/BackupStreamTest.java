@@ -0,0 +1,140 @@
+package com.devlin.todolist.data.backup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * BackupOutput dan BackupInput harus saling cocok untuk body polos maupun terkompresi,
+ * termasuk nilai yang melintasi batas BUFFER_SIZE, dan menolak body rusak atau terpotong.
+ */
+public class BackupStreamTest {
+
+    private static final long SEED = 25;
+    private static final int VALUES = 20_000;
+
+    @Test
+    public void plainRoundTrip() throws IOException {
+        assertRoundTrip(false);
+    }
+
+    @Test
+    public void compressedRoundTrip() throws IOException {
+        assertRoundTrip(true);
+    }
+
+    @Test
+    public void compressionShrinksRepetitiveBody() throws IOException {
+        assertTrue(encode(true).length < encode(false).length / 2);
+    }
+
+    @Test
+    public void corruptedByteFailsChecksum() throws IOException {
+        byte[] body = encode(false);
+        body[body.length / 2] ^= 0x01;
+        try {
+            readAll(body, false);
+            fail("body rusak seharusnya ditolak");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("Checksum"));
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedBodyFails() throws IOException {
+        byte[] body = encode(false);
+        decode(Arrays.copyOf(body, body.length - 100), false);
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedCompressedBodyFails() throws IOException {
+        byte[] body = encode(true);
+        decode(Arrays.copyOf(body, body.length / 2), true);
+    }
+
+    @Test
+    public void overlongStringLengthIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BackupOutput out = new BackupOutput(Channels.newChannel(bytes), false);
+        out.writeUnsigned(BackupFormat.MAX_STRING_BYTES + 1L);
+        out.finish();
+
+        BackupInput in = new BackupInput(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), false);
+        try {
+            in.readString();
+            fail("panjang string berlebih seharusnya ditolak");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("terlalu panjang"));
+        }
+    }
+
+    private static void assertRoundTrip(boolean compressed) throws IOException {
+        byte[] body = encode(compressed);
+        decode(body, compressed);
+    }
+
+    /**
+     * Campuran byte, varint, dan string (termasuk satu string lebih besar dari BUFFER_SIZE)
+     */
+    private static byte[] encode(boolean compressed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BackupOutput out = new BackupOutput(Channels.newChannel(bytes), compressed);
+        Random random = new Random(SEED);
+        for (int i = 0; i < VALUES; i++) {
+            out.writeByte(i & 0xFF);
+            out.writeUnsigned(random.nextInt(1 << 20));
+            out.writeSigned(random.nextLong());
+            out.writeString("Tugas " + i + " é");
+        }
+        out.writeString(largeString());
+        long written = out.finish();
+        assertEquals(bytes.size(), written);
+        return bytes.toByteArray();
+    }
+
+    private static void decode(byte[] body, boolean compressed) throws IOException {
+        BackupInput in = new BackupInput(Channels.newChannel(new ByteArrayInputStream(body)), compressed);
+        Random random = new Random(SEED);
+        for (int i = 0; i < VALUES; i++) {
+            assertEquals(i & 0xFF, in.readByte());
+            assertEquals(random.nextInt(1 << 20), in.readUnsigned());
+            assertEquals(random.nextLong(), in.readSigned());
+            assertEquals("Tugas " + i + " é", in.readString());
+        }
+        assertEquals(largeString(), in.readString());
+        in.readChecksum();
+    }
+
+    /**
+     * Baca struktur yang sama tanpa memeriksa nilainya; hanya checksum yang menentukan
+     */
+    private static void readAll(byte[] body, boolean compressed) throws IOException {
+        BackupInput in = new BackupInput(Channels.newChannel(new ByteArrayInputStream(body)), compressed);
+        for (int i = 0; i < VALUES; i++) {
+            in.readByte();
+            in.readUnsigned();
+            in.readSigned();
+            in.readString();
+        }
+        in.readString();
+        in.readChecksum();
+    }
+
+    private static String largeString() {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < BackupFormat.BUFFER_SIZE * 2) {
+            builder.append("deskripsi panjang ");
+        }
+        return builder.toString();
+    }
+}
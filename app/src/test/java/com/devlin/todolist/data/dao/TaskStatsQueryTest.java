@@ -0,0 +1,124 @@
+package com.devlin.todolist.data.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.TaskStats;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Statistik aktif/selesai/terlambat dihitung satu query agregat. Hasilnya harus sama dengan
+ * tiga COUNT terpisah yang dipakai sebelumnya, dan tombstone tidak ikut dihitung. Tenggat
+ * terdekat untuk OverdueClock juga hanya diambil dari tugas aktif.
+ * Berjalan di JVM lewat Robolectric.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskStatsQueryTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    private AppDatabase database;
+    private TaskDao dao;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        dao = database.taskDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void emptyTableHasZeroCountsAndNoNextDueDate() {
+        TaskStats stats = dao.getTaskStatsSync(NOW);
+
+        assertEquals(0, stats.getActiveCount());
+        assertEquals(0, stats.getCompletedCount());
+        assertEquals(0, stats.getOverdueCount());
+        assertNull(dao.getNextDueDate(NOW));
+    }
+
+    @Test
+    public void overdueCountsOnlyActiveTasksPastTheirDueDate() {
+        insert(false, NOW - HOUR);      // terlambat
+        insert(false, NOW - 2 * HOUR);  // terlambat
+        insert(true, NOW - HOUR);       // selesai, tidak terlambat
+        insert(false, 0);               // tanpa tenggat
+        insert(false, NOW + HOUR);      // belum jatuh tempo
+        insert(true, 0);
+
+        TaskStats stats = dao.getTaskStatsSync(NOW);
+        assertEquals(4, stats.getActiveCount());
+        assertEquals(2, stats.getCompletedCount());
+        assertEquals(2, stats.getOverdueCount());
+
+        // Satu jam kemudian tugas yang belum jatuh tempo ikut terlambat
+        assertEquals(3, dao.getTaskStatsSync(NOW + HOUR + 1).getOverdueCount());
+    }
+
+    @Test
+    public void tombstonesAreNotCounted() {
+        int overdue = (int) insert(false, NOW - HOUR);
+        insert(false, 0);
+        int completed = (int) insert(true, 0);
+
+        dao.deleteByIds(new int[]{overdue, completed}, NOW);
+
+        TaskStats stats = dao.getTaskStatsSync(NOW);
+        assertEquals(1, stats.getActiveCount());
+        assertEquals(0, stats.getCompletedCount());
+        assertEquals(0, stats.getOverdueCount());
+    }
+
+    @Test
+    public void nextDueDateIsNearestFutureDueDateOfActiveTasks() {
+        insert(false, NOW - HOUR);
+        insert(true, NOW + HOUR);
+        insert(false, NOW + 3 * HOUR);
+        int deleted = (int) insert(false, NOW + 2 * HOUR);
+        dao.deleteById(deleted, NOW);
+
+        assertEquals(Long.valueOf(NOW + 3 * HOUR), dao.getNextDueDate(NOW));
+        assertNull(dao.getNextDueDate(NOW + 3 * HOUR));
+    }
+
+    @Test
+    public void aggregateMatchesSeparateCounts() {
+        TestDatabases.insertTasks(database, 5_000);
+        long now = System.currentTimeMillis();
+
+        TaskStats stats = dao.getTaskStatsSync(now);
+        assertEquals(count("is_completed = 0", now), stats.getActiveCount());
+        assertEquals(count("is_completed = 1", now), stats.getCompletedCount());
+        assertEquals(count("is_completed = 0 AND due_date > 0 AND due_date < ?", now),
+                stats.getOverdueCount());
+    }
+
+    private long insert(boolean completed, long dueDate) {
+        return dao.insert(new TaskEntity("Tugas", "", completed, NOW - HOUR, dueDate, 1, "Kerja"));
+    }
+
+    private int count(String where, long now) {
+        Object[] args = where.contains("?") ? new Object[]{now} : new Object[0];
+        try (Cursor cursor = database.query(
+                "SELECT COUNT(*) FROM tasks WHERE deleted_at = 0 AND " + where, args)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.devlin.todolist.data.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * TombstonePurger membuang tombstone dari sebelum cutoff per BATCH_SIZE baris, setiap batch
+ * sebagai pekerjaan terpisah di thread penulis, lalu mengembalikan halaman kosong lewat
+ * incremental_vacuum. Thread penulis diganti antrean yang dijalankan satu per satu oleh test.
+ * Berjalan di JVM lewat Robolectric.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TombstonePurgerTest {
+
+    private static final long CUTOFF = 1_700_000_000_000L;
+    private static final int ROWS = 1_300;
+    // 1.100 tombstone lama: dua batch penuh dan satu batch sisa
+    private static final int OLD_TOMBSTONES = 1_100;
+    private static final int NEW_TOMBSTONES = 50;
+
+    private final Queue<Runnable> writer = new ArrayDeque<>();
+
+    private AppDatabase database;
+    private SupportSQLiteDatabase db;
+    private TombstonePurger purger;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        db = database.getOpenHelper().getWritableDatabase();
+        // Seperti database baru dari AppDatabase: halaman kosong hanya dikembalikan lewat incremental_vacuum
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        db.execSQL("VACUUM");
+        assertTrue(VacuumWorker.isIncremental(db));
+
+        TestDatabases.insertTasks(database, ROWS);
+        // Sekitar dua baris per halaman, jadi pembuangan membebaskan ratusan halaman
+        char[] note = new char[2_048];
+        Arrays.fill(note, 'x');
+        db.execSQL("UPDATE tasks SET description = ? || id", new Object[]{new String(note)});
+        database.taskDao().deleteByIds(ids(1, OLD_TOMBSTONES), CUTOFF - 1);
+        // Dihapus di sesi ini (setelah cutoff): masih bisa di-undo, jadi tidak boleh dibuang
+        database.taskDao().deleteByIds(ids(OLD_TOMBSTONES + 1, NEW_TOMBSTONES), CUTOFF + 1);
+
+        purger = new TombstonePurger(ApplicationProvider.getApplicationContext(), database, writer::add, CUTOFF);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void purgesOldTombstonesOneBatchPerWriterTask() {
+        purger.start();
+
+        runNext();
+        assertEquals(OLD_TOMBSTONES - TombstonePurger.BATCH_SIZE, oldTombstones());
+        // Batch berikutnya antre di belakang penulisan lain, bukan dijalankan langsung
+        assertEquals(1, writer.size());
+
+        runNext();
+        assertEquals(OLD_TOMBSTONES - 2 * TombstonePurger.BATCH_SIZE, oldTombstones());
+
+        runNext();
+        assertEquals(0, oldTombstones());
+        assertEquals(NEW_TOMBSTONES, count("deleted_at > 0"));
+        assertEquals(ROWS - OLD_TOMBSTONES - NEW_TOMBSTONES, count("deleted_at = 0"));
+    }
+
+    @Test
+    public void incrementalVacuumReturnsFreePagesInSteps() {
+        purger.start();
+        for (int i = 0; i < 3; i++) {
+            runNext();
+        }
+        // Baris sudah dibuang, tetapi halamannya belum dikembalikan
+        long pagesAfterPurge = queryLong("PRAGMA page_count");
+        long freePages = queryLong("PRAGMA freelist_count");
+        assertTrue("halaman kosong " + freePages, freePages > TombstonePurger.VACUUM_PAGES_PER_STEP);
+
+        int vacuumSteps = 0;
+        while (!writer.isEmpty()) {
+            runNext();
+            vacuumSteps++;
+        }
+
+        assertEquals(0, queryLong("PRAGMA freelist_count"));
+        assertTrue(queryLong("PRAGMA page_count") <= pagesAfterPurge - freePages);
+        // Paling banyak VACUUM_PAGES_PER_STEP halaman per langkah
+        assertTrue("langkah vacuum " + vacuumSteps, vacuumSteps >= 2);
+    }
+
+    @Test
+    public void nothingToPurgeSkipsVacuum() {
+        new TombstonePurger(ApplicationProvider.getApplicationContext(), database, writer::add, CUTOFF - 1).start();
+
+        runNext();
+        assertTrue(writer.isEmpty());
+        assertEquals(OLD_TOMBSTONES + NEW_TOMBSTONES, count("deleted_at > 0"));
+    }
+
+    private void runNext() {
+        writer.remove().run();
+    }
+
+    private long oldTombstones() {
+        return count("deleted_at > 0 AND deleted_at < " + CUTOFF);
+    }
+
+    private long count(String where) {
+        return queryLong("SELECT COUNT(*) FROM tasks WHERE " + where);
+    }
+
+    private long queryLong(String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    private static int[] ids(int first, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + i;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,50 @@
+package com.devlin.todolist.data.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TaskQueryTest {
+
+    @Test
+    public void defaultShowsAllWithoutSearch() {
+        assertSame(TaskQuery.Status.ALL, TaskQuery.DEFAULT.getStatus());
+        assertEquals("", TaskQuery.DEFAULT.getSearch());
+        assertFalse(TaskQuery.DEFAULT.hasSearch());
+    }
+
+    @Test
+    public void withMethodsReturnNewQueryAndKeepOtherFields() {
+        TaskQuery searching = TaskQuery.DEFAULT.withSearch("belanja");
+        TaskQuery active = searching.withStatus(TaskQuery.Status.ACTIVE);
+
+        assertEquals("", TaskQuery.DEFAULT.getSearch());
+        assertSame(TaskQuery.Status.ALL, searching.getStatus());
+        assertSame(TaskQuery.Status.ACTIVE, active.getStatus());
+        assertEquals("belanja", active.getSearch());
+        assertTrue(active.hasSearch());
+    }
+
+    @Test
+    public void nullSearchMeansNoSearch() {
+        TaskQuery query = TaskQuery.DEFAULT.withSearch("kerja").withSearch(null);
+
+        assertEquals("", query.getSearch());
+        assertEquals(TaskQuery.DEFAULT, query);
+    }
+
+    @Test
+    public void equalityFollowsStatusAndSearch() {
+        TaskQuery a = TaskQuery.DEFAULT.withStatus(TaskQuery.Status.COMPLETED).withSearch("x");
+        TaskQuery b = TaskQuery.DEFAULT.withSearch("x").withStatus(TaskQuery.Status.COMPLETED);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, b.withStatus(TaskQuery.Status.ACTIVE));
+        assertNotEquals(a, b.withSearch("y"));
+    }
+}
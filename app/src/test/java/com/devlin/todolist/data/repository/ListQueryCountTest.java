@@ -0,0 +1,127 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.paging.PagingSource;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kotlin.Unit;
+import kotlin.coroutines.EmptyCoroutineContext;
+import kotlinx.coroutines.BuildersKt;
+
+/**
+ * Setiap penulisan (atau satu batch penulisan dalam satu transaksi) hanya menjalankan ulang
+ * query daftar yang aktif satu kali. Statement dihitung lewat RoomDatabase.QueryCallback;
+ * daftar dimuat ulang saat PagingSource-nya diinvalidasi, seperti yang dilakukan Pager.
+ * Berjalan di JVM lewat Robolectric.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListQueryCountTest {
+
+    private static final int ROWS = 1_000;
+    private static final int PAGE_SIZE = 100;
+
+    private final AtomicInteger listStatements = new AtomicInteger();
+    private final Semaphore reloads = new Semaphore(0);
+
+    private AppDatabase database;
+    private TaskDao dao;
+    private int statementsPerRefresh;
+
+    @Before
+    public void setUp() throws Exception {
+        database = TestDatabases.inMemory((sql, args) -> {
+            if (sql.contains(TaskDao.LIST_COLUMNS)) {
+                listStatements.incrementAndGet();
+            }
+        });
+        dao = database.taskDao();
+        TestDatabases.insertTasks(database, ROWS);
+
+        openList();
+        statementsPerRefresh = listStatements.getAndSet(0);
+        assertTrue(statementsPerRefresh > 0);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void singleWriteRefreshesListOnce() throws Exception {
+        dao.setCompleted(1, true);
+
+        awaitReload();
+        assertEquals(statementsPerRefresh, listStatements.get());
+    }
+
+    @Test
+    public void batchedWritesRefreshListOnce() throws Exception {
+        database.runInTransaction(() -> {
+            for (int id = 1; id <= 20; id++) {
+                dao.setCompleted(id, true);
+            }
+            dao.moveToCategory(new int[]{21, 22, 23}, "Arsip");
+        });
+
+        awaitReload();
+        assertEquals(statementsPerRefresh, listStatements.get());
+    }
+
+    @Test
+    public void readsDoNotRefreshList() {
+        dao.getTaskByIdSync(1);
+        dao.getTaskStatsSync(System.currentTimeMillis());
+        database.getInvalidationTracker().refreshVersionsSync();
+
+        assertEquals(0, reloads.availablePermits());
+        assertEquals(0, listStatements.get());
+    }
+
+    /**
+     * Tunggu satu muat ulang, lalu pastikan tidak ada perubahan tertunda yang memicu muat ulang lagi
+     */
+    private void awaitReload() throws InterruptedException {
+        assertTrue("daftar tidak dimuat ulang", reloads.tryAcquire(5, TimeUnit.SECONDS));
+        // Memproses sisa invalidasi di thread ini; muat ulang tambahan akan ikut terhitung
+        database.getInvalidationTracker().refreshVersionsSync();
+        assertEquals(0, reloads.availablePermits());
+    }
+
+    /**
+     * Muat halaman pertama dari PagingSource baru dan buat ulang saat diinvalidasi
+     */
+    private void openList() throws InterruptedException {
+        PagingSource<Integer, TaskListItem> source =
+                dao.getTasksPaged(TaskRepository.buildListQuery(TaskQuery.DEFAULT));
+        source.registerInvalidatedCallback(() -> {
+            try {
+                openList();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reloads.release();
+            return Unit.INSTANCE;
+        });
+        PagingSource.LoadParams<Integer> params = new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false);
+        BuildersKt.runBlocking(EmptyCoroutineContext.INSTANCE,
+                (scope, continuation) -> source.load(params, continuation));
+    }
+}
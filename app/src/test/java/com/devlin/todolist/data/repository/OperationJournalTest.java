@@ -0,0 +1,191 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.devlin.todolist.data.dao.JournalDao;
+import com.devlin.todolist.data.entity.JournalEntryEntity;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OperationJournalTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final FakeJournalDao journalDao = new FakeJournalDao();
+    private final RecordingTaskDao taskDao = new RecordingTaskDao();
+    private OperationJournal journal;
+
+    @Before
+    public void setUp() {
+        journal = new OperationJournal(journalDao, OperationJournal.DEFAULT_MEMORY_BUDGET_BYTES,
+                OperationJournal.DEFAULT_MAX_ENTRIES);
+    }
+
+    @Test
+    public void undoAndRedoReplayInReverseOrder() {
+        JournalEntry first = delete(1);
+        JournalEntry second = delete(2);
+        journal.record(first);
+        journal.record(second);
+
+        assertSame(second, journal.undo(taskDao.dao));
+        assertSame(first, journal.undo(taskDao.dao));
+        assertNull(journal.undo(taskDao.dao));
+        assertSame(first, journal.redo(taskDao.dao));
+
+        assertEquals(List.of("restoreByIds([2])", "restoreByIds([1])", "deleteByIds([1], 0)"),
+                withoutTimestamps(taskDao.calls));
+        assertTrue(journal.getCanUndo().getValue());
+        assertTrue(journal.getCanRedo().getValue());
+    }
+
+    @Test
+    public void recordClearsRedo() {
+        journal.record(delete(1));
+        journal.undo(taskDao.dao);
+        journal.record(delete(2));
+
+        assertFalse(journal.getCanRedo().getValue());
+        assertNull(journal.redo(taskDao.dao));
+    }
+
+    @Test
+    public void restoreUndoesChangesOfFailedTransaction() {
+        JournalEntry kept = delete(1);
+        journal.record(kept);
+        OperationJournal.Snapshot before = journal.snapshot();
+
+        // Yang terjadi di dalam transaksi yang kemudian gagal
+        journal.record(delete(2));
+        journal.undo(taskDao.dao);
+        journal.undo(taskDao.dao);
+        journal.restore(before);
+
+        assertTrue(journal.getCanUndo().getValue());
+        assertFalse(journal.getCanRedo().getValue());
+        assertSame(kept, journal.undo(taskDao.dao));
+        assertNull(journal.undo(taskDao.dao));
+    }
+
+    @Test
+    public void tokenUndoOnlyCancelsItsOwnEntry() {
+        JournalEntry deleted = delete(1);
+        deleted.setToken(7);
+        journal.record(deleted);
+        JournalEntry later = delete(2);
+        later.setToken(8);
+        journal.record(later);
+
+        // Langkah teratas milik operasi lain: tidak ada yang berubah
+        assertNull(journal.undo(taskDao.dao, 7));
+        assertTrue(taskDao.calls.isEmpty());
+
+        assertSame(later, journal.undo(taskDao.dao));
+        assertSame(deleted, journal.undo(taskDao.dao, 7));
+        assertEquals(List.of("restoreByIds([2])", "restoreByIds([1])"), taskDao.calls);
+    }
+
+    @Test
+    public void tokenSurvivesSpillToDisk() {
+        journal = new OperationJournal(journalDao, 1, OperationJournal.DEFAULT_MAX_ENTRIES);
+        JournalEntry deleted = delete(1);
+        deleted.setToken(42);
+        journal.record(deleted);
+        journal.record(delete(2));
+        assertEquals(1, journalDao.rows.size());
+
+        journal.undo(taskDao.dao);
+        JournalEntry restored = journal.undo(taskDao.dao, 42);
+        assertEquals(42, restored.getToken());
+    }
+
+    @Test
+    public void oldEntriesSpillToDiskAndComeBack() {
+        // Anggaran memori sekecil mungkin: hanya langkah terbaru yang tinggal di memori
+        journal = new OperationJournal(journalDao, 1, OperationJournal.DEFAULT_MAX_ENTRIES);
+        for (int id = 1; id <= 5; id++) {
+            journal.record(delete(id));
+        }
+        assertEquals(4, journalDao.rows.size());
+
+        for (int i = 0; i < 5; i++) {
+            journal.undo(taskDao.dao);
+        }
+        assertEquals(0, journalDao.rows.size());
+        assertEquals(List.of("restoreByIds([5])", "restoreByIds([4])", "restoreByIds([3])",
+                "restoreByIds([2])", "restoreByIds([1])"), taskDao.calls);
+        assertFalse(journal.getCanUndo().getValue());
+    }
+
+    @Test
+    public void historyIsBoundedByMaxEntries() {
+        journal = new OperationJournal(journalDao, 1, 3);
+        for (int id = 1; id <= 10; id++) {
+            journal.record(delete(id));
+        }
+
+        int undone = 0;
+        while (journal.undo(taskDao.dao) != null) {
+            undone++;
+        }
+        assertEquals(3, undone);
+        assertEquals("restoreByIds([8])", taskDao.calls.get(2));
+    }
+
+    private static JournalEntry delete(int taskId) {
+        int[] ids = {taskId};
+        return JournalEntry.of(JournalAction.restoreDeleted(ids), JournalAction.deleteRows(ids));
+    }
+
+    private static List<String> withoutTimestamps(List<String> calls) {
+        List<String> result = new ArrayList<>();
+        for (String call : calls) {
+            result.add(call.replaceAll(", \\d{6,}\\)", ", 0)"));
+        }
+        return result;
+    }
+
+    private static final class FakeJournalDao implements JournalDao {
+        final List<JournalEntryEntity> rows = new ArrayList<>();
+        private long nextId = 1;
+
+        @Override
+        public long insert(JournalEntryEntity entry) {
+            entry.setId(nextId++);
+            rows.add(entry);
+            return entry.getId();
+        }
+
+        @Override
+        public JournalEntryEntity getNewest() {
+            return rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        }
+
+        @Override
+        public void deleteById(long id) {
+            rows.removeIf(row -> row.getId() == id);
+        }
+
+        @Override
+        public void deleteOldest(int count) {
+            rows.subList(0, Math.min(count, rows.size())).clear();
+        }
+
+        @Override
+        public void deleteAll() {
+            rows.clear();
+        }
+    }
+}
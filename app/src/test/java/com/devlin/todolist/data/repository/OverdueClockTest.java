@@ -0,0 +1,224 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Observer;
+
+import com.devlin.todolist.data.dao.TaskDao;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * OverdueClock dengan jam virtual: nilai hanya berubah tepat setelah tenggat terdekat,
+ * dan tenggat dicari ulang saat tabel tasks berubah.
+ */
+public class OverdueClockTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final VirtualScheduler scheduler = new VirtualScheduler(NOW);
+    private final FakeTableObserver tableObserver = new FakeTableObserver();
+    // Tenggat tugas aktif; getNextDueDate mengembalikan yang terdekat setelah waktu query
+    private final TreeSet<Long> dueDates = new TreeSet<>();
+    private final List<Long> queriedAt = new ArrayList<>();
+    private final List<Long> values = new ArrayList<>();
+    private final Observer<Long> observer = values::add;
+
+    private OverdueClock clock;
+
+    @Before
+    public void setUp() {
+        TaskDao dao = (TaskDao) Proxy.newProxyInstance(TaskDao.class.getClassLoader(),
+                new Class<?>[]{TaskDao.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getNextDueDate")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long currentTime = (Long) args[0];
+                    queriedAt.add(currentTime);
+                    return dueDates.higher(currentTime);
+                });
+        clock = new OverdueClock(dao, Runnable::run, tableObserver, scheduler::now, scheduler);
+    }
+
+    @Test
+    public void activationLooksUpNextDueDateAtCurrentTime() {
+        dueDates.add(NOW + 5_000);
+        clock.observeForever(observer);
+
+        assertEquals(List.of(NOW), values);
+        assertEquals(List.of(NOW), queriedAt);
+        assertTrue(tableObserver.started());
+    }
+
+    @Test
+    public void ticksJustAfterEachDueDate() {
+        dueDates.add(NOW + 1_000);
+        dueDates.add(NOW + 5_000);
+        clock.observeForever(observer);
+
+        scheduler.advance(1_000);
+        assertEquals(1, values.size());
+
+        scheduler.advance(1);
+        assertEquals(List.of(NOW, NOW + 1_001), values);
+        // Setelah tick tenggat berikutnya dicari dari waktu tick
+        assertEquals(NOW + 1_001, (long) queriedAt.get(queriedAt.size() - 1));
+
+        scheduler.advance(4_000);
+        assertEquals(List.of(NOW, NOW + 1_001, NOW + 5_001), values);
+    }
+
+    @Test
+    public void noDueDateMeansNoTick() {
+        clock.observeForever(observer);
+        scheduler.advance(24 * 3_600_000L);
+
+        assertEquals(List.of(NOW), values);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void tableChangeRearmsForNearerDueDate() {
+        dueDates.add(NOW + 60_000);
+        clock.observeForever(observer);
+
+        // Tugas baru dengan tenggat lebih dekat
+        dueDates.add(NOW + 2_000);
+        tableObserver.notifyChanged();
+        assertEquals(1, scheduler.pending());
+
+        scheduler.advance(2_001);
+        assertEquals(List.of(NOW, NOW + 2_001), values);
+    }
+
+    @Test
+    public void tableChangeDropsTickForRemovedDueDate() {
+        dueDates.add(NOW + 2_000);
+        clock.observeForever(observer);
+
+        // Tugas satu-satunya diselesaikan sebelum tenggatnya
+        dueDates.clear();
+        tableObserver.notifyChanged();
+        scheduler.advance(10_000);
+
+        assertEquals(List.of(NOW), values);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    public void inactiveClockStopsObservingAndRefreshesOnReturn() {
+        dueDates.add(NOW + 2_000);
+        clock.observeForever(observer);
+        clock.removeObserver(observer);
+
+        assertFalse(tableObserver.started());
+        assertEquals(0, scheduler.pending());
+        scheduler.advance(10_000);
+        assertEquals(List.of(NOW), values);
+
+        // Tenggat terlewati selama tidak ada observer; nilai langsung diperbarui
+        clock.observeForever(observer);
+        assertEquals(List.of(NOW, NOW + 10_000), values);
+        assertNull(dueDates.higher(scheduler.now()));
+        assertEquals(0, scheduler.pending());
+    }
+
+    private static final class FakeTableObserver implements OverdueClock.TableObserver {
+        private Runnable onChanged;
+
+        @Override
+        public void start(@NonNull Runnable onChanged) {
+            this.onChanged = onChanged;
+        }
+
+        @Override
+        public void stop() {
+            onChanged = null;
+        }
+
+        boolean started() {
+            return onChanged != null;
+        }
+
+        void notifyChanged() {
+            onChanged.run();
+        }
+    }
+
+    /**
+     * Jam virtual: tugas berjalan berurutan sesuai waktunya saat waktu dimajukan lewat advance.
+     * Tugas dengan jeda 0 (pindah ke main thread) langsung dijalankan.
+     */
+    private static final class VirtualScheduler implements OverdueClock.Scheduler {
+        private final List<Scheduled> tasks = new ArrayList<>();
+        private long now;
+
+        VirtualScheduler(long now) {
+            this.now = now;
+        }
+
+        long now() {
+            return now;
+        }
+
+        int pending() {
+            return tasks.size();
+        }
+
+        @Override
+        public OverdueClock.Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            Scheduled scheduled = new Scheduled(now + delayMillis, task);
+            tasks.add(scheduled);
+            if (delayMillis == 0) {
+                advance(0);
+            }
+            return () -> tasks.remove(scheduled);
+        }
+
+        void advance(long millis) {
+            long target = now + millis;
+            Scheduled next;
+            while ((next = earliest(target)) != null) {
+                tasks.remove(next);
+                now = next.dueAt;
+                next.task.run();
+            }
+            now = target;
+        }
+
+        private Scheduled earliest(long until) {
+            Scheduled earliest = null;
+            for (Scheduled scheduled : tasks) {
+                if (scheduled.dueAt <= until && (earliest == null || scheduled.dueAt < earliest.dueAt)) {
+                    earliest = scheduled;
+                }
+            }
+            return earliest;
+        }
+    }
+
+    private static final class Scheduled {
+        final long dueAt;
+        final Runnable task;
+
+        Scheduled(long dueAt, Runnable task) {
+            this.dueAt = dueAt;
+            this.task = task;
+        }
+    }
+}
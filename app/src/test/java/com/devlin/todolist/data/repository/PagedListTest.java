@@ -0,0 +1,120 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.database.Cursor;
+
+import androidx.paging.PagingSource;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import kotlinx.coroutines.BuildersKt;
+import kotlin.coroutines.EmptyCoroutineContext;
+
+/**
+ * Daftar berhalaman di atas 100 ribu tugas: muatan awal hanya membaca satu jendela,
+ * halaman berikutnya menyambung tanpa celah, dan biayanya tidak mengikuti ukuran tabel.
+ * Berjalan di JVM lewat Robolectric.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PagedListTest {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 100;
+    // Query daftar penuh yang dipakai sebelum paging
+    private static final String FULL_LIST_SQL = "SELECT * FROM tasks ORDER BY priority DESC, created_at DESC";
+
+    private static AppDatabase database;
+    private static TaskDao dao;
+
+    @BeforeClass
+    public static void setUpClass() {
+        database = TestDatabases.inMemory();
+        dao = database.taskDao();
+        TestDatabases.insertTasks(database, ROWS);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        database.close();
+    }
+
+    @Test
+    public void refreshLoadsOnlyFirstPageInListOrder() throws Exception {
+        PagingSource.LoadResult.Page<Integer, TaskListItem> page =
+                load(new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false));
+
+        List<TaskListItem> items = page.getData();
+        assertEquals(PAGE_SIZE, items.size());
+        assertEquals(Integer.valueOf(PAGE_SIZE), page.getNextKey());
+        for (int i = 1; i < items.size(); i++) {
+            TaskListItem previous = items.get(i - 1);
+            TaskListItem current = items.get(i);
+            assertTrue(previous.getPriority() > current.getPriority()
+                    || (previous.getPriority() == current.getPriority()
+                    && previous.getCreatedAt() >= current.getCreatedAt()));
+        }
+    }
+
+    @Test
+    public void appendContinuesWithoutGapsOrDuplicates() throws Exception {
+        Set<Integer> seen = new HashSet<>();
+        Integer key = null;
+        for (int i = 0; i < 5; i++) {
+            PagingSource.LoadParams<Integer> params = key == null
+                    ? new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false)
+                    : new PagingSource.LoadParams.Append<>(key, PAGE_SIZE, false);
+            PagingSource.LoadResult.Page<Integer, TaskListItem> page = load(params);
+            for (TaskListItem item : page.getData()) {
+                assertTrue("duplikat " + item.getId(), seen.add(item.getId()));
+            }
+            key = page.getNextKey();
+        }
+        assertEquals(5 * PAGE_SIZE, seen.size());
+    }
+
+    @Test
+    public void firstPageCostDoesNotFollowTableSize() throws Exception {
+        long page = Benchmarks.medianNanos("halaman pertama dari " + ROWS, 2, 5,
+                () -> load(new PagingSource.LoadParams.Refresh<>(null, PAGE_SIZE, false)));
+        long full = Benchmarks.medianNanos("daftar penuh " + ROWS, 1, 3, PagedListTest::readFullList);
+        assertTrue("halaman " + page / 1_000_000 + " ms, daftar penuh " + full / 1_000_000 + " ms",
+                page * 10 < full);
+    }
+
+    private static void readFullList() {
+        int rows = 0;
+        try (Cursor cursor = database.query(FULL_LIST_SQL, null)) {
+            while (cursor.moveToNext()) {
+                rows++;
+            }
+        }
+        assertEquals(ROWS, rows);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PagingSource.LoadResult.Page<Integer, TaskListItem> load(
+            PagingSource.LoadParams<Integer> params) throws InterruptedException {
+        PagingSource<Integer, TaskListItem> source =
+                dao.getTasksPaged(TaskRepository.buildListQuery(TaskQuery.DEFAULT));
+        PagingSource.LoadResult<Integer, TaskListItem> result = BuildersKt.runBlocking(
+                EmptyCoroutineContext.INSTANCE, (scope, continuation) -> source.load(params, continuation));
+        return (PagingSource.LoadResult.Page<Integer, TaskListItem>) result;
+    }
+}
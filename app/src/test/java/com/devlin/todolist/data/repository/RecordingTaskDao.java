@@ -0,0 +1,50 @@
+package com.devlin.todolist.data.repository;
+
+import com.devlin.todolist.data.dao.TaskDao;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * RecordingTaskDao adalah TaskDao palsu yang hanya mencatat nama method dan argumennya.
+ * Semua query mengembalikan nilai kosong (null, 0, false).
+ */
+final class RecordingTaskDao {
+
+    final List<String> calls = new ArrayList<>();
+    final TaskDao dao = (TaskDao) Proxy.newProxyInstance(TaskDao.class.getClassLoader(),
+            new Class<?>[]{TaskDao.class}, (proxy, method, args) -> {
+                calls.add(describe(method, args));
+                return emptyValue(method.getReturnType());
+            });
+
+    private static String describe(Method method, Object[] args) {
+        StringBuilder builder = new StringBuilder(method.getName()).append('(');
+        if (args != null) {
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                Object arg = args[i];
+                builder.append(arg instanceof int[] ? Arrays.toString((int[]) arg) : String.valueOf(arg));
+            }
+        }
+        return builder.append(')').toString();
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
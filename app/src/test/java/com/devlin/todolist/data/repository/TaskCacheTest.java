@@ -0,0 +1,97 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import org.junit.Test;
+
+public class TaskCacheTest {
+
+    private final TaskCache cache = new TaskCache(3);
+
+    @Test
+    public void repeatedReadsAfterFirstLoadAreHits() {
+        assertNull(cache.get(1));
+        cache.putIfUnchanged(task(1, "Belanja"), cache.generation());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Belanja", cache.get(1).getTitle());
+        }
+        assertEquals(5, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void storedAndReturnedObjectsAreCopies() {
+        TaskEntity original = task(1, "Belanja");
+        cache.putIfUnchanged(original, cache.generation());
+        original.setTitle("Diubah pemanggil");
+
+        TaskEntity first = cache.get(1);
+        first.setTitle("Diubah pembaca");
+
+        TaskEntity second = cache.get(1);
+        assertNotSame(first, second);
+        assertEquals("Belanja", second.getTitle());
+        assertEquals(7, second.getVersion());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        for (int id = 1; id <= 3; id++) {
+            cache.putIfUnchanged(task(id, "Tugas " + id), cache.generation());
+        }
+        // Akses 1 sehingga 2 menjadi yang paling lama tidak dipakai
+        cache.get(1);
+        cache.putIfUnchanged(task(4, "Tugas 4"), cache.generation());
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(1));
+        assertNotNull(cache.get(4));
+    }
+
+    @Test
+    public void readStartedBeforeWriteIsNotStored() {
+        long generation = cache.generation();
+        // Penulisan selesai saat pembacaan masih berjalan
+        cache.remove(1);
+        cache.putIfUnchanged(task(1, "Isi lama"), generation);
+
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    public void invalidateAllClearsAndRejectsOlderReads() {
+        cache.putIfUnchanged(task(1, "A"), cache.generation());
+        long generation = cache.generation();
+        cache.invalidateAll();
+        cache.putIfUnchanged(task(2, "B"), generation);
+
+        assertEquals(0, cache.size());
+        cache.putIfUnchanged(task(2, "B"), cache.generation());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void removeDropsOnlyThatTask() {
+        cache.putIfUnchanged(task(1, "A"), cache.generation());
+        cache.putIfUnchanged(task(2, "B"), cache.generation());
+        cache.remove(1);
+
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(2));
+    }
+
+    private static TaskEntity task(int id, String title) {
+        TaskEntity task = new TaskEntity(title, "", false, 1_000L, 0, 1, "Kerja");
+        task.setId(id);
+        task.setVersion(7);
+        return task;
+    }
+}
@@ -0,0 +1,129 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import com.devlin.todolist.data.entity.TaskEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskWriteQueueCoalescingTest {
+
+    private final List<TaskWriteQueue.WriteOp> pending = new ArrayList<>();
+
+    @Test
+    public void updateReplacesEarlierUpdateOfSameTask() {
+        TaskWriteQueue.WriteOp other = update(2);
+        TaskWriteQueue.WriteOp last = update(1);
+        add(update(1));
+        add(other);
+        add(last);
+
+        assertEquals(List.of(other, last), pending);
+    }
+
+    @Test
+    public void setCompletedReplacesEarlierSetCompletedOfSameTask() {
+        TaskWriteQueue.WriteOp last = new TaskWriteQueue.SetCompletedOp(1, false);
+        add(new TaskWriteQueue.SetCompletedOp(1, true));
+        add(last);
+
+        assertEquals(List.of(last), pending);
+    }
+
+    @Test
+    public void updateKeepsEarlierSetCompleted() {
+        TaskWriteQueue.WriteOp completed = new TaskWriteQueue.SetCompletedOp(1, true);
+        TaskWriteQueue.WriteOp update = update(1);
+        add(completed);
+        add(update);
+
+        assertEquals(List.of(completed, update), pending);
+    }
+
+    @Test
+    public void deleteKeepsEarlierWritesForUndo() {
+        TaskWriteQueue.WriteOp update = update(1);
+        TaskWriteQueue.WriteOp completed = new TaskWriteQueue.SetCompletedOp(1, true);
+        TaskWriteQueue.WriteOp delete = new TaskWriteQueue.DeleteOp(1);
+        add(update);
+        add(completed);
+        add(delete);
+
+        assertEquals(List.of(update, completed, delete), pending);
+    }
+
+    @Test
+    public void deleteAllKeepsEarlierWritesForUndo() {
+        TaskWriteQueue.WriteOp update = update(1);
+        TaskWriteQueue.WriteOp delete = new TaskWriteQueue.DeleteOp(2);
+        TaskWriteQueue.WriteOp deleteAll = new TaskWriteQueue.DeleteAllOp();
+        add(update);
+        add(delete);
+        add(deleteAll);
+
+        assertEquals(List.of(update, delete, deleteAll), pending);
+    }
+
+    @Test
+    public void updateAfterDeleteKeepsUpdateBeforeDelete() {
+        // Undo delete harus mengembalikan v1, jadi v1 tidak boleh dibuang oleh v2
+        TaskWriteQueue.WriteOp v1 = update(1);
+        TaskWriteQueue.WriteOp delete = new TaskWriteQueue.DeleteOp(1);
+        TaskWriteQueue.WriteOp v2 = update(1);
+        add(v1);
+        add(delete);
+        add(v2);
+
+        assertEquals(List.of(v1, delete, v2), pending);
+    }
+
+    @Test
+    public void deleteOfOtherTaskDoesNotStopCoalescing() {
+        TaskWriteQueue.WriteOp delete = new TaskWriteQueue.DeleteOp(2);
+        TaskWriteQueue.WriteOp last = update(1);
+        add(update(1));
+        add(delete);
+        add(last);
+
+        assertEquals(List.of(delete, last), pending);
+    }
+
+    @Test
+    public void multiTaskOpStopsCoalescing() {
+        TaskWriteQueue.WriteOp v1 = update(1);
+        TaskWriteQueue.WriteOp bulkDelete = new TaskWriteQueue.BulkDeleteOp(new int[]{1, 2});
+        TaskWriteQueue.WriteOp v2 = update(1);
+        add(v1);
+        add(bulkDelete);
+        add(v2);
+
+        assertEquals(List.of(v1, bulkDelete, v2), pending);
+    }
+
+    @Test
+    public void journalOpStopsCoalescing() {
+        TaskWriteQueue.WriteOp completed = new TaskWriteQueue.SetCompletedOp(1, true);
+        TaskWriteQueue.WriteOp undo = new TaskWriteQueue.UndoOp(
+                new OperationJournal(null, OperationJournal.DEFAULT_MEMORY_BUDGET_BYTES,
+                        OperationJournal.DEFAULT_MAX_ENTRIES), OperationJournal.ANY_TOKEN);
+        TaskWriteQueue.WriteOp uncompleted = new TaskWriteQueue.SetCompletedOp(1, false);
+        add(completed);
+        add(undo);
+        add(uncompleted);
+
+        assertEquals(List.of(completed, undo, uncompleted), pending);
+    }
+
+    private void add(TaskWriteQueue.WriteOp op) {
+        TaskWriteQueue.addCoalesced(pending, op);
+    }
+
+    private static TaskWriteQueue.WriteOp update(int taskId) {
+        TaskEntity task = new TaskEntity("Tugas " + taskId, "", false, 0, 0, 1, null);
+        task.setId(taskId);
+        return new TaskWriteQueue.UpdateOp(task);
+    }
+}
@@ -0,0 +1,100 @@
+package com.devlin.todolist.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.dao.TaskDao;
+import com.devlin.todolist.data.database.AppDatabase;
+import com.devlin.todolist.data.entity.TaskEntity;
+import com.devlin.todolist.data.model.TaskListItem;
+import com.devlin.todolist.data.model.TaskQuery;
+import com.devlin.todolist.testing.TestDatabases;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tugas yang dihapus (tombstone) masih ada di tabel, tetapi tidak boleh terlihat di query
+ * baca mana pun: daftar untuk setiap status dan pencarian, serta pembacaan per id.
+ * Berjalan di JVM lewat Robolectric.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TombstoneFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private AppDatabase database;
+    private TaskDao dao;
+    private int live;
+    private int liveCompleted;
+    private int deleted;
+    private int deletedCompleted;
+
+    @Before
+    public void setUp() {
+        database = TestDatabases.inMemory();
+        dao = database.taskDao();
+        live = insert("Zebra aktif", false, NOW);
+        liveCompleted = insert("Zebra selesai", true, NOW + 1_000);
+        deleted = insert("Zebra terhapus", false, NOW + 2_000);
+        deletedCompleted = insert("Zebra terhapus selesai", true, NOW + 3_000);
+        dao.deleteByIds(new int[]{deleted, deletedCompleted}, NOW);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void listQueriesSkipTombstones() {
+        assertEquals(List.of(liveCompleted, live), list(TaskQuery.DEFAULT));
+        assertEquals(List.of(live), list(TaskQuery.DEFAULT.withStatus(TaskQuery.Status.ACTIVE)));
+        assertEquals(List.of(liveCompleted), list(TaskQuery.DEFAULT.withStatus(TaskQuery.Status.COMPLETED)));
+    }
+
+    @Test
+    public void searchSkipsTombstones() {
+        assertEquals(List.of(liveCompleted, live), list(TaskQuery.DEFAULT.withSearch("zebra")));
+        assertEquals(List.of(), list(TaskQuery.DEFAULT.withSearch("terhapus")));
+    }
+
+    @Test
+    public void readsByIdSkipTombstones() {
+        assertNull(dao.getTaskByIdSync(deleted));
+        assertEquals(1, dao.getTasksByIdsSync(new int[]{live, deleted}).size());
+        assertEquals(List.of(live), dao.getLiveIdsSync(new int[]{live, deleted}));
+        assertEquals(2, dao.getAllLiveIdsSync().size());
+        assertEquals(2, dao.getTaskCount());
+    }
+
+    @Test
+    public void restoredTaskIsVisibleAgain() {
+        dao.restoreByIds(new int[]{deleted});
+
+        assertEquals(List.of(deleted, live), list(TaskQuery.DEFAULT.withStatus(TaskQuery.Status.ACTIVE)));
+        assertEquals(3, dao.getTaskCount());
+    }
+
+    /**
+     * Id hasil query daftar, dalam urutan daftar
+     */
+    private List<Integer> list(TaskQuery query) {
+        List<Integer> ids = new ArrayList<>();
+        for (TaskListItem item : dao.getTaskListSync(TaskRepository.buildListQuery(query))) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private int insert(String title, boolean completed, long createdAt) {
+        return (int) dao.insert(new TaskEntity(title, "", completed, createdAt, 0, 1, null));
+    }
+}
@@ -0,0 +1,89 @@
+package com.devlin.todolist.data.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class CsvTest {
+
+    @Test
+    public void writerQuotesOnlyWhenNeeded() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.value("biasa").value("a,b").value("kata \"kutip\"").value("dua\nbaris").value((String) null)
+                .value(42).endRow();
+
+        assertEquals("biasa,\"a,b\",\"kata \"\"kutip\"\"\",\"dua\nbaris\",,42\r\n", out.toString());
+    }
+
+    @Test
+    public void readerHandlesQuotedFieldsAndLineEndings() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,\"b,c\",\"d \"\"e\"\"\"\r\n\"f\ng\",,h\nlast\rend"));
+
+        assertEquals(Arrays.asList("a", "b,c", "d \"e\""), new ArrayList<>(reader.readRow()));
+        assertEquals(Arrays.asList("f\ng", "", "h"), new ArrayList<>(reader.readRow()));
+        assertEquals(Arrays.asList("last"), new ArrayList<>(reader.readRow()));
+        assertEquals(Arrays.asList("end"), new ArrayList<>(reader.readRow()));
+        assertNull(reader.readRow());
+        assertEquals(4, reader.getLineNumber());
+    }
+
+    @Test
+    public void trailingSeparatorGivesEmptyLastField() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,\r\n,\r\n"));
+
+        assertEquals(Arrays.asList("a", ""), new ArrayList<>(reader.readRow()));
+        assertEquals(Arrays.asList("", ""), new ArrayList<>(reader.readRow()));
+        assertNull(reader.readRow());
+    }
+
+    @Test(expected = IOException.class)
+    public void unclosedQuoteFails() throws IOException {
+        new CsvReader(new StringReader("a,\"tidak ditutup\n")).readRow();
+    }
+
+    @Test
+    public void randomRowsRoundTrip() throws IOException {
+        Random random = new Random(2024);
+        String alphabet = "ab ,\"\r\nçé日本";
+        List<List<String>> rows = new ArrayList<>();
+        for (int r = 0; r < 500; r++) {
+            List<String> row = new ArrayList<>();
+            int fields = 1 + random.nextInt(6);
+            for (int f = 0; f < fields; f++) {
+                StringBuilder value = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int i = 0; i < length; i++) {
+                    value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                row.add(value.toString());
+            }
+            rows.add(row);
+        }
+
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        for (List<String> row : rows) {
+            for (String value : row) {
+                writer.value(value);
+            }
+            writer.endRow();
+        }
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        for (List<String> row : rows) {
+            assertEquals(row, new ArrayList<>(reader.readRow()));
+        }
+        assertNull(reader.readRow());
+    }
+}
@@ -0,0 +1,72 @@
+package com.devlin.todolist.ui.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.ui.model.TaskUiModel;
+import com.devlin.todolist.ui.model.TestUiModels;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Payload dari DIFF_CALLBACK hanya memuat bit untuk kolom yang benar-benar berubah,
+ * sehingga onBindViewHolder mengisi ulang view yang terdampak saja.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ChangePayloadTest {
+
+    private static final long DUE = 1_700_000_000_000L;
+
+    private final TaskUiModel base = TestUiModels.of(1, 1, "Belanja", false, DUE, 1, "Pribadi");
+
+    @Test
+    public void completedOnly() {
+        assertEquals(TaskAdapter.PAYLOAD_COMPLETED,
+                payload(TestUiModels.of(1, 2, "Belanja", true, DUE, 1, "Pribadi")));
+    }
+
+    @Test
+    public void priorityOnly() {
+        assertEquals(TaskAdapter.PAYLOAD_PRIORITY,
+                payload(TestUiModels.of(1, 2, "Belanja", false, DUE, 2, "Pribadi")));
+    }
+
+    @Test
+    public void dueDateOnly() {
+        assertEquals(TaskAdapter.PAYLOAD_DUE_DATE,
+                payload(TestUiModels.of(1, 2, "Belanja", false, 0, 1, "Pribadi")));
+    }
+
+    @Test
+    public void titleChangesText() {
+        assertEquals(TaskAdapter.PAYLOAD_TEXT,
+                payload(TestUiModels.of(1, 2, "Belanja sayur", false, DUE, 1, "Pribadi")));
+    }
+
+    @Test
+    public void categoryOnly() {
+        assertEquals(TaskAdapter.PAYLOAD_CATEGORY,
+                payload(TestUiModels.of(1, 2, "Belanja", false, DUE, 1, null)));
+    }
+
+    @Test
+    public void combinedChangesSetEveryBit() {
+        int expected = TaskAdapter.PAYLOAD_COMPLETED | TaskAdapter.PAYLOAD_PRIORITY
+                | TaskAdapter.PAYLOAD_CATEGORY;
+        assertEquals(expected, payload(TestUiModels.of(1, 2, "Belanja", true, DUE, 0, "Kerja")));
+    }
+
+    @Test
+    public void versionBumpWithoutVisibleChangeHasNoPayload() {
+        // Tanpa payload RecyclerView melakukan bind penuh
+        assertNull(TaskAdapter.DIFF_CALLBACK.getChangePayload(base,
+                TestUiModels.of(1, 2, "Belanja", false, DUE, 1, "Pribadi")));
+    }
+
+    private int payload(TaskUiModel changed) {
+        return (Integer) TaskAdapter.DIFF_CALLBACK.getChangePayload(base, changed);
+    }
+}
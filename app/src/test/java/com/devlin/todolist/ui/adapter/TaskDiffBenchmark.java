@@ -0,0 +1,152 @@
+package com.devlin.todolist.ui.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.testing.Benchmarks;
+import com.devlin.todolist.ui.model.TaskUiModel;
+import com.devlin.todolist.ui.model.TestUiModels;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Diff daftar memakai kolom version (satu perbandingan int per item) dibandingkan dengan
+ * perbandingan semua kolom. Hasilnya harus sama dan jalur version tidak boleh lebih lambat.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskDiffBenchmark {
+
+    private static final int ITEMS = 3_000;
+    // Satu dari sekian item berubah di antara dua daftar
+    private static final int CHANGE_EVERY = 50;
+
+    // Perbandingan semua kolom, seperti sebelum version dipakai
+    private static final DiffUtil.ItemCallback<TaskUiModel> FIELD_CALLBACK =
+            new DiffUtil.ItemCallback<TaskUiModel>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull TaskUiModel oldItem, @NonNull TaskUiModel newItem) {
+                    return oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull TaskUiModel oldItem, @NonNull TaskUiModel newItem) {
+                    return oldItem.isCompleted() == newItem.isCompleted()
+                            && oldItem.getPriorityColor() == newItem.getPriorityColor()
+                            && oldItem.getDueDate() == newItem.getDueDate()
+                            && Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                            && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                            && Objects.equals(oldItem.getCreatedAtText(), newItem.getCreatedAtText())
+                            && Objects.equals(oldItem.getPriorityText(), newItem.getPriorityText())
+                            && Objects.equals(oldItem.getCategory(), newItem.getCategory());
+                }
+            };
+
+    @Test
+    public void versionDiffReportsOnlyChangedItems() {
+        List<TaskUiModel> before = items(0);
+        List<TaskUiModel> after = items(1);
+
+        CountingCallback counts = new CountingCallback();
+        DiffUtil.calculateDiff(new ListCallback(before, after, TaskAdapter.DIFF_CALLBACK)).dispatchUpdatesTo(counts);
+
+        assertEquals(ITEMS / CHANGE_EVERY, counts.changed);
+        assertEquals(0, counts.inserted + counts.removed + counts.moved);
+    }
+
+    @Test
+    public void versionDiffIsNotSlowerThanFieldDiff() throws Exception {
+        List<TaskUiModel> before = items(0);
+        List<TaskUiModel> after = items(1);
+
+        long fields = Benchmarks.medianNanos("diff semua kolom " + ITEMS, 3, 9,
+                () -> DiffUtil.calculateDiff(new ListCallback(before, after, FIELD_CALLBACK)));
+        long version = Benchmarks.medianNanos("diff version " + ITEMS, 3, 9,
+                () -> DiffUtil.calculateDiff(new ListCallback(before, after, TaskAdapter.DIFF_CALLBACK)));
+
+        assertTrue("version " + version / 1000 + " us, semua kolom " + fields / 1000 + " us",
+                version <= fields);
+    }
+
+    /**
+     * Daftar dengan judul baru untuk setiap item ke-CHANGE_EVERY di revisi berikutnya
+     */
+    private static List<TaskUiModel> items(int revision) {
+        List<TaskUiModel> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            int version = i % CHANGE_EVERY == 0 ? revision : 0;
+            items.add(TestUiModels.of(i + 1, version, "Tugas " + i + " r" + version,
+                    i % 3 == 0, i % 2 == 0 ? 1_700_000_000_000L + i : 0, i % 3, "Kerja"));
+        }
+        return items;
+    }
+
+    private static final class ListCallback extends DiffUtil.Callback {
+        private final List<TaskUiModel> oldList;
+        private final List<TaskUiModel> newList;
+        private final DiffUtil.ItemCallback<TaskUiModel> itemCallback;
+
+        ListCallback(List<TaskUiModel> oldList, List<TaskUiModel> newList,
+                     DiffUtil.ItemCallback<TaskUiModel> itemCallback) {
+            this.oldList = oldList;
+            this.newList = newList;
+            this.itemCallback = itemCallback;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            return itemCallback.areItemsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            return itemCallback.areContentsTheSame(oldList.get(oldPosition), newList.get(newPosition));
+        }
+    }
+
+    private static final class CountingCallback implements ListUpdateCallback {
+        int inserted;
+        int removed;
+        int moved;
+        int changed;
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            changed += count;
+        }
+    }
+}
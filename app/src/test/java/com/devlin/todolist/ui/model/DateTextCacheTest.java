@@ -0,0 +1,70 @@
+package com.devlin.todolist.ui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class DateTextCacheTest {
+
+    @Test
+    public void returnsStoredInstance() {
+        DateTextCache cache = new DateTextCache(16);
+        String text = "21 Des 2024";
+        cache.put(20_078, text);
+
+        assertSame(text, cache.get(20_078));
+        assertNull(cache.get(20_079));
+    }
+
+    @Test
+    public void zeroAndNegativeKeysAreNotConfusedWithEmptySlots() {
+        DateTextCache cache = new DateTextCache(16);
+        assertNull(cache.get(0));
+
+        cache.put(0, "nol");
+        cache.put(-1, "minus");
+        assertEquals("nol", cache.get(0));
+        assertEquals("minus", cache.get(-1));
+    }
+
+    @Test
+    public void collidingKeyReplacesSlot() {
+        DateTextCache cache = new DateTextCache(2);
+        // Dengan dua slot, dari tiga kunci pasti ada dua yang berbagi slot
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+
+        int present = 0;
+        for (long key = 1; key <= 3; key++) {
+            if (cache.get(key) != null) {
+                present++;
+            }
+        }
+        assertEquals("c", cache.get(3));
+        assertEquals(2, present);
+    }
+
+    @Test
+    public void consecutiveDaysFillDistinctSlots() {
+        DateTextCache cache = new DateTextCache(256);
+        for (long day = 20_000; day < 20_032; day++) {
+            cache.put(day, "hari " + day);
+        }
+        int hits = 0;
+        for (long day = 20_000; day < 20_032; day++) {
+            if (("hari " + day).equals(cache.get(day))) {
+                hits++;
+            }
+        }
+        // Hash perkalian menyebar kunci berurutan ke slot berbeda
+        assertEquals(32, hits);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePowerOfTwo() {
+        new DateTextCache(100);
+    }
+}
@@ -0,0 +1,76 @@
+package com.devlin.todolist.ui.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.devlin.todolist.data.model.TaskListItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Pemetaan inkremental: baris dengan versi yang sama memakai objek model yang sama,
+ * baris yang versinya berubah dipetakan ulang. Executor langsung agar map() berjalan di thread test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TaskUiMapperTest {
+
+    private static final long CREATED_AT = 1_700_000_000_000L;
+
+    private TaskUiMapper mapper;
+
+    @Before
+    public void setUp() {
+        mapper = new TaskUiMapper(new TaskDateFormatter(ApplicationProvider.getApplicationContext()),
+                Runnable::run);
+    }
+
+    @Test
+    public void sameVersionReturnsCachedModel() {
+        TaskUiModel first = mapper.map(item(1, 1, "Belanja"));
+        TaskUiModel second = mapper.map(item(1, 1, "Belanja"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void newVersionIsMappedAgain() {
+        TaskUiModel first = mapper.map(item(1, 1, "Belanja"));
+        TaskUiModel second = mapper.map(item(1, 2, "Belanja sayur"));
+
+        assertNotSame(first, second);
+        assertEquals("Belanja sayur", second.getTitle());
+        assertSame(second, mapper.map(item(1, 2, "Belanja sayur")));
+    }
+
+    @Test
+    public void otherRowsKeepTheirModelsAfterOneChanges() {
+        TaskUiModel a = mapper.map(item(1, 1, "A"));
+        TaskUiModel b = mapper.map(item(2, 1, "B"));
+        mapper.map(item(1, 2, "A2"));
+
+        assertSame(b, mapper.map(item(2, 1, "B")));
+        assertNotSame(a, mapper.map(item(1, 2, "A2")));
+    }
+
+    @Test
+    public void emptyCategoryBecomesNullAndDateTextIsShared() {
+        TaskUiModel a = mapper.map(new TaskListItem(1, "A", "", false, CREATED_AT, 0, 0, "", 1));
+        TaskUiModel b = mapper.map(new TaskListItem(2, "B", "", false, CREATED_AT, 0, 0, null, 1));
+
+        assertNull(a.getCategory());
+        assertNull(b.getCategory());
+        // Menit yang sama diformat sekali; string yang sama dipakai ulang
+        assertSame(a.getCreatedAtText(), b.getCreatedAtText());
+    }
+
+    private static TaskListItem item(int id, int version, String title) {
+        return new TaskListItem(id, title, "", false, CREATED_AT, 0, 1, "Kerja", version);
+    }
+}
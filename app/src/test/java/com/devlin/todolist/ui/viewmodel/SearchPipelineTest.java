@@ -0,0 +1,136 @@
+package com.devlin.todolist.ui.viewmodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class SearchPipelineTest {
+
+    private static final long DEBOUNCE_MS = 250;
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final VirtualScheduler scheduler = new VirtualScheduler();
+    private final SearchPipeline pipeline = new SearchPipeline(scheduler, DEBOUNCE_MS);
+
+    @Test
+    public void startsWithEmptyRequest() {
+        assertTrue(pipeline.getRequests().getValue().isEmpty());
+        assertTrue(pipeline.isCurrent(pipeline.getRequests().getValue().getGeneration()));
+    }
+
+    @Test
+    public void emitsOnlyAfterQuietPeriod() {
+        pipeline.submit("be");
+        scheduler.advance(DEBOUNCE_MS - 1);
+        assertEquals("", query());
+
+        scheduler.advance(1);
+        assertEquals("be", query());
+    }
+
+    @Test
+    public void typingRestartsTheWindowAndKeepsLastInput() {
+        pipeline.submit("b");
+        scheduler.advance(200);
+        pipeline.submit("be");
+        scheduler.advance(200);
+        pipeline.submit("bel");
+        scheduler.advance(200);
+        assertEquals("", query());
+
+        scheduler.advance(50);
+        assertEquals("bel", query());
+        assertEquals(1, pipeline.getRequests().getValue().getGeneration());
+    }
+
+    @Test
+    public void clearingEmitsImmediatelyAndCancelsPending() {
+        pipeline.submit("belanja");
+        scheduler.advance(DEBOUNCE_MS);
+        pipeline.submit("belanja sayur");
+        pipeline.submit("  ");
+
+        assertEquals("", query());
+        scheduler.advance(DEBOUNCE_MS * 2);
+        assertEquals("", query());
+        assertEquals(2, pipeline.getRequests().getValue().getGeneration());
+    }
+
+    @Test
+    public void sameQueryDoesNotBumpGeneration() {
+        pipeline.submit("kerja");
+        scheduler.advance(DEBOUNCE_MS);
+        long generation = pipeline.getRequests().getValue().getGeneration();
+
+        pipeline.submit(" kerja ");
+        scheduler.advance(DEBOUNCE_MS);
+        assertEquals(generation, pipeline.getRequests().getValue().getGeneration());
+        assertTrue(pipeline.isCurrent(generation));
+    }
+
+    @Test
+    public void olderGenerationIsNotCurrent() {
+        pipeline.submit("a");
+        scheduler.advance(DEBOUNCE_MS);
+        long first = pipeline.getRequests().getValue().getGeneration();
+        pipeline.submit("ab");
+        scheduler.advance(DEBOUNCE_MS);
+
+        assertFalse(pipeline.isCurrent(first));
+        assertTrue(pipeline.isCurrent(pipeline.getRequests().getValue().getGeneration()));
+    }
+
+    private String query() {
+        return pipeline.getRequests().getValue().getQuery();
+    }
+
+    /**
+     * Jam virtual: tugas hanya berjalan saat waktu dimajukan lewat advance
+     */
+    private static final class VirtualScheduler implements SearchPipeline.Scheduler {
+        private final List<Scheduled> tasks = new ArrayList<>();
+        private long now;
+
+        @Override
+        public SearchPipeline.Cancellable schedule(@NonNull Runnable task, long delayMillis) {
+            Scheduled scheduled = new Scheduled(now + delayMillis, task);
+            tasks.add(scheduled);
+            return () -> tasks.remove(scheduled);
+        }
+
+        void advance(long millis) {
+            now += millis;
+            for (Iterator<Scheduled> it = tasks.iterator(); it.hasNext(); ) {
+                Scheduled scheduled = it.next();
+                if (scheduled.dueAt <= now) {
+                    it.remove();
+                    scheduled.task.run();
+                    // Tugas bisa menjadwalkan atau membatalkan tugas lain; mulai lagi dari awal
+                    it = tasks.iterator();
+                }
+            }
+        }
+    }
+
+    private static final class Scheduled {
+        final long dueAt;
+        final Runnable task;
+
+        Scheduled(long dueAt, Runnable task) {
+            this.dueAt = dueAt;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntArrayListTest {
+
+    @Test
+    public void keepsInsertionOrderWhileGrowing() {
+        IntArrayList list = new IntArrayList(2);
+        for (int i = 0; i < 100; i++) {
+            list.add(100 - i);
+        }
+        assertEquals(100, list.size());
+        assertEquals(100, list.get(0));
+        assertEquals(1, list.get(99));
+        assertTrue(list.contains(50));
+        assertFalse(list.contains(0));
+    }
+
+    @Test
+    public void toArrayIsSizedCopy() {
+        IntArrayList list = new IntArrayList();
+        list.add(3);
+        list.add(1);
+        int[] array = list.toArray();
+        array[0] = 99;
+
+        assertArrayEquals(new int[]{99, 1}, array);
+        assertEquals(3, list.get(0));
+    }
+
+    @Test
+    public void clearResetsSize() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutsideSizeThrows() {
+        IntArrayList list = new IntArrayList(8);
+        list.add(1);
+        list.get(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+public class IntBitmapTest {
+
+    @Test
+    public void addContainsRemoveAcrossWords() {
+        IntBitmap bitmap = new IntBitmap();
+        assertTrue(bitmap.add(0));
+        assertTrue(bitmap.add(63));
+        assertTrue(bitmap.add(64));
+        assertTrue(bitmap.add(10_000));
+        assertFalse(bitmap.add(64));
+
+        assertEquals(4, bitmap.size());
+        assertTrue(bitmap.contains(63));
+        assertFalse(bitmap.contains(62));
+        assertFalse(bitmap.contains(1_000_000));
+        assertTrue(bitmap.remove(63));
+        assertFalse(bitmap.remove(63));
+        assertFalse(bitmap.remove(1_000_000));
+        assertArrayEquals(new int[]{0, 64, 10_000}, bitmap.toArray());
+    }
+
+    @Test
+    public void toArrayIsSortedAndMatchesTreeSet() {
+        IntBitmap bitmap = new IntBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), bitmap.remove(id));
+            } else {
+                assertEquals(expected.add(id), bitmap.add(id));
+            }
+        }
+        assertEquals(expected.size(), bitmap.size());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), bitmap.toArray());
+    }
+
+    @Test
+    public void clearKeepsBitmapUsable() {
+        IntBitmap bitmap = new IntBitmap();
+        bitmap.add(100);
+        bitmap.clear();
+
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(100));
+        assertEquals(0, bitmap.toArray().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNegativeId() {
+        new IntBitmap().add(-1);
+    }
+}
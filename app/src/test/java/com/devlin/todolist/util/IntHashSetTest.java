@@ -0,0 +1,83 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class IntHashSetTest {
+
+    @Test
+    public void addContainsRemove() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.add(-3));
+        assertTrue(set.add(0));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(-3));
+        assertFalse(set.contains(6));
+        assertTrue(set.remove(5));
+        assertFalse(set.remove(5));
+        assertArrayEquals(new int[]{-3, 0}, set.toSortedArray());
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        IntHashSet set = new IntHashSet();
+        for (int i = 0; i < 1000; i++) {
+            set.add(i * 7);
+        }
+        assertEquals(1000, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(i * 7));
+            assertFalse(set.contains(i * 7 + 1));
+        }
+    }
+
+    @Test
+    public void matchesHashSetUnderRandomOperations() {
+        IntHashSet set = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(42);
+        // Rentang kecil agar banyak tabrakan, penghapusan, dan penambahan ulang
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(500) - 250;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (int value = -260; value < 260; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).sorted().toArray(), set.toSortedArray());
+    }
+
+    @Test
+    public void clearEmptiesSet() {
+        IntHashSet set = new IntHashSet();
+        set.add(1);
+        set.add(2);
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
+        assertTrue(set.add(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyMarker() {
+        new IntHashSet().add(Integer.MIN_VALUE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StartupTracerTest {
+
+    private static final long MS = 1_000_000L;
+
+    // Jam palsu dalam nanodetik, dimulai dari angka sembarang
+    private long now = 5_000 * MS;
+    private final StartupTracer tracer = new StartupTracer(() -> now);
+
+    @Test
+    public void elapsedIsMeasuredFromTracerStart() {
+        now += 40 * MS;
+        tracer.mark(StartupTracer.Phase.APPLICATION_CREATE);
+        now += 85 * MS;
+        tracer.mark(StartupTracer.Phase.DATABASE_OPEN);
+
+        assertEquals(40, tracer.getElapsedMillis(StartupTracer.Phase.APPLICATION_CREATE));
+        assertEquals(125, tracer.getElapsedMillis(StartupTracer.Phase.DATABASE_OPEN));
+        assertEquals(-1, tracer.getElapsedMillis(StartupTracer.Phase.FIRST_LIST_LOAD));
+    }
+
+    @Test
+    public void onlyFirstMarkIsKept() {
+        now += 10 * MS;
+        assertTrue(tracer.mark(StartupTracer.Phase.FIRST_LIST_LOAD));
+        now += 500 * MS;
+        assertFalse(tracer.mark(StartupTracer.Phase.FIRST_LIST_LOAD));
+
+        assertEquals(10, tracer.getElapsedMillis(StartupTracer.Phase.FIRST_LIST_LOAD));
+    }
+
+    @Test
+    public void marksAreOrderedByPhaseAndDescribed() {
+        now += 30 * MS;
+        tracer.mark(StartupTracer.Phase.ACTIVITY_CREATE);
+        now += 5 * MS;
+        tracer.mark(StartupTracer.Phase.APPLICATION_CREATE);
+
+        Map<StartupTracer.Phase, Long> marks = tracer.getMarks();
+        assertEquals(List.of(StartupTracer.Phase.APPLICATION_CREATE, StartupTracer.Phase.ACTIVITY_CREATE),
+                new ArrayList<>(marks.keySet()));
+        assertEquals("Startup: application_create=35ms activity_create=30ms", tracer.describe());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void marksCopyIsReadOnly() {
+        tracer.getMarks().put(StartupTracer.Phase.DATABASE_SEED, 0L);
+    }
+
+    @Test
+    public void resetRestartsTheClock() {
+        now += 100 * MS;
+        tracer.mark(StartupTracer.Phase.DATABASE_SEED);
+        tracer.reset();
+
+        assertFalse(tracer.isMarked(StartupTracer.Phase.DATABASE_SEED));
+        now += 7 * MS;
+        tracer.mark(StartupTracer.Phase.DATABASE_SEED);
+        assertEquals(7, tracer.getElapsedMillis(StartupTracer.Phase.DATABASE_SEED));
+    }
+}
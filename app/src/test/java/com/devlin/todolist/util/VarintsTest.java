@@ -0,0 +1,98 @@
+package com.devlin.todolist.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class VarintsTest {
+
+    private static final long[] VALUES = {
+            0, 1, 63, 64, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, 1L << 35,
+            1_700_000_000_000L, Long.MAX_VALUE, -1, -64, -65, Integer.MIN_VALUE, Long.MIN_VALUE
+    };
+
+    @Test
+    public void streamRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : VALUES) {
+            Varints.writeUnsigned(out, value);
+            Varints.writeSigned(out, value);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (long value : VALUES) {
+            assertEquals(value, Varints.readUnsigned(in));
+            assertEquals(value, Varints.readSigned(in));
+        }
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void bufferRoundTripMatchesStreamBytes() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(VALUES.length * Varints.MAX_BYTES * 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : VALUES) {
+            Varints.writeUnsigned(buffer, value);
+            Varints.writeSigned(buffer, value);
+            Varints.writeUnsigned(out, value);
+            Varints.writeSigned(out, value);
+        }
+        buffer.flip();
+        assertEquals(ByteBuffer.wrap(out.toByteArray()), buffer);
+
+        for (long value : VALUES) {
+            assertEquals(value, Varints.readUnsigned(buffer));
+            assertEquals(value, Varints.readSigned(buffer));
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    public void encodedLengths() {
+        assertEquals(1, unsignedLength(0));
+        assertEquals(1, unsignedLength(127));
+        assertEquals(2, unsignedLength(128));
+        assertEquals(Varints.MAX_BYTES, unsignedLength(-1));
+        // Zigzag: nilai negatif kecil tetap satu byte
+        assertEquals(1, signedLength(-1));
+        assertEquals(1, signedLength(-64));
+        assertEquals(2, signedLength(-65));
+        assertEquals(Varints.MAX_BYTES, signedLength(Long.MIN_VALUE));
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedStreamFails() throws IOException {
+        Varints.readUnsigned(new ByteArrayInputStream(new byte[]{(byte) 0x80, (byte) 0x80}));
+    }
+
+    @Test(expected = BufferUnderflowException.class)
+    public void truncatedBufferFails() throws IOException {
+        Varints.readUnsigned(ByteBuffer.wrap(new byte[]{(byte) 0xFF}));
+    }
+
+    @Test(expected = IOException.class)
+    public void overlongVarintFails() throws IOException {
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+        Varints.readUnsigned(ByteBuffer.wrap(bytes));
+    }
+
+    private static int unsignedLength(long value) {
+        ByteBuffer buffer = ByteBuffer.allocate(Varints.MAX_BYTES);
+        Varints.writeUnsigned(buffer, value);
+        return buffer.position();
+    }
+
+    private static int signedLength(long value) {
+        ByteBuffer buffer = ByteBuffer.allocate(Varints.MAX_BYTES);
+        Varints.writeSigned(buffer, value);
+        return buffer.position();
+    }
+}